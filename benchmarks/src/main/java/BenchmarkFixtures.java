@@ -0,0 +1,103 @@
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Builds the objects measured by the benchmarks. JMH only accepts benchmarks in a named package,
+ * and named packages cannot refer to the game's classes in the default package, so the fixtures
+ * live here and hand the benchmarks plain java.util.function views of the code under test.
+ */
+public class BenchmarkFixtures {
+    private static final long SEED = 42;
+    private static final Card.Rank[] NON_ACE_RANKS = {
+            Card.Rank.TWO, Card.Rank.THREE, Card.Rank.FOUR, Card.Rank.TWO, Card.Rank.THREE, Card.Rank.TWO, Card.Rank.FOUR
+    };
+
+    /**
+     * Builds a hand of the given size and returns its getValue method.
+     * @param cards The number of cards in the hand (2-7).
+     * @param aces Whether the first card is an Ace.
+     * @return A supplier calling Hand.getValue on the hand.
+     */
+    public static IntSupplier handValue(int cards, boolean aces) {
+        Hand hand = buildHand(new Hand(), handOrdinals(cards, aces));
+        return hand::getValue;
+    }
+
+    /**
+     * Returns a supplier that rebuilds a hand of the given size and values it.
+     * @param cards The number of cards in the hand (2-7).
+     * @param aces Whether the first card is an Ace.
+     * @return A supplier that clears, refills and values a hand.
+     */
+    public static IntSupplier handBuildAndValue(int cards, boolean aces) {
+        Hand hand = new Hand();
+        int[] ordinals = handOrdinals(cards, aces);
+        return () -> buildHand(hand, ordinals).getValue();
+    }
+
+    private static int[] handOrdinals(int cards, boolean aces) {
+        int[] ordinals = new int[cards];
+        for (int i = 0; i < cards; i++) {
+            Card.Rank rank = aces && i == 0 ? Card.Rank.ACE : NON_ACE_RANKS[i];
+            ordinals[i] = new Card(rank, Card.Suit.values()[i % 4]).ordinal();
+        }
+        return ordinals;
+    }
+
+    private static Hand buildHand(Hand hand, int[] ordinals) {
+        hand.clear();
+        for (int ordinal : ordinals) {
+            hand.addOrdinal(ordinal);
+        }
+        return hand;
+    }
+
+    /**
+     * Returns a task that fully reshuffles a deck.
+     * @param decks The number of 52-card decks.
+     * @return A runnable calling Deck.reset, which shuffles every card.
+     */
+    public static Runnable deckShuffle(int decks) {
+        Deck deck = new Deck(decks, new SplittableRandom(SEED));
+        return deck::reset;
+    }
+
+    /**
+     * Returns a supplier that draws one card from a deck, reshuffling it when it runs out.
+     * @param decks The number of 52-card decks.
+     * @return A supplier calling Deck.drawCard and returning the card's value.
+     */
+    public static IntSupplier deckDraw(int decks) {
+        Deck deck = new Deck(decks, new SplittableRandom(SEED));
+        return () -> {
+            if (deck.remainingCards() == 0) {
+                deck.reset();
+            }
+            return deck.drawCard().getValue();
+        };
+    }
+
+    /**
+     * Returns DefaultBettingStrategy.determineBet for the default table limits.
+     * @return A function from available money to bet.
+     */
+    public static IntUnaryOperator determineBet() {
+        BettingStrategy strategy = new DefaultBettingStrategy();
+        RuleSet rules = RuleSet.DEFAULT;
+        return money -> strategy.determineBet(money, rules.getMinBet(), rules.getMaxBet());
+    }
+
+    /**
+     * Returns a task that plays one automated round through the BlackJack round logic.
+     * @param seats The number of player seats (1-7).
+     * @return A runnable playing one round with a six-deck shoe and flat bets.
+     */
+    public static Runnable playRound(int seats) {
+        SimulationEngine engine = new SimulationEngine(seats,
+                new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, new SplittableRandom(SEED)),
+                new ThresholdPlayStrategy(), (availableMoney, minBet, maxBet) -> minBet);
+        SimulationResult result = new SimulationResult();
+        return () -> engine.playRound(result);
+    }
+}
@@ -0,0 +1,28 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Measures DefaultBettingStrategy.determineBet across a range of bankrolls.
+ */
+@State(Scope.Thread)
+public class BettingBenchmark {
+    private IntUnaryOperator determineBet;
+    private int money;
+
+    @Setup
+    public void setUp() {
+        determineBet = Fixtures.create("determineBet");
+    }
+
+    @Benchmark
+    public int determineBet() {
+        money = (money + 37) & 0x3FFF; // Walk bankrolls 0-16383 so every clamp branch is hit
+        return determineBet.applyAsInt(money);
+    }
+}
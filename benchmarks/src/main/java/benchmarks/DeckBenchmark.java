@@ -0,0 +1,37 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Measures Deck.shuffle (a full reshuffle) and Deck.drawCard for single and multi-deck shoes.
+ */
+@State(Scope.Thread)
+public class DeckBenchmark {
+    @Param({"1", "6", "8"})
+    public int decks;
+
+    private Runnable shuffle;
+    private IntSupplier draw;
+
+    @Setup
+    public void setUp() {
+        shuffle = Fixtures.create("deckShuffle", decks);
+        draw = Fixtures.create("deckDraw", decks);
+    }
+
+    @Benchmark
+    public void shuffle() {
+        shuffle.run();
+    }
+
+    @Benchmark
+    public int drawCard() {
+        return draw.getAsInt();
+    }
+}
@@ -0,0 +1,29 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Looks up the default-package BenchmarkFixtures by reflection. Only used during setup,
+ * never inside a measured method.
+ */
+final class Fixtures {
+    private static final String FIXTURES_CLASS = "BenchmarkFixtures";
+
+    private Fixtures() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T create(String name, Object... args) {
+        try {
+            for (Method method : Class.forName(FIXTURES_CLASS).getMethods()) {
+                if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+                    return (T) method.invoke(null, args);
+                }
+            }
+            throw new IllegalArgumentException("No fixture named " + name);
+        } catch (ClassNotFoundException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot build fixture " + name, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Measures Hand.getValue on hands of 2-7 cards, with and without an Ace.
+ */
+@State(Scope.Thread)
+public class HandBenchmark {
+    @Param({"2", "3", "4", "5", "6", "7"})
+    public int cards;
+
+    @Param({"false", "true"})
+    public boolean aces;
+
+    private IntSupplier value;
+    private IntSupplier buildAndValue;
+
+    @Setup
+    public void setUp() {
+        value = Fixtures.create("handValue", cards, aces);
+        buildAndValue = Fixtures.create("handBuildAndValue", cards, aces);
+    }
+
+    @Benchmark
+    public int getValue() {
+        return value.getAsInt();
+    }
+
+    @Benchmark
+    public int buildAndGetValue() {
+        return buildAndValue.getAsInt();
+    }
+}
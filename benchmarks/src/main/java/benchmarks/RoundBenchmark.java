@@ -0,0 +1,28 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures end-to-end rounds per second through the BlackJack round logic with 1-7 seats.
+ */
+@State(Scope.Thread)
+public class RoundBenchmark {
+    @Param({"1", "2", "3", "4", "5", "6", "7"})
+    public int seats;
+
+    private Runnable round;
+
+    @Setup
+    public void setUp() {
+        round = Fixtures.create("playRound", seats);
+    }
+
+    @Benchmark
+    public void playRound() {
+        round.run();
+    }
+}
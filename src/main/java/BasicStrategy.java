@@ -0,0 +1,148 @@
+/**
+ * Basic strategy for a multi-deck game where the dealer stands on soft 17 and doubling after a
+ * split is allowed. Where late surrender is offered, hard 16 (but not a pair of 8s that may be
+ * split) surrenders against 9, 10 and Ace, and hard 15 against 10. Every decision is precomputed
+ * into one flat table indexed by hand row (hard total, soft total or pair value), dealer up card,
+ * whether doubling is allowed and whether surrendering is allowed, so deciding is a single array
+ * read.
+ */
+public class BasicStrategy implements PlayStrategy {
+    private static final int COLUMNS = Card.VALUE_COUNT; // Dealer up card 2-11
+    private static final int HARD_BASE = 0;   // Rows 0-21 by hard total
+    private static final int SOFT_BASE = 22;  // Rows 22-43 by soft total
+    private static final int PAIR_BASE = 44;  // Rows 44-55 by the value of the paired card
+    private static final int ROWS = 56;
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final byte[] TABLE = new byte[ROWS * COLUMNS * 4];
+
+    // Columns are the dealer up card 2, 3, 4, 5, 6, 7, 8, 9, 10, A.
+    // H = hit, S = stand, P = split, D = double (else hit), d = double (else stand),
+    // R = surrender (else hit).
+    private static final String[] HARD_CHART = {
+            /*  4 */ "HHHHHHHHHH",
+            /*  5 */ "HHHHHHHHHH",
+            /*  6 */ "HHHHHHHHHH",
+            /*  7 */ "HHHHHHHHHH",
+            /*  8 */ "HHHHHHHHHH",
+            /*  9 */ "HDDDDHHHHH",
+            /* 10 */ "DDDDDDDDHH",
+            /* 11 */ "DDDDDDDDDH",
+            /* 12 */ "HHSSSHHHHH",
+            /* 13 */ "SSSSSHHHHH",
+            /* 14 */ "SSSSSHHHHH",
+            /* 15 */ "SSSSSHHHHH",
+            /* 16 */ "SSSSSHHHHH",
+            /* 17 */ "SSSSSSSSSS",
+            /* 18 */ "SSSSSSSSSS",
+            /* 19 */ "SSSSSSSSSS",
+            /* 20 */ "SSSSSSSSSS",
+            /* 21 */ "SSSSSSSSSS"
+    };
+    private static final int HARD_CHART_START = 4;
+
+    private static final String[] SOFT_CHART = {
+            /* 12 */ "HHHHHHHHHH",
+            /* 13 */ "HHHDDHHHHH",
+            /* 14 */ "HHHDDHHHHH",
+            /* 15 */ "HHDDDHHHHH",
+            /* 16 */ "HHDDDHHHHH",
+            /* 17 */ "HDDDDHHHHH",
+            /* 18 */ "SddddSSHHH",
+            /* 19 */ "SSSSSSSSSS",
+            /* 20 */ "SSSSSSSSSS",
+            /* 21 */ "SSSSSSSSSS"
+    };
+    private static final int SOFT_CHART_START = 12;
+
+    // Replaces the hard chart rows when late surrender is allowed
+    private static final String[] SURRENDER_CHART = {
+            /* 15 */ "SSSSSHHHRH",
+            /* 16 */ "SSSSSHHRRR"
+    };
+    private static final int SURRENDER_CHART_START = 15;
+
+    private static final String[] PAIR_CHART = {
+            /*  2 */ "PPPPPPHHHH",
+            /*  3 */ "PPPPPPHHHH",
+            /*  4 */ "HHHPPHHHHH",
+            /*  5 */ "DDDDDDDDHH",
+            /*  6 */ "PPPPPHHHHH",
+            /*  7 */ "PPPPPPHHHH",
+            /*  8 */ "PPPPPPPPPP",
+            /*  9 */ "PPPPPSPPSS",
+            /* 10 */ "SSSSSSSSSS",
+            /*  A */ "PPPPPPPPPP"
+    };
+
+    static {
+        for (int row = 0; row < ROWS; row++) {
+            fillRow(row, "HHHHHHHHHH");
+        }
+        for (int i = 0; i < HARD_CHART.length; i++) {
+            fillRow(HARD_BASE + HARD_CHART_START + i, HARD_CHART[i]);
+        }
+        for (int i = 0; i < SURRENDER_CHART.length; i++) {
+            fillRow(HARD_BASE + SURRENDER_CHART_START + i,
+                    HARD_CHART[SURRENDER_CHART_START - HARD_CHART_START + i], SURRENDER_CHART[i]);
+        }
+        for (int i = 0; i < SOFT_CHART.length; i++) {
+            fillRow(SOFT_BASE + SOFT_CHART_START + i, SOFT_CHART[i]);
+        }
+        for (int i = 0; i < PAIR_CHART.length; i++) {
+            fillRow(PAIR_BASE + Card.MIN_VALUE + i, PAIR_CHART[i]);
+        }
+    }
+
+    private static void fillRow(int row, String chart) {
+        fillRow(row, chart, chart);
+    }
+
+    private static void fillRow(int row, String chart, String surrenderChart) {
+        for (int column = 0; column < COLUMNS; column++) {
+            int index = (row * COLUMNS + column) * 4;
+            TABLE[index] = (byte) withoutDouble(chart.charAt(column)).ordinal();
+            TABLE[index + 1] = (byte) withDouble(chart.charAt(column)).ordinal();
+            TABLE[index + 2] = (byte) withoutDouble(surrenderChart.charAt(column)).ordinal();
+            TABLE[index + 3] = (byte) withDouble(surrenderChart.charAt(column)).ordinal();
+        }
+    }
+
+    private static Action withDouble(char code) {
+        return code == 'D' || code == 'd' ? Action.DOUBLE : withoutDouble(code);
+    }
+
+    private static Action withoutDouble(char code) {
+        switch (code) {
+            case 'R':
+                return Action.SURRENDER;
+            case 'H':
+            case 'D':
+                return Action.HIT;
+            case 'S':
+            case 'd':
+                return Action.STAND;
+            case 'P':
+                return Action.SPLIT;
+            default:
+                throw new IllegalArgumentException("Unknown strategy code: " + code);
+        }
+    }
+
+    @Override
+    public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit, boolean canSurrender) {
+        int row;
+        if (canSplit && hand.isPair()) {
+            row = PAIR_BASE + Card.valueOf(hand.getOrdinal(0));
+        } else {
+            row = (hand.isSoft() ? SOFT_BASE : HARD_BASE) + hand.getValue();
+        }
+        return ACTIONS[TABLE[(row * COLUMNS + dealerUpValue - Card.MIN_VALUE) * 4
+                + (canSurrender ? 2 : 0) + (canDouble ? 1 : 0)]];
+    }
+
+    @Override
+    public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+        return decide(hand, dealerUpValue, canDouble, canSplit, false);
+    }
+}
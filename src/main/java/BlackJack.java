@@ -8,13 +8,23 @@ import java.util.Scanner;
 public class BlackJack {
     private List<Player> players;
     private Dealer dealer;
-    private Deck deck;
+    private CardSource deck;
     private Scanner scanner;
+    private PlayStrategy playStrategy;
+    private final boolean console;
+    private SimulationResult roundResult;
+    private TableListener listener;
+    private TableMetrics metrics;
+    private Player actingPlayer;
+    private final RuleSet rules;
+    private final int[] roundWagered; // Per seat, for the round being played automatically
+    private final int[] roundNet;
 
     private static final int BLACKJACK_VALUE = 21;
-    private static final double BLACKJACK_PAYOUT = 2.5;
-    private static final int MIN_BET = 10;
-    private static final int MAX_BET = 500;
+    private static final double WIN_PAYOUT = 2;
+    private static final double PUSH_PAYOUT = 1;
+    private static final double SURRENDER_PAYOUT = 0.5;
+    private static final double LOSS_PAYOUT = 0;
 
     /**
      * Constructor for BlackJack game.
@@ -22,13 +32,81 @@ public class BlackJack {
      * @param initialMoney The initial amount of money each player starts with.
      */
     public BlackJack(int numPlayers, int initialMoney) {
-        this.players = new ArrayList<>();
+        this(numPlayers, initialMoney, null, new Shoe(), RuleSet.DEFAULT, true);
+    }
+
+    /**
+     * Constructor for a headless BlackJack table. Player decisions come from the given
+     * play strategy instead of the console, and nothing is printed.
+     * @param numPlayers The number of players in the game.
+     * @param initialMoney The initial amount of money each player starts with.
+     * @param playStrategy The strategy used to decide every player's actions.
+     */
+    public BlackJack(int numPlayers, int initialMoney, PlayStrategy playStrategy) {
+        this(numPlayers, initialMoney, playStrategy, new Shoe());
+    }
+
+    /**
+     * Constructor for a headless BlackJack table dealing from the given shoe.
+     * @param numPlayers The number of players in the game.
+     * @param initialMoney The initial amount of money each player starts with.
+     * @param playStrategy The strategy used to decide every player's actions.
+     * @param shoe The shoe (or other card source) to deal from.
+     */
+    public BlackJack(int numPlayers, int initialMoney, PlayStrategy playStrategy, CardSource shoe) {
+        this(numPlayers, initialMoney, playStrategy, shoe, RuleSet.DEFAULT);
+    }
+
+    /**
+     * Constructor for a headless BlackJack table dealing from the given shoe under the given house rules.
+     * @param numPlayers The number of players in the game.
+     * @param initialMoney The initial amount of money each player starts with.
+     * @param playStrategy The strategy used to decide every player's actions.
+     * @param shoe The shoe (or other card source) to deal from.
+     * @param rules The house rules.
+     */
+    public BlackJack(int numPlayers, int initialMoney, PlayStrategy playStrategy, CardSource shoe, RuleSet rules) {
+        this(numPlayers, initialMoney, playStrategy, shoe, rules, false);
+    }
+
+    /**
+     * Constructor for a headless BlackJack table seating the given players, each with their own
+     * money and betting strategy.
+     * @param players The players, in seat order.
+     * @param playStrategy The strategy used to decide every player's actions.
+     * @param shoe The shoe (or other card source) to deal from.
+     * @param rules The house rules.
+     */
+    public BlackJack(List<Player> players, PlayStrategy playStrategy, CardSource shoe, RuleSet rules) {
+        this(new ArrayList<>(players), playStrategy, shoe, rules, false);
+    }
+
+    private BlackJack(int numPlayers, int initialMoney, PlayStrategy playStrategy, CardSource shoe, RuleSet rules,
+                      boolean console) {
+        this(newPlayers(numPlayers, initialMoney), playStrategy, shoe, rules, console);
+    }
+
+    private BlackJack(List<Player> players, PlayStrategy playStrategy, CardSource shoe, RuleSet rules,
+                      boolean console) {
+        this.players = players;
+        this.dealer = new Dealer(rules.dealerHitsSoft17());
+        this.rules = rules;
+        this.roundWagered = new int[players.size()];
+        this.roundNet = new int[players.size()];
+        this.deck = shoe;
+        this.playStrategy = playStrategy;
+        this.console = console;
+        if (console) {
+            this.scanner = new Scanner(System.in);
+        }
+    }
+
+    private static List<Player> newPlayers(int numPlayers, int initialMoney) {
+        List<Player> players = new ArrayList<>();
         for (int i = 0; i < numPlayers; i++) {
-            this.players.add(new Player("Player " + (i + 1), initialMoney, new DefaultBettingStrategy()));
+            players.add(new Player("Player " + (i + 1), initialMoney, new DefaultBettingStrategy()));
         }
-        this.dealer = new Dealer();
-        this.deck = new Deck();
-        this.scanner = new Scanner(System.in);
+        return players;
     }
 
     /**
@@ -40,6 +118,10 @@ public class BlackJack {
 
         while (playAgain && playersHaveMoney()) {
             displayGameState();
+            if (listener != null) {
+                listener.roundStarted();
+            }
+            startRound();
             placeBets();
             dealInitialCards();
             displayInitialHands();
@@ -56,10 +138,61 @@ public class BlackJack {
         scanner.close();
     }
 
+    /**
+     * Plays one complete round (bets, deal, player turns, dealer turn and settlement)
+     * without any console input or output. Requires a play strategy.
+     * @param result The result to record every settled hand into.
+     */
+    public void playAutomatedRound(SimulationResult result) {
+        if (playStrategy == null) {
+            throw new IllegalStateException("Automated rounds require a play strategy");
+        }
+        roundResult = result;
+        if (listener != null) {
+            listener.roundStarted();
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        startRound();
+        placeBets();
+        dealInitialCards();
+        start = phaseDone(TableMetrics.Phase.DEAL, start);
+        // Settlement is timed in two parts: blackjacks, then the hands played out
+        boolean dealerBlackjack = checkForBlackjacks();
+        long settlement = metrics == null ? 0 : System.nanoTime() - start;
+        if (!dealerBlackjack) {
+            playRound();
+            start = metrics == null ? 0 : System.nanoTime();
+            determineWinners();
+            settlement += metrics == null ? 0 : System.nanoTime() - start;
+        }
+        result.recordRound();
+        long tableWagered = 0;
+        long tableNet = 0;
+        for (int i = 0; i < roundWagered.length; i++) {
+            if (roundWagered[i] > 0) {
+                result.recordSeatRound(i + 1, roundWagered[i], roundNet[i]);
+                tableWagered += roundWagered[i];
+                tableNet += roundNet[i];
+                roundWagered[i] = 0;
+                roundNet[i] = 0;
+            }
+        }
+        if (tableWagered > 0) {
+            result.recordTableRound(tableWagered, tableNet);
+        }
+        if (metrics != null) {
+            metrics.recordPhase(TableMetrics.Phase.SETTLEMENT, settlement);
+            metrics.recordRound();
+        }
+        roundResult = null;
+    }
+
     private void displayWelcomeMessage() {
         System.out.println("Welcome to Blackjack!");
         System.out.println("Try to get as close to 21 as possible without going over.");
-        System.out.println("Dealer stands on 17 and draws to 16.");
+        System.out.println(rules.dealerHitsSoft17() ? "Dealer hits soft 17 and stands on hard 17."
+                : "Dealer stands on 17 and draws to 16.");
+        System.out.println("House rules: " + rules);
         System.out.println("Good luck!\n");
     }
 
@@ -68,33 +201,79 @@ public class BlackJack {
         for (Player player : players) {
             System.out.println(player.getName() + "'s bankroll: $" + player.getMoney());
         }
-        System.out.println("Cards remaining in the deck: " + deck.remainingCards());
+        System.out.println("Cards remaining in the shoe: " + deck.remainingCards());
     }
 
     private void placeBets() {
         for (Player player : players) {
             if (player.getMoney() > 0) {
-                System.out.println("\n" + player.getName() + ", it's your turn to bet.");
-                player.placeBet(MIN_BET, MAX_BET);
-                System.out.println(player.getName() + " bets $" + player.getCurrentBet());
+                if (console) {
+                    System.out.println("\n" + player.getName() + ", it's your turn to bet.");
+                }
+                player.placeBet(rules.getMinBet(), rules.getMaxBet());
+                if (console) {
+                    System.out.println(player.getName() + " bets $" + player.getCurrentBet());
+                }
+                if (listener != null && player.getCurrentBet() > 0) {
+                    listener.betPlaced(seatOf(player), player.getCurrentBet());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reshuffles the shoe if the cut card has come out. Runs before the bets, as at a real table,
+     * so that bets sized from a card count see the count of the shoe the round is dealt from.
+     */
+    private void startRound() {
+        int remaining = metrics == null ? 0 : deck.remainingCards();
+        if (deck.startRound()) {
+            if (console) {
+                System.out.println("\nThe cut card is out. Shuffling the shoe...");
+            }
+            if (metrics != null) {
+                int shoeCards = deck.remainingCards();
+                metrics.recordShuffle(shoeCards - remaining, shoeCards);
             }
         }
     }
 
     private void dealInitialCards() {
         for (Player player : players) {
-            player.clearHand();
+            player.clearCards(); // Keep the bet placed for this round
         }
         dealer.clearHand();
 
         for (int i = 0; i < 2; i++) {
             for (Player player : players) {
-                player.addCard(deck.drawCard());
+                if (player.getCurrentBet() > 0) { // Empty or broke seats sit the round out
+                    dealCard(player, 0);
+                }
             }
-            dealer.addCard(deck.drawCard());
+            dealCardToDealer();
+        }
+    }
+
+    private void dealCard(Player player, int handIndex) {
+        int ordinal = deck.drawOrdinal();
+        player.getHand(handIndex).addOrdinal(ordinal);
+        if (listener != null) {
+            listener.cardDealt(seatOf(player), ordinal);
+        }
+    }
+
+    private void dealCardToDealer() {
+        int ordinal = deck.drawOrdinal();
+        dealer.getHand().addOrdinal(ordinal);
+        if (listener != null) {
+            listener.cardDealt(TableListener.DEALER_SEAT, ordinal);
         }
     }
 
+    private int seatOf(Player player) {
+        return players.indexOf(player) + 1;
+    }
+
     private void displayInitialHands() {
         System.out.println("\n--- Initial Hands ---");
         for (Player player : players) {
@@ -103,132 +282,397 @@ public class BlackJack {
         System.out.println(dealer.displayHand(true));
     }
 
+    /**
+     * Offers insurance if the rules allow it and the dealer shows an Ace, then settles blackjacks and
+     * insurance. A player blackjack is paid immediately; a dealer blackjack ends the round.
+     * @return true if the round is over, false if the remaining players still play their hands.
+     */
     private boolean checkForBlackjacks() {
+        boolean insuranceOffered = rules.isInsurance() && dealer.getUpCard().getValue() == Card.MAX_VALUE;
+        if (insuranceOffered) {
+            offerInsurance();
+        }
+
         boolean someoneHasBlackjack = false;
         for (Player player : players) {
-            if (player.hasBlackjack()) {
-                System.out.println(player.getName() + " has Blackjack!");
+            if (player.getCurrentBet() > 0 && player.hasBlackjack()) {
+                if (console) {
+                    System.out.println(player.getName() + " has Blackjack!");
+                }
                 someoneHasBlackjack = true;
             }
         }
 
-        if (dealer.hasBlackjack()) {
-            System.out.println("Dealer has Blackjack!");
+        boolean dealerHasBlackjack = dealer.hasBlackjack();
+        if (dealerHasBlackjack) {
+            if (console) {
+                System.out.println("Dealer has Blackjack!");
+            }
             someoneHasBlackjack = true;
         }
 
+        if (insuranceOffered) {
+            for (Player player : players) {
+                settleInsurance(player, dealerHasBlackjack);
+            }
+        }
+
         if (someoneHasBlackjack) {
-            System.out.println("\n" + dealer);
+            if (console) {
+                System.out.println("\n" + dealer);
+            }
             for (Player player : players) {
-                if (player.hasBlackjack() && dealer.hasBlackjack()) {
-                    System.out.println(player.getName() + " pushes.");
-                    player.pushBet();
+                if (player.getCurrentBet() == 0) {
+                    continue;
+                }
+                if (player.hasBlackjack() && dealerHasBlackjack) {
+                    if (console) {
+                        System.out.println(player.getName() + " pushes.");
+                    }
+                    settle(player, 0, PUSH_PAYOUT);
                 } else if (player.hasBlackjack()) {
-                    System.out.println(player.getName() + " wins with Blackjack!");
-                    player.winBet(BLACKJACK_PAYOUT);
-                } else {
-                    System.out.println(player.getName() + " loses to Dealer's Blackjack.");
-                    player.loseBet();
+                    if (console) {
+                        System.out.println(player.getName() + " wins with Blackjack!");
+                    }
+                    settle(player, 0, rules.getBlackjackPayout());
+                } else if (dealerHasBlackjack) {
+                    if (console) {
+                        System.out.println(player.getName() + " loses to Dealer's Blackjack.");
+                    }
+                    settle(player, 0, LOSS_PAYOUT);
                 }
             }
         }
 
-        return someoneHasBlackjack;
+        return dealerHasBlackjack;
+    }
+
+    private void offerInsurance() {
+        for (Player player : players) {
+            if (player.getCurrentBet() == 0) {
+                continue;
+            }
+            boolean insure;
+            if (playStrategy != null) {
+                insure = playStrategy.takeInsurance(player.getHand());
+            } else {
+                System.out.print(player.getName() + ", the dealer shows an Ace. Take insurance? (y/n): ");
+                insure = scanner.nextLine().trim().equalsIgnoreCase("y");
+            }
+            if (insure && player.placeInsurance()) {
+                if (listener != null) {
+                    listener.insurancePlaced(seatOf(player), (int) (player.getInsuranceStake() / Ledger.MINOR_UNITS));
+                }
+            } else if (insure && console) {
+                System.out.println(player.getName() + " can't cover the insurance.");
+            }
+        }
     }
 
+    /**
+     * Settles a player's insurance bet, if any, and records it as a side bet. Like hands, it is
+     * recorded in whole units, so the half unit of insurance on an odd bet is rounded down.
+     */
+    private void settleInsurance(Player player, boolean dealerHasBlackjack) {
+        long stake = player.getInsuranceStake();
+        if (stake == 0) {
+            return;
+        }
+        long net = player.settleInsurance(dealerHasBlackjack);
+        if (console) {
+            System.out.println(player.getName() + (net > 0 ? " wins" : " loses") + " the insurance bet.");
+        }
+        int wager = (int) (stake / Ledger.MINOR_UNITS);
+        int netUnits = (int) Math.floorDiv(net, Ledger.MINOR_UNITS);
+        if (listener != null) {
+            listener.insuranceSettled(seatOf(player), wager, netUnits);
+        }
+        if (roundResult != null) {
+            roundResult.recordSideBet(wager, netUnits);
+            roundWagered[seatOf(player) - 1] += wager;
+            roundNet[seatOf(player) - 1] += netUnits;
+        }
+    }
+
+    /**
+     * Plays the players' turns and then the dealer's. When metrics are on, each of the two
+     * phases is timed separately.
+     */
     private void playRound() {
+        long start = metrics == null ? 0 : System.nanoTime();
         for (Player player : players) {
             if (player.getCurrentBet() > 0) {
                 playerTurn(player);
             }
         }
+        start = phaseDone(TableMetrics.Phase.PLAYER_TURNS, start);
 
         if (playersInGame()) {
             dealerTurn();
+            phaseDone(TableMetrics.Phase.DEALER_TURN, start);
+        }
+    }
+
+    /**
+     * Records the time since the start of a phase when metrics are on.
+     * @param phase The phase that just ended.
+     * @param start The System.nanoTime() the phase started at.
+     * @return The current System.nanoTime(), the start of the next phase (0 when metrics are off).
+     */
+    private long phaseDone(TableMetrics.Phase phase, long start) {
+        if (metrics == null) {
+            return 0;
         }
+        long now = System.nanoTime();
+        metrics.recordPhase(phase, now - start);
+        return now;
     }
 
+    /**
+     * Plays each of a player's hands in turn. Splitting adds hands to the end, so they are played
+     * once the earlier ones are done; a split hand gets its second card when its turn comes.
+     */
     private void playerTurn(Player player) {
-        System.out.println("\n" + player.getName() + "'s turn:");
-        while (true) {
-            System.out.print("Do you want to (h)it, (s)tand" +
-                    (player.getHand().size() == 2 ? ", or (d)ouble down? " : "? "));
-            String choice = scanner.nextLine().toLowerCase();
-            if (playerAction(player, choice)) {
-                break;
+        actingPlayer = player;
+        int dealerUpValue = dealer.getUpCard().getValue();
+        for (int h = 0; h < player.getHandCount(); h++) {
+            Hand hand = player.getHand(h);
+            if (hand.size() == 1) {
+                dealCard(player, h);
+            }
+            if (isSplitAce(player, h)) {
+                continue; // Split aces get one card each and no decisions
+            }
+            if (console) {
+                System.out.println("\n" + player.getName() + "'s turn"
+                        + (player.getHandCount() > 1 ? " (hand " + (h + 1) + "):" : ":"));
+                if (player.getHandCount() > 1) {
+                    System.out.println(hand + " (Value: " + hand.getValue() + ")");
+                }
             }
-            System.out.println("\n" + player);
+            boolean turnOver;
+            do {
+                PlayStrategy.Action action;
+                if (playStrategy != null) {
+                    action = playStrategy.decide(hand, dealerUpValue, canDouble(player, h), canSplit(player, h),
+                            canSurrender(player, h));
+                } else {
+                    System.out.print("Do you want to (h)it, (s)tand"
+                            + (hand.size() == 2 ? ", (d)ouble down" : "")
+                            + (canSplit(player, h) ? ", s(p)lit" : "")
+                            + (canSurrender(player, h) ? ", su(r)render" : "") + "? ");
+                    action = parseAction(scanner.nextLine().toLowerCase());
+                }
+                if (listener != null && action != null) {
+                    listener.decisionMade(seatOf(player), action);
+                }
+                turnOver = playerAction(player, h, action);
+                if (!turnOver && console) {
+                    System.out.println("\n" + player);
+                }
+            } while (!turnOver);
         }
+        actingPlayer = null;
     }
 
-    private boolean playerAction(Player player, String choice) {
+    private PlayStrategy.Action parseAction(String choice) {
         switch (choice) {
             case "h":
-                player.addCard(deck.drawCard());
-                if (player.getHandValue() > BLACKJACK_VALUE) {
-                    System.out.println("\n" + player);
-                    System.out.println(player.getName() + " busts!");
+                return PlayStrategy.Action.HIT;
+            case "s":
+                return PlayStrategy.Action.STAND;
+            case "d":
+                return PlayStrategy.Action.DOUBLE;
+            case "p":
+                return PlayStrategy.Action.SPLIT;
+            case "r":
+                return PlayStrategy.Action.SURRENDER;
+            default:
+                return null;
+        }
+    }
+
+    private boolean canDouble(Player player, int h) {
+        return player.getHand(h).size() == 2 && player.getMoney() >= player.getBet(h)
+                && (player.getHandCount() == 1 || rules.isDoubleAfterSplit());
+    }
+
+    private boolean canSplit(Player player, int h) {
+        Hand hand = player.getHand(h);
+        return player.getHandCount() < rules.getMaxHands() && hand.size() == 2 && hand.isPair()
+                && player.getMoney() >= player.getBet(h);
+    }
+
+    private boolean canSurrender(Player player, int h) {
+        return rules.isLateSurrender() && player.getHandCount() == 1 && player.getHand(h).size() == 2;
+    }
+
+    private boolean isSplitAce(Player player, int h) {
+        return player.getHandCount() > 1 && Card.valueOf(player.getHand(h).getOrdinal(0)) == Card.MAX_VALUE;
+    }
+
+    /**
+     * Carries out a decision on one of a player's hands.
+     * @return true if the hand is finished, false if the player decides again.
+     */
+    private boolean playerAction(Player player, int h, PlayStrategy.Action action) {
+        if (action == null) {
+            if (console) {
+                System.out.println("Invalid choice. Please try again.");
+            }
+            return false;
+        }
+        Hand hand = player.getHand(h);
+        switch (action) {
+            case HIT:
+                dealCard(player, h);
+                if (hand.getValue() > BLACKJACK_VALUE) {
+                    if (console) {
+                        System.out.println("\n" + player);
+                        System.out.println(player.getName() + " busts!");
+                    }
                     return true;
                 }
                 break;
-            case "s":
+            case STAND:
                 return true;
-            case "d":
-                if (player.getHand().size() == 2 && player.getMoney() >= player.getCurrentBet()) {
-                    player.placeBet(MIN_BET, player.getCurrentBet());
-                    player.addCard(deck.drawCard());
-                    System.out.println("\n" + player);
+            case DOUBLE:
+                if (canDouble(player, h) && player.doubleDown(h)) {
+                    dealCard(player, h);
+                    if (console) {
+                        System.out.println("\n" + player);
+                    }
                     return true;
-                } else {
+                } else if (console) {
                     System.out.println("You can't double down.");
+                } else {
+                    throw new IllegalStateException("Cannot double " + hand + " under " + rules);
+                }
+                break;
+            case SPLIT:
+                if (canSplit(player, h) && player.split(h)) {
+                    dealCard(player, h);
+                    if (isSplitAce(player, h)) {
+                        dealCard(player, player.getHandCount() - 1);
+                        if (console) {
+                            System.out.println("\n" + player);
+                        }
+                        return true;
+                    }
+                } else if (console) {
+                    System.out.println("You can't split this hand.");
+                } else {
+                    throw new IllegalStateException("Cannot split " + hand + " under " + rules);
+                }
+                break;
+            case SURRENDER:
+                if (canSurrender(player, h)) {
+                    if (console) {
+                        System.out.println(player.getName() + " surrenders.");
+                    }
+                    settle(player, h, SURRENDER_PAYOUT);
+                    return true;
+                } else if (console) {
+                    System.out.println("You can't surrender now.");
+                } else {
+                    throw new IllegalStateException("Cannot surrender " + hand + " under " + rules);
                 }
                 break;
-            default:
-                System.out.println("Invalid choice. Please try again.");
         }
         return false;
     }
 
     private void dealerTurn() {
-        System.out.println("\nDealer's turn:");
-        System.out.println(dealer);
-        while (dealer.shouldHit()) {
-            dealer.addCard(deck.drawCard());
+        if (console) {
+            System.out.println("\nDealer's turn:");
             System.out.println(dealer);
         }
+        while (dealer.shouldHit()) {
+            dealCardToDealer();
+            if (console) {
+                System.out.println(dealer);
+            }
+        }
     }
 
     private void determineWinners() {
         int dealerScore = dealer.getHandValue();
 
-        System.out.println("\n--- Final Hands ---");
-        for (Player player : players) {
-            System.out.println(player);
+        if (console) {
+            System.out.println("\n--- Final Hands ---");
+            for (Player player : players) {
+                System.out.println(player);
+            }
+            System.out.println(dealer);
         }
-        System.out.println(dealer);
 
         for (Player player : players) {
-            int playerScore = player.getHandValue();
-
-            if (playerScore > BLACKJACK_VALUE) {
-                System.out.println(player.getName() + " busts. Dealer wins.");
-                player.loseBet();
-            } else if (dealerScore > BLACKJACK_VALUE) {
-                System.out.println("Dealer busts. " + player.getName() + " wins!");
-                player.winBet(2);
-            } else if (playerScore > dealerScore) {
-                System.out.println(player.getName() + " wins!");
-                player.winBet(2);
-            } else if (playerScore < dealerScore) {
-                System.out.println("Dealer wins against " + player.getName() + ".");
-                player.loseBet();
-            } else {
-                System.out.println(player.getName() + " pushes.");
-                player.pushBet();
+            for (int h = 0; h < player.getHandCount(); h++) {
+                if (player.getBet(h) == 0) {
+                    continue; // Already settled (blackjack or surrender) or sat out this round
+                }
+                int playerScore = player.getHand(h).getValue();
+                String name = player.getHandCount() > 1 ? player.getName() + " (hand " + (h + 1) + ")"
+                        : player.getName();
+
+                if (playerScore > BLACKJACK_VALUE) {
+                    if (console) {
+                        System.out.println(name + " busts. Dealer wins.");
+                    }
+                    settle(player, h, LOSS_PAYOUT);
+                } else if (dealerScore > BLACKJACK_VALUE) {
+                    if (console) {
+                        System.out.println("Dealer busts. " + name + " wins!");
+                    }
+                    settle(player, h, WIN_PAYOUT);
+                } else if (playerScore > dealerScore) {
+                    if (console) {
+                        System.out.println(name + " wins!");
+                    }
+                    settle(player, h, WIN_PAYOUT);
+                } else if (playerScore < dealerScore) {
+                    if (console) {
+                        System.out.println("Dealer wins against " + name + ".");
+                    }
+                    settle(player, h, LOSS_PAYOUT);
+                } else {
+                    if (console) {
+                        System.out.println(name + " pushes.");
+                    }
+                    settle(player, h, PUSH_PAYOUT);
+                }
             }
         }
     }
 
+    /**
+     * Settles the bet on one of a player's hands and records the hand when an automated round is
+     * being played.
+     * @param player The player to settle.
+     * @param h The hand.
+     * @param payout The amount returned per unit bet (0 for a loss, 0.5 for a surrender, 1 for a push,
+     *               2 for a win).
+     */
+    private void settle(Player player, int h, double payout) {
+        int wager = player.getBet(h);
+        long paid = player.settleBet(h, payout);
+        boolean blackjack = player.hasBlackjack();
+        boolean busted = player.getHand(h).isBusted();
+        // The ledger is exact; results and events are in whole units (a half unit won is rounded down)
+        int net = (int) Math.floorDiv(paid - wager * Ledger.MINOR_UNITS, Ledger.MINOR_UNITS);
+        if (roundResult != null) {
+            roundResult.recordHand(wager, net, blackjack, busted);
+            roundWagered[seatOf(player) - 1] += wager;
+            roundNet[seatOf(player) - 1] += net;
+        }
+        if (metrics != null) {
+            metrics.recordHand(wager * Ledger.MINOR_UNITS, paid - wager * Ledger.MINOR_UNITS, blackjack, busted);
+        }
+        if (listener != null) {
+            listener.handSettled(seatOf(player), wager, net);
+        }
+    }
+
     private boolean askToPlayAgain() {
         while (true) {
             System.out.print("Do you want to play another round? (y/n): ");
@@ -261,8 +705,10 @@ public class BlackJack {
 
     private boolean playersInGame() {
         for (Player player : players) {
-            if (player.getCurrentBet() > 0 && player.getHandValue() <= BLACKJACK_VALUE) {
-                return true;
+            for (int h = 0; h < player.getHandCount(); h++) {
+                if (player.getBet(h) > 0 && player.getHand(h).getValue() <= BLACKJACK_VALUE) {
+                    return true;
+                }
             }
         }
         return false;
@@ -277,6 +723,32 @@ public class BlackJack {
         return dealer;
     }
 
+    /**
+     * Gets the player whose hands are being played, for a play strategy that decides for several
+     * seats. A split player is still the acting player for each of their hands.
+     * @return The acting player, or null outside the players' turns.
+     */
+    public Player getActingPlayer() {
+        return actingPlayer;
+    }
+
+    /**
+     * Sets the listener told about every bet, card, decision, insurance and settlement at this table.
+     * @param listener The listener, or null for none.
+     */
+    public void setListener(TableListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the metrics this table records its rounds, hands, shuffles and phase latencies into.
+     * One TableMetrics can be shared by any number of tables.
+     * @param metrics The metrics, or null for none.
+     */
+    public void setMetrics(TableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public static void main(String[] args) {
         BlackJack game = new BlackJack(2, 1000);
         game.playGame();
@@ -284,18 +756,18 @@ public class BlackJack {
 
     // New methods for GUI interaction
     public void dealInitialCardsForGUI() {
-        dealInitialCards();
+        dealInitialCards(); // The GUI starts the round on the shoe itself, before the bet
     }
 
     public void hitPlayer(Player player) {
-        player.addCard(deck.drawCard());
+        dealCard(player, 0);
     }
 
     public void dealerTurnForGUI() {
         dealerTurn();
     }
 
-    public Deck getDeck() {
+    public CardSource getDeck() {
         return deck;
     }
 
@@ -303,20 +775,42 @@ public class BlackJack {
         return BLACKJACK_VALUE;
     }
 
+    /**
+     * Gets the blackjack payout of the default rules, whatever rules this table plays.
+     * @return The default payout.
+     * @deprecated Use getRules().getBlackjackPayout() on the table.
+     */
+    @Deprecated
     public static double getBlackjackPayout() {
-        return BLACKJACK_PAYOUT;
+        return RuleSet.DEFAULT.getBlackjackPayout();
     }
 
+    /**
+     * Gets the minimum bet of the default rules, whatever rules this table plays.
+     * @return The default minimum bet.
+     * @deprecated Use getRules().getMinBet() on the table.
+     */
+    @Deprecated
     public static int getMinBet() {
-        return MIN_BET;
+        return RuleSet.DEFAULT.getMinBet();
     }
 
+    /**
+     * Gets the maximum bet of the default rules, whatever rules this table plays.
+     * @return The default maximum bet.
+     * @deprecated Use getRules().getMaxBet() on the table.
+     */
+    @Deprecated
     public static int getMaxBet() {
-        return MAX_BET;
+        return RuleSet.DEFAULT.getMaxBet();
+    }
+
+    public RuleSet getRules() {
+        return rules;
     }
 
-    // New method to reset the deck
+    // Reshuffles the whole shoe in place
     public void resetDeck() {
-        this.deck = new Deck();
+        deck.reset();
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Swing front end for a Blackjack table. The game objects are the model; each seat and the dealer
+ * have a view that is updated in place, changing only the labels whose values changed and adding
+ * only the cards that are new. Card images come from the CardIconAtlas. The dealer's turn and the
+ * settlement run on a background worker, and the results are published back to the Event
+ * Dispatch Thread; while the worker runs, the buttons are disabled so the EDT leaves the model alone.
+ */
 public class BlackjackGUI extends JFrame {
     private BlackJack game;
     private JPanel mainPanel;
@@ -15,9 +21,15 @@ public class BlackjackGUI extends JFrame {
     private JTextField betAmountField;
     private JButton placeBetButton;
     private JLabel currentBetLabel;
+    private JLabel statusLabel;
+    private SeatView[] seatViews;
+    private HandView dealerHandView;
+    private JLabel dealerValueLabel;
+    private boolean dealerRevealed;
 
     public BlackjackGUI(int numPlayers, int initialMoney) {
         game = new BlackJack(numPlayers, initialMoney);
+        game.setListener(new DealerCardPublisher());
         initializeUI();
         startNewGame();
     }
@@ -25,20 +37,25 @@ public class BlackjackGUI extends JFrame {
     private void initializeUI() {
         setTitle("Blackjack");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(800, 600);
+        setSize(Math.max(800, game.getPlayers().size() * 180), 600);
         setLocationRelativeTo(null);
 
         mainPanel = new JPanel(new BorderLayout());
         playerPanels = new JPanel(new GridLayout(1, game.getPlayers().size()));
-        dealerPanel = new JPanel();
+        dealerPanel = new JPanel(new FlowLayout());
         controlPanel = new JPanel(new FlowLayout());
 
-        for (Player player : game.getPlayers()) {
-            playerPanels.add(createPlayerPanel(player));
+        seatViews = new SeatView[game.getPlayers().size()];
+        for (int i = 0; i < seatViews.length; i++) {
+            seatViews[i] = new SeatView(game.getPlayers().get(i).getName());
+            playerPanels.add(seatViews[i]);
         }
 
+        dealerHandView = new HandView();
+        dealerValueLabel = new JLabel();
         dealerPanel.add(new JLabel("Dealer: "));
-        dealerPanel.add(new JLabel("Hidden"));
+        dealerPanel.add(dealerHandView);
+        dealerPanel.add(dealerValueLabel);
 
         hitButton = new JButton("Hit");
         standButton = new JButton("Stand");
@@ -46,6 +63,7 @@ public class BlackjackGUI extends JFrame {
         betAmountField = new JTextField(10);
         placeBetButton = new JButton("Place Bet");
         currentBetLabel = new JLabel("Current Bet: $0");
+        statusLabel = new JLabel();
 
         hitButton.addActionListener(e -> handleHit());
         standButton.addActionListener(e -> handleStand());
@@ -58,6 +76,7 @@ public class BlackjackGUI extends JFrame {
         controlPanel.add(hitButton);
         controlPanel.add(standButton);
         controlPanel.add(dealButton);
+        controlPanel.add(statusLabel);
 
         mainPanel.add(dealerPanel, BorderLayout.NORTH);
         mainPanel.add(playerPanels, BorderLayout.CENTER);
@@ -68,15 +87,6 @@ public class BlackjackGUI extends JFrame {
         setButtonsEnabled(false);
     }
 
-    private JPanel createPlayerPanel(Player player) {
-        JPanel panel = new JPanel(new GridLayout(3, 1));
-        panel.setBorder(BorderFactory.createTitledBorder(player.getName()));
-        panel.add(new JLabel("Hand: " + player.getHand().toString()));
-        panel.add(new JLabel("Value: " + player.getHandValue()));
-        panel.add(new JLabel("Money: $" + player.getMoney()));
-        return panel;
-    }
-
     private void startNewGame() {
         resetGameState();
         updateUI();
@@ -91,8 +101,10 @@ public class BlackjackGUI extends JFrame {
             player.clearHand();
         }
         game.getDealer().clearHand();
-        game.resetDeck(); // Use the new resetDeck() method
+        game.getDeck().startRound(); // Reshuffles only once the cut card has come out
+        dealerRevealed = false;
         currentBetLabel.setText("Current Bet: $0");
+        statusLabel.setText("");
     }
 
     private void handlePlaceBet() {
@@ -128,23 +140,48 @@ public class BlackjackGUI extends JFrame {
     }
 
     private void handleHit() {
-        Player currentPlayer = game.getPlayers().get(0); 
+        Player currentPlayer = game.getPlayers().get(0);
         currentPlayer.addCard(game.getDeck().drawCard());
+        updateUI();
         if (currentPlayer.getHandValue() > 21) {
             handleStand();
         }
-        updateUI();
     }
 
+    /**
+     * Reveals the dealer's hole card, then plays the dealer's turn and settles the bet on a
+     * background worker. Dealer cards appear as they are drawn; the result is shown once settled.
+     */
     private void handleStand() {
-        game.dealerTurnForGUI();
-        determineWinner();
         setButtonsEnabled(false);
-        dealButton.setEnabled(true);
+        dealerRevealed = true;
         updateUI();
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                game.dealerTurnForGUI();
+                return determineWinner();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    statusLabel.setText(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("The round could not be settled: " + e.getMessage());
+                }
+                currentBetLabel.setText("Current Bet: $0");
+                dealButton.setEnabled(true);
+                updateUI();
+            }
+        }.execute();
     }
 
-    private void determineWinner() {
+    /**
+     * Settles the bet. Runs off the EDT, so it only touches the model.
+     * @return The result message to show.
+     */
+    private String determineWinner() {
         Player player = game.getPlayers().get(0);
         int playerScore = player.getHandValue();
         int dealerScore = game.getDealer().getHandValue();
@@ -166,32 +203,24 @@ public class BlackjackGUI extends JFrame {
             result = "It's a tie!";
             player.pushBet();
         }
-
-        JOptionPane.showMessageDialog(this, result);
-        currentBetLabel.setText("Current Bet: $0");
-        updateUI();
+        return result;
     }
 
+    /**
+     * Brings every view up to date with the model. Must run on the EDT.
+     */
     private void updateUI() {
-        playerPanels.removeAll();
-        for (Player player : game.getPlayers()) {
-            playerPanels.add(createPlayerPanel(player));
+        for (int i = 0; i < seatViews.length; i++) {
+            seatViews[i].update(game.getPlayers().get(i));
         }
 
-        dealerPanel.removeAll();
-        Hand dealerHand = game.getDealer().getHand();
-        if (dealerHand.size() > 0) {
-            if (hitButton.isEnabled()) {
-                dealerPanel.add(new JLabel("Dealer: " + dealerHand.getCards().get(0) + ", [Hidden]"));
-            } else {
-                dealerPanel.add(new JLabel("Dealer: " + dealerHand.toString() + " (Value: " + game.getDealer().getHandValue() + ")"));
-            }
-        } else {
-            dealerPanel.add(new JLabel("Dealer: "));
+        Dealer dealer = game.getDealer();
+        dealerHandView.update(dealer.getHand(), !dealerRevealed);
+        String value = dealer.getHand().size() == 0 ? ""
+                : dealerRevealed ? "(Value: " + dealer.getHandValue() + ")" : "(Value: ?)";
+        if (!value.equals(dealerValueLabel.getText())) {
+            dealerValueLabel.setText(value);
         }
-
-        revalidate();
-        repaint();
     }
 
     private void setButtonsEnabled(boolean enabled) {
@@ -199,7 +228,124 @@ public class BlackjackGUI extends JFrame {
         standButton.setEnabled(enabled);
     }
 
+    /**
+     * The cards of one hand as icons. Cards are appended as the hand grows; the panel is only
+     * rebuilt when the hand is cleared.
+     */
+    private static class HandView extends JPanel {
+        private int shown;
+        private boolean firstHidden;
+
+        HandView() {
+            super(new FlowLayout(FlowLayout.LEFT, 2, 0));
+        }
+
+        void update(Hand hand, boolean hideFirst) {
+            boolean changed = false;
+            if (hand.size() < shown) {
+                removeAll();
+                shown = 0;
+                changed = true;
+            }
+            if (shown > 0 && hideFirst != firstHidden) {
+                ((JLabel) getComponent(0)).setIcon(hideFirst ? CardIconAtlas.back()
+                        : CardIconAtlas.icon(hand.getOrdinal(0)));
+            }
+            firstHidden = hideFirst;
+            while (shown < hand.size()) {
+                add(new JLabel(shown == 0 && hideFirst ? CardIconAtlas.back()
+                        : CardIconAtlas.icon(hand.getOrdinal(shown))));
+                shown++;
+                changed = true;
+            }
+            if (changed) {
+                revalidate();
+                repaint();
+            }
+        }
+
+        void addCard(int ordinal) {
+            add(new JLabel(CardIconAtlas.icon(ordinal)));
+            shown++;
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     * One player's seat: hand, hand value and money. Remembers the values on show so that an
+     * update only touches the labels that changed.
+     */
+    private static class SeatView extends JPanel {
+        private final HandView handView = new HandView();
+        private final JLabel valueLabel = new JLabel();
+        private final JLabel moneyLabel = new JLabel();
+        private int shownValue = -1;
+        private int shownMoney = -1;
+
+        SeatView(String name) {
+            super(new BorderLayout());
+            setBorder(BorderFactory.createTitledBorder(name));
+            JPanel labels = new JPanel(new GridLayout(2, 1));
+            labels.add(valueLabel);
+            labels.add(moneyLabel);
+            add(handView, BorderLayout.CENTER);
+            add(labels, BorderLayout.SOUTH);
+        }
+
+        void update(Player player) {
+            handView.update(player.getHand(), false);
+            int value = player.getHandValue();
+            if (value != shownValue) {
+                valueLabel.setText("Value: " + value);
+                shownValue = value;
+            }
+            int money = player.getMoney();
+            if (money != shownMoney) {
+                moneyLabel.setText("Money: $" + money);
+                shownMoney = money;
+            }
+        }
+    }
+
+    /**
+     * Publishes the cards the dealer draws on the background worker to the EDT as they are dealt.
+     * Only the card ordinal crosses threads, never the model.
+     */
+    private class DealerCardPublisher implements TableListener {
+        @Override
+        public void roundStarted() {
+        }
+
+        @Override
+        public void betPlaced(int seat, int amount) {
+        }
+
+        @Override
+        public void cardDealt(int seat, int ordinal) {
+            if (seat == DEALER_SEAT) {
+                SwingUtilities.invokeLater(() -> dealerHandView.addCard(ordinal));
+            }
+        }
+
+        @Override
+        public void decisionMade(int seat, PlayStrategy.Action action) {
+        }
+
+        @Override
+        public void handSettled(int seat, int wager, int net) {
+        }
+
+        @Override
+        public void insurancePlaced(int seat, int amount) {
+        }
+
+        @Override
+        public void insuranceSettled(int seat, int wager, int net) {
+        }
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new BlackjackGUI(1, 1000).setVisible(true));
     }
-}
\ No newline at end of file
+}
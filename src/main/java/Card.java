@@ -2,6 +2,24 @@
  * Represents a playing card in a deck.
  */
 public class Card {
+    private static final int SUIT_COUNT = 4;
+    public static final int DECK_SIZE = 52;
+    public static final int MIN_VALUE = 2;
+    public static final int MAX_VALUE = 11; // Ace
+    public static final int VALUE_COUNT = MAX_VALUE - MIN_VALUE + 1;
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+    private static final byte[] VALUES = new byte[DECK_SIZE];
+
+    static {
+        for (Rank rank : Rank.values()) {
+            for (Suit suit : Suit.values()) {
+                Card card = new Card(rank, suit);
+                CARDS[card.ordinal()] = card;
+                VALUES[card.ordinal()] = (byte) rank.getValue();
+            }
+        }
+    }
+
     private final Rank rank;
     private final Suit suit;
 
@@ -39,6 +57,52 @@ public class Card {
         return rank.getValue();
     }
 
+    /**
+     * Gets the compact ordinal of the card (0-51), used for primitive card storage.
+     * @return The ordinal of the card.
+     */
+    public int ordinal() {
+        return rank.ordinal() * SUIT_COUNT + suit.ordinal();
+    }
+
+    /**
+     * Gets the shared Card instance for an ordinal, without allocating.
+     * @param ordinal The ordinal of the card (0-51).
+     * @return The card with that ordinal.
+     */
+    public static Card fromOrdinal(int ordinal) {
+        return CARDS[ordinal];
+    }
+
+    /**
+     * Gets the value of the card with the given ordinal, without materializing the card.
+     * @param ordinal The ordinal of the card (0-51).
+     * @return The numerical value of the card (2-11).
+     */
+    public static int valueOf(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Builds a card ordinal for a card value. Sources that only track values (like the
+     * RankCountShoe) use this to give each card a face and suit for display; the salt
+     * spreads ten-value cards across Ten/Jack/Queen/King and cards across the suits.
+     * @param value The value of the card (2-11).
+     * @param salt Any varying number, such as a draw counter.
+     * @return An ordinal of a card with that value.
+     */
+    public static int ordinalForValue(int value, int salt) {
+        int rank;
+        if (value == MAX_VALUE) {
+            rank = Rank.ACE.ordinal();
+        } else if (value == 10) {
+            rank = Rank.TEN.ordinal() + (salt & 3);
+        } else {
+            rank = value - MIN_VALUE;
+        }
+        return rank * SUIT_COUNT + ((salt >>> 2) & 3);
+    }
+
     @Override
     public String toString() {
         return rank + " of " + suit;
@@ -0,0 +1,88 @@
+/**
+ * Keeps a running count and true count of the cards drawn from a shoe. Register it with
+ * CardSource.addObserver; every card updates the count with a single table lookup, and the
+ * count resets whenever the shoe is reshuffled.
+ */
+public class CardCounter implements CardObserver {
+    private final CountingSystem system;
+    private final int numDecks;
+    private final int initialCount;
+    private int runningCount;
+    private int cardsSeen;
+
+    /**
+     * Constructor for CardCounter.
+     * @param system The tag system to count with.
+     * @param numDecks The number of decks in the shoe being counted.
+     */
+    public CardCounter(CountingSystem system, int numDecks) {
+        this.system = system;
+        this.numDecks = numDecks;
+        this.initialCount = system.initialCount(numDecks);
+        shuffled();
+    }
+
+    @Override
+    public void cardDrawn(int ordinal) {
+        runningCount += system.tags[Card.valueOf(ordinal) - Card.MIN_VALUE];
+        cardsSeen++;
+    }
+
+    @Override
+    public void shuffled() {
+        runningCount = initialCount;
+        cardsSeen = 0;
+    }
+
+    /**
+     * Gets the running count.
+     * @return The running count, including the system's initial count.
+     */
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * Gets the true count: the running count per deck still to be dealt.
+     * @return The true count.
+     */
+    public double getTrueCount() {
+        int cardsLeft = numDecks * Card.DECK_SIZE - cardsSeen;
+        return cardsLeft <= 0 ? runningCount : runningCount * (double) Card.DECK_SIZE / cardsLeft;
+    }
+
+    /**
+     * Gets the tag system used by this counter.
+     * @return The counting system.
+     */
+    public CountingSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Enum representing the supported card counting tag systems.
+     */
+    public enum CountingSystem {
+        /** Balanced: 2-6 count +1, 7-9 count 0, tens and Aces count -1. */
+        HI_LO(new int[]{1, 1, 1, 1, 1, 0, 0, 0, -1, -1}, false),
+        /** Unbalanced Knock-Out: like Hi-Lo but 7s count +1, starting from 4 - 4 x decks. */
+        KO(new int[]{1, 1, 1, 1, 1, 1, 0, 0, -1, -1}, true);
+
+        private final int[] tags; // Indexed by card value - 2
+        private final boolean unbalanced;
+
+        CountingSystem(int[] tags, boolean unbalanced) {
+            this.tags = tags;
+            this.unbalanced = unbalanced;
+        }
+
+        /**
+         * Gets the running count at the start of a shoe.
+         * @param numDecks The number of decks in the shoe.
+         * @return The initial running count.
+         */
+        public int initialCount(int numDecks) {
+            return unbalanced ? 4 - 4 * numDecks : 0;
+        }
+    }
+}
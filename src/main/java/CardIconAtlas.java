@@ -0,0 +1,89 @@
+import javax.swing.ImageIcon;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Card images for the GUI, rendered once into a single atlas image: one column per rank, one row
+ * per suit and a last row holding the card back. Every icon is a sub-image sharing the atlas's
+ * pixels, and icons are looked up by card ordinal, so showing a card never draws or allocates.
+ */
+public final class CardIconAtlas {
+    public static final int CARD_WIDTH = 60;
+    public static final int CARD_HEIGHT = 84;
+
+    private static final String[] RANK_LABELS = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+    private static final String[] SUIT_SYMBOLS = {"\u2663", "\u2666", "\u2665", "\u2660"};
+    private static final int RANKS = RANK_LABELS.length;
+    private static final int SUITS = SUIT_SYMBOLS.length;
+
+    private static final ImageIcon[] ICONS = new ImageIcon[Card.DECK_SIZE];
+    private static final ImageIcon BACK;
+
+    static {
+        BufferedImage atlas = new BufferedImage(RANKS * CARD_WIDTH, (SUITS + 1) * CARD_HEIGHT,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            int rank = ordinal / SUITS;
+            int suit = ordinal % SUITS;
+            drawFace(g, rank * CARD_WIDTH, suit * CARD_HEIGHT, rank, suit);
+            ICONS[ordinal] = new ImageIcon(atlas.getSubimage(rank * CARD_WIDTH, suit * CARD_HEIGHT,
+                    CARD_WIDTH, CARD_HEIGHT));
+        }
+        drawBack(g, 0, SUITS * CARD_HEIGHT);
+        BACK = new ImageIcon(atlas.getSubimage(0, SUITS * CARD_HEIGHT, CARD_WIDTH, CARD_HEIGHT));
+        g.dispose();
+    }
+
+    private CardIconAtlas() {
+    }
+
+    private static void drawFace(Graphics2D g, int x, int y, int rank, int suit) {
+        g.setColor(Color.WHITE);
+        g.fillRoundRect(x + 1, y + 1, CARD_WIDTH - 2, CARD_HEIGHT - 2, 8, 8);
+        g.setColor(Color.GRAY);
+        g.setStroke(new BasicStroke(1));
+        g.drawRoundRect(x + 1, y + 1, CARD_WIDTH - 3, CARD_HEIGHT - 3, 8, 8);
+
+        boolean red = suit == Card.Suit.DIAMONDS.ordinal() || suit == Card.Suit.HEARTS.ordinal();
+        g.setColor(red ? new Color(0xC0, 0x10, 0x10) : Color.BLACK);
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
+        g.drawString(RANK_LABELS[rank], x + 6, y + 18);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 30));
+        FontMetrics metrics = g.getFontMetrics();
+        String symbol = SUIT_SYMBOLS[suit];
+        g.drawString(symbol, x + (CARD_WIDTH - metrics.stringWidth(symbol)) / 2,
+                y + (CARD_HEIGHT + metrics.getAscent()) / 2 - 4);
+    }
+
+    private static void drawBack(Graphics2D g, int x, int y) {
+        g.setColor(new Color(0x1E, 0x3A, 0x8A));
+        g.fillRoundRect(x + 1, y + 1, CARD_WIDTH - 2, CARD_HEIGHT - 2, 8, 8);
+        g.setColor(Color.WHITE);
+        g.drawRoundRect(x + 5, y + 5, CARD_WIDTH - 11, CARD_HEIGHT - 11, 6, 6);
+    }
+
+    /**
+     * Gets the icon of a card.
+     * @param ordinal The ordinal of the card (see Card.ordinal()).
+     * @return The cached icon.
+     */
+    public static ImageIcon icon(int ordinal) {
+        return ICONS[ordinal];
+    }
+
+    /**
+     * Gets the icon of a face-down card.
+     * @return The cached icon.
+     */
+    public static ImageIcon back() {
+        return BACK;
+    }
+}
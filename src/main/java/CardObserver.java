@@ -0,0 +1,15 @@
+/**
+ * Interface for anything that watches the cards coming out of a card source, such as a CardCounter.
+ */
+public interface CardObserver {
+    /**
+     * Called for every card drawn.
+     * @param ordinal The ordinal of the card drawn (see Card.ordinal()).
+     */
+    void cardDrawn(int ordinal);
+
+    /**
+     * Called when the cards seen so far are shuffled back into the source.
+     */
+    void shuffled();
+}
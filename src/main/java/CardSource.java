@@ -0,0 +1,49 @@
+/**
+ * Interface for anything that deals cards to a table, such as a Shoe or a RankCountShoe.
+ * Cards are dealt as compact ordinals; a Card is only looked up when one is needed.
+ */
+public interface CardSource {
+    /**
+     * Draws the next card.
+     * @return The ordinal of the card drawn (see Card.ordinal()).
+     */
+    int drawOrdinal();
+
+    /**
+     * Draws the next card.
+     * @return The card drawn.
+     */
+    default Card drawCard() {
+        return Card.fromOrdinal(drawOrdinal());
+    }
+
+    /**
+     * Gets the number of cards left before the source has to be reshuffled.
+     * @return The number of cards remaining.
+     */
+    int remainingCards();
+
+    /**
+     * Gets the number of cards of a value left before the source has to be reshuffled.
+     * @param value The card value (2-11).
+     * @return The number of cards of that value remaining.
+     */
+    int remainingOfValue(int value);
+
+    /**
+     * Registers an observer that is told about every card drawn and every reshuffle.
+     * @param observer The observer to add.
+     */
+    void addObserver(CardObserver observer);
+
+    /**
+     * Prepares the source for a new round, reshuffling it if needed.
+     * @return true if the source was reshuffled, false otherwise.
+     */
+    boolean startRound();
+
+    /**
+     * Puts every card back and reshuffles, in place.
+     */
+    void reset();
+}
@@ -0,0 +1,188 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One client connection to the GameServer, read on its own virtual thread. Each line from the
+ * client is a command, turned into a message for the client's table:
+ * <pre>
+ *   JOIN &lt;table&gt;   take a seat        BET &lt;amount&gt;   bet on the next round
+ *   HIT | STAND | DOUBLE              LEAVE            give up the seat
+ *   QUIT                              close the connection
+ * </pre>
+ * The table answers with SEATED, LEFT or ERROR lines and streams the play at the table as ROUND,
+ * BET, CARD, HOLE, TURN, ACTION and RESULT lines.
+ */
+public class ClientSession implements Runnable {
+    private final Socket socket;
+    private final GameServer server;
+    private final Writer out;
+    private final ReentrantLock outLock = new ReentrantLock(); // Unlike synchronized, does not pin a virtual thread
+    private volatile TableActor table;
+    private volatile TableActor joining;
+
+    /**
+     * Constructor for ClientSession.
+     * @param socket The client's connection.
+     * @param server The server whose tables the client can join.
+     * @throws IOException If the connection's output cannot be opened.
+     */
+    public ClientSession(Socket socket, GameServer server) throws IOException {
+        this.socket = socket;
+        this.server = server;
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads commands until the client quits or disconnects, then gives up the client's seat.
+     */
+    @Override
+    public void run() {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The connection dropped; treat it as leaving
+        } finally {
+            // A join still in flight is followed by the leave, since the mailbox is FIFO
+            TableActor pending = joining; // Read before table: seated() sets table before clearing joining
+            TableActor current = table != null ? table : pending;
+            if (current != null) {
+                current.post(TableActor.Message.leave(this));
+            }
+            close();
+        }
+    }
+
+    /**
+     * Handles one command line.
+     * @param line The command.
+     * @return false if the client asked to quit.
+     */
+    private boolean handle(String line) {
+        String[] parts = line.split("\\s+");
+        String command = parts[0].toUpperCase();
+        if (command.equals("QUIT")) {
+            return false;
+        }
+        if (command.equals("JOIN")) {
+            join(parts);
+            return true;
+        }
+        TableActor current = table;
+        if (current == null) {
+            send("ERROR Join a table first");
+            return true;
+        }
+        switch (command) {
+            case "BET":
+                Integer amount = parts.length == 2 ? parseInt(parts[1]) : null;
+                if (amount == null) {
+                    send("ERROR Usage: BET <amount>");
+                } else {
+                    current.post(TableActor.Message.bet(this, amount));
+                }
+                break;
+            case "HIT":
+                current.post(TableActor.Message.action(this, PlayStrategy.Action.HIT));
+                break;
+            case "STAND":
+                current.post(TableActor.Message.action(this, PlayStrategy.Action.STAND));
+                break;
+            case "DOUBLE":
+                current.post(TableActor.Message.action(this, PlayStrategy.Action.DOUBLE));
+                break;
+            case "LEAVE":
+                current.post(TableActor.Message.leave(this));
+                break;
+            default:
+                send("ERROR Unknown command: " + parts[0]);
+        }
+        return true;
+    }
+
+    private void join(String[] parts) {
+        if (table != null || joining != null) {
+            send("ERROR Already seated");
+            return;
+        }
+        Integer id = parts.length == 2 ? parseInt(parts[1]) : null;
+        if (id == null || id < 0 || id >= server.getTableCount()) {
+            send("ERROR Usage: JOIN <table> with a table from 0 to " + (server.getTableCount() - 1));
+            return;
+        }
+        joining = server.getTable(id);
+        joining.post(TableActor.Message.join(this));
+    }
+
+    private static Integer parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Called by a table once this client has a seat.
+     * @param table The table.
+     */
+    void seated(TableActor table) {
+        this.table = table;
+        joining = null;
+    }
+
+    /**
+     * Called by a table that had no free seat.
+     */
+    void joinRefused() {
+        joining = null;
+    }
+
+    /**
+     * Called by a table once this client's seat is given up.
+     */
+    void left() {
+        table = null;
+    }
+
+    /**
+     * Sends one line to the client. Failures are ignored; the reading thread notices the broken
+     * connection and leaves the table.
+     * @param line The line, without a line terminator.
+     */
+    public void send(String line) {
+        outLock.lock();
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            close();
+        } finally {
+            outLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the connection.
+     */
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
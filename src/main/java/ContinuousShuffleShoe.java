@@ -0,0 +1,139 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A continuous shuffling machine: the cards dealt in a round go back into the machine in one
+ * batch when the next round starts, so there is no cut card and nothing to count between rounds.
+ * The machine is an array of card ordinals whose front holds the cards still inside; a draw picks
+ * one of them uniformly at random and swaps it behind the rest, so every draw costs O(1) and the
+ * array is never shuffled. Returning the round's cards just moves the boundary back to the end,
+ * since where a card sits inside the machine does not matter when draws are uniform.
+ */
+public class ContinuousShuffleShoe implements CardSource {
+    private final byte[] cards;
+    private int inMachine; // The cards in [0, inMachine) can be drawn; the rest are out this round
+    private final int[] remainingByValue = new int[Card.VALUE_COUNT];
+    private final int[] fullByValue = new int[Card.VALUE_COUNT];
+    private final SplittableRandom random;
+    private CardObserver[] observers = new CardObserver[0];
+
+    /**
+     * Constructor for a six-deck ContinuousShuffleShoe.
+     */
+    public ContinuousShuffleShoe() {
+        this(Shoe.DEFAULT_DECKS, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for ContinuousShuffleShoe.
+     * @param numDecks The number of decks in the machine (1-8).
+     * @param random The random number generator used for drawing.
+     */
+    public ContinuousShuffleShoe(int numDecks, SplittableRandom random) {
+        if (numDecks < Shoe.MIN_DECKS || numDecks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("A shoe holds " + Shoe.MIN_DECKS + "-" + Shoe.MAX_DECKS + " decks, got " + numDecks);
+        }
+        this.cards = new byte[numDecks * Card.DECK_SIZE];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % Card.DECK_SIZE);
+            fullByValue[Card.valueOf(cards[i]) - Card.MIN_VALUE]++;
+        }
+        this.random = random;
+        returnDiscards();
+    }
+
+    @Override
+    public int drawOrdinal() {
+        if (inMachine == 0) {
+            throw new IllegalStateException("Cannot draw from an empty shoe");
+        }
+        int index = random.nextInt(inMachine);
+        int ordinal = cards[index];
+        cards[index] = cards[--inMachine];
+        cards[inMachine] = (byte) ordinal;
+        remainingByValue[Card.valueOf(ordinal) - Card.MIN_VALUE]--;
+        for (CardObserver observer : observers) {
+            observer.cardDrawn(ordinal);
+        }
+        return ordinal;
+    }
+
+    private void returnDiscards() {
+        inMachine = cards.length;
+        System.arraycopy(fullByValue, 0, remainingByValue, 0, fullByValue.length);
+    }
+
+    /**
+     * Returns the cards dealt last round to the machine. This is not a reshuffle of the shoe,
+     * so it returns false, but observers are told the cards went back in.
+     * @return false, always.
+     */
+    @Override
+    public boolean startRound() {
+        if (inMachine < cards.length) {
+            returnDiscards();
+            notifyShuffled();
+        }
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        returnDiscards();
+        notifyShuffled();
+    }
+
+    @Override
+    public void addObserver(CardObserver observer) {
+        observers = Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+    }
+
+    private void notifyShuffled() {
+        for (CardObserver observer : observers) {
+            observer.shuffled();
+        }
+    }
+
+    @Override
+    public int remainingCards() {
+        return inMachine;
+    }
+
+    @Override
+    public int remainingOfValue(int value) {
+        return remainingByValue[value - Card.MIN_VALUE];
+    }
+
+    /**
+     * Gets the number of decks in the machine.
+     * @return The number of decks.
+     */
+    public int getNumDecks() {
+        return cards.length / Card.DECK_SIZE;
+    }
+
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        // The same play and flat bets on each kind of shoe, so only the dealing differs
+        String[] names = {"Shoe (6 decks, 75%)", "Lazily shuffled shoe", "Rank-count shoe", "Continuous shuffler"};
+        PlayStrategy playStrategy = new BasicStrategy();
+        BettingStrategy flat = (availableMoney, minBet, maxBet) -> minBet;
+        for (int i = 0; i < names.length; i++) {
+            int kind = i;
+            ParallelSimulationRunner runner = new ParallelSimulationRunner(random -> new SimulationEngine(seats,
+                    kind == 0 ? new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random)
+                            : kind == 1 ? new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random, true)
+                            : kind == 2 ? new RankCountShoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random)
+                            : new ContinuousShuffleShoe(Shoe.DEFAULT_DECKS, random),
+                    playStrategy, flat), seed);
+            long start = System.nanoTime();
+            SimulationResult result = runner.run(rounds);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-22s %s, %.0f rounds/sec%n", names[i], result.getStatistics(), rounds / seconds);
+        }
+    }
+}
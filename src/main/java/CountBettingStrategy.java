@@ -0,0 +1,38 @@
+/**
+ * Base class for betting strategies that size bets from a card counter using a bet ramp.
+ * The ramp lists how many minimum-bet units to bet at each count, starting from a first count;
+ * counts below the first use the first entry and counts above the last use the last entry.
+ */
+public abstract class CountBettingStrategy implements BettingStrategy {
+    protected final CardCounter counter;
+    private final int firstCount;
+    private final int[] units;
+
+    /**
+     * Constructor for CountBettingStrategy.
+     * @param counter The counter to read the count from.
+     * @param firstCount The count the first ramp entry applies to.
+     * @param units The number of minimum-bet units to bet at firstCount, firstCount + 1, and so on.
+     */
+    protected CountBettingStrategy(CardCounter counter, int firstCount, int... units) {
+        if (units.length == 0) {
+            throw new IllegalArgumentException("A bet ramp needs at least one step");
+        }
+        this.counter = counter;
+        this.firstCount = firstCount;
+        this.units = units.clone();
+    }
+
+    /**
+     * Gets the count the ramp is indexed by.
+     * @return The current count.
+     */
+    protected abstract int count();
+
+    @Override
+    public int determineBet(int availableMoney, int minBet, int maxBet) {
+        int step = Math.max(0, Math.min(count() - firstCount, units.length - 1));
+        int bet = minBet * units[step];
+        return Math.max(minBet, Math.min(bet, maxBet));
+    }
+}
@@ -3,13 +3,23 @@
  */
 public class Dealer {
     private Hand hand;
+    private final boolean hitsSoft17;
     private static final int DEALER_STAND_VALUE = 17;
 
     /**
-     * Constructor for Dealer.
+     * Constructor for a Dealer who stands on soft 17.
      */
     public Dealer() {
+        this(false);
+    }
+
+    /**
+     * Constructor for Dealer.
+     * @param hitsSoft17 Whether the dealer hits a soft 17 instead of standing on it.
+     */
+    public Dealer(boolean hitsSoft17) {
         this.hand = new Hand();
+        this.hitsSoft17 = hitsSoft17;
     }
 
     /**
@@ -48,7 +58,24 @@ public class Dealer {
      * @return true if the dealer should hit, false otherwise.
      */
     public boolean shouldHit() {
-        return getHandValue() < DEALER_STAND_VALUE;
+        int value = getHandValue();
+        return value < DEALER_STAND_VALUE || (hitsSoft17 && value == DEALER_STAND_VALUE && hand.isSoft());
+    }
+
+    /**
+     * Checks whether the dealer hits a soft 17.
+     * @return true if the dealer hits soft 17, false if the dealer stands on it.
+     */
+    public boolean hitsSoft17() {
+        return hitsSoft17;
+    }
+
+    /**
+     * Gets the lowest hand value the dealer stands on (every hard 17; soft 17 too unless hitsSoft17()).
+     * @return The dealer's stand value.
+     */
+    public static int getStandValue() {
+        return DEALER_STAND_VALUE;
     }
 
     /**
@@ -59,6 +86,14 @@ public class Dealer {
         return hand;
     }
 
+    /**
+     * Gets the dealer's face-up card (the second card dealt).
+     * @return The dealer's up card.
+     */
+    public Card getUpCard() {
+        return hand.getCards().get(1);
+    }
+
     /**
      * Displays the dealer's hand, optionally hiding the first card.
      * @param hideFirstCard If true, the first card will be hidden.
@@ -67,7 +102,7 @@ public class Dealer {
     public String displayHand(boolean hideFirstCard) {
         StringBuilder sb = new StringBuilder("Dealer's hand: ");
         if (hideFirstCard) {
-            sb.append("[Hidden], ").append(hand.getCards().get(1));
+            sb.append("[Hidden], ").append(getUpCard());
         } else {
             sb.append(hand.toString());
         }
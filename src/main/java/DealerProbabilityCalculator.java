@@ -0,0 +1,207 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the exact probabilities of the dealer's final result (17-21, blackjack or bust)
+ * from the dealer's up card and the exact composition of the remaining shoe. The dealer hits
+ * below Dealer.getStandValue() and stands on 17, hitting soft 17 if the rules say so, matching
+ * Dealer.shouldHit.
+ * Results are memoized per up card in bounded LRU caches keyed by the packed composition.
+ * Instances are not thread-safe; use one calculator per thread.
+ */
+public class DealerProbabilityCalculator {
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+
+    private static final int BLACKJACK_VALUE = 21;
+    private static final int TEN_INDEX = 10 - Card.MIN_VALUE;
+    private static final int COUNT_BITS = 6;      // Up to 63 cards of each non-ten value
+    private static final int TEN_COUNT_BITS = 8;  // Up to 255 ten-value cards
+    private static final int OUTCOMES = 7;        // Totals 17-21, blackjack, bust
+    private static final int BLACKJACK_OUTCOME = 5;
+    private static final int BUST_OUTCOME = 6;
+
+    private final BoundedCache[] caches = new BoundedCache[Card.VALUE_COUNT];
+    private final int[] counts = new int[Card.VALUE_COUNT];
+    private final boolean hitsSoft17;
+
+    /**
+     * Constructor for DealerProbabilityCalculator with the default cache size.
+     */
+    public DealerProbabilityCalculator() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor for DealerProbabilityCalculator.
+     * @param cacheSize The maximum number of compositions remembered per dealer up card.
+     */
+    public DealerProbabilityCalculator(int cacheSize) {
+        this(cacheSize, false);
+    }
+
+    /**
+     * Constructor for DealerProbabilityCalculator.
+     * @param cacheSize The maximum number of compositions remembered per dealer up card.
+     * @param hitsSoft17 Whether the dealer hits soft 17.
+     */
+    public DealerProbabilityCalculator(int cacheSize, boolean hitsSoft17) {
+        this.hitsSoft17 = hitsSoft17;
+        for (int i = 0; i < caches.length; i++) {
+            caches[i] = new BoundedCache(cacheSize);
+        }
+    }
+
+    /**
+     * Computes the dealer's outcome distribution for the cards left in a shoe.
+     * @param dealerUpValue The value of the dealer's up card (2-11).
+     * @param shoe The shoe, with the up card already drawn from it.
+     * @return The distribution of the dealer's final result.
+     */
+    public Distribution compute(int dealerUpValue, CardSource shoe) {
+        int[] remaining = new int[Card.VALUE_COUNT];
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = shoe.remainingOfValue(i + Card.MIN_VALUE);
+        }
+        return compute(dealerUpValue, remaining);
+    }
+
+    /**
+     * Computes the dealer's outcome distribution.
+     * @param dealerUpValue The value of the dealer's up card (2-11).
+     * @param remainingByValue The number of cards left per value, index 0 for 2s through 9 for Aces.
+     * @return The distribution of the dealer's final result.
+     */
+    public Distribution compute(int dealerUpValue, int[] remainingByValue) {
+        long key = packComposition(remainingByValue);
+        BoundedCache cache = caches[dealerUpValue - Card.MIN_VALUE];
+        Distribution distribution = cache.get(key);
+        if (distribution == null) {
+            int total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = remainingByValue[i];
+                total += counts[i];
+            }
+            double[] probabilities = new double[OUTCOMES];
+            boolean ace = dealerUpValue == Card.MAX_VALUE;
+            draw(ace ? 1 : dealerUpValue, ace, 1, total, 1.0, probabilities);
+            distribution = new Distribution(probabilities);
+            cache.put(key, distribution);
+        }
+        return distribution;
+    }
+
+    /**
+     * Plays out every possible dealer draw from the given hand, adding each final result's
+     * probability into the outcome array.
+     */
+    private void draw(int hardTotal, boolean hasAce, int cards, int remaining, double probability,
+                      double[] outcomes) {
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            double p = probability * count / remaining;
+            int value = i + Card.MIN_VALUE;
+            boolean ace = value == Card.MAX_VALUE;
+            int hard = hardTotal + (ace ? 1 : value);
+            boolean soft = (hasAce || ace) && hard + 10 <= BLACKJACK_VALUE;
+            int total = soft ? hard + 10 : hard;
+
+            if (total > BLACKJACK_VALUE) {
+                outcomes[BUST_OUTCOME] += p;
+            } else if (cards == 1 && total == BLACKJACK_VALUE) {
+                outcomes[BLACKJACK_OUTCOME] += p;
+            } else if (total >= Dealer.getStandValue() && !(hitsSoft17 && soft && total == Dealer.getStandValue())) {
+                outcomes[total - Dealer.getStandValue()] += p;
+            } else {
+                counts[i]--;
+                draw(hard, hasAce || ace, cards + 1, remaining - 1, p, outcomes);
+                counts[i]++;
+            }
+        }
+    }
+
+    static long packComposition(int[] remainingByValue) {
+        long key = 0;
+        for (int i = 0; i < Card.VALUE_COUNT; i++) {
+            int bits = i == TEN_INDEX ? TEN_COUNT_BITS : COUNT_BITS;
+            int count = remainingByValue[i];
+            if (count < 0 || count >= 1 << bits) {
+                throw new IllegalArgumentException("Too many cards of value " + (i + Card.MIN_VALUE) + ": " + count);
+            }
+            key = (key << bits) | count;
+        }
+        return key;
+    }
+
+    /**
+     * Gets the number of compositions currently cached for an up card.
+     * @param dealerUpValue The value of the dealer's up card (2-11).
+     * @return The number of cached distributions.
+     */
+    public int cachedCompositions(int dealerUpValue) {
+        return caches[dealerUpValue - Card.MIN_VALUE].size();
+    }
+
+    /**
+     * The probabilities of the dealer's final results. Instances are shared through the cache
+     * and never change.
+     */
+    public static class Distribution {
+        private final double[] probabilities;
+
+        Distribution(double[] probabilities) {
+            this.probabilities = probabilities;
+        }
+
+        /**
+         * Gets the probability that the dealer stands on a total (without a blackjack).
+         * @param total The final total (17-21).
+         * @return The probability of finishing on that total.
+         */
+        public double getFinalTotal(int total) {
+            return probabilities[total - Dealer.getStandValue()];
+        }
+
+        /**
+         * Gets the probability that the dealer has a blackjack.
+         * @return The probability of a dealer blackjack.
+         */
+        public double getBlackjack() {
+            return probabilities[BLACKJACK_OUTCOME];
+        }
+
+        /**
+         * Gets the probability that the dealer busts.
+         * @return The probability of a dealer bust.
+         */
+        public double getBust() {
+            return probabilities[BUST_OUTCOME];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("17: %.4f, 18: %.4f, 19: %.4f, 20: %.4f, 21: %.4f, Blackjack: %.4f, Bust: %.4f",
+                    probabilities[0], probabilities[1], probabilities[2], probabilities[3], probabilities[4],
+                    probabilities[BLACKJACK_OUTCOME], probabilities[BUST_OUTCOME]);
+        }
+    }
+
+    /**
+     * LRU map that drops the least recently used distribution once it is full.
+     */
+    private static class BoundedCache extends LinkedHashMap<Long, Distribution> {
+        private final int maxSize;
+
+        BoundedCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Distribution> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -1,38 +1,124 @@
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
- * Represents a deck of playing cards.
+ * Represents one or more decks of playing cards, stored as a compact array of card ordinals
+ * so that shuffling and resetting happen in place without allocating.
+ * A lazy deck shuffles as it deals: each draw is one Fisher-Yates step, picking the card
+ * uniformly from those not yet dealt, so the deal order is distributed exactly as after a full
+ * shuffle but the cost is paid only for the cards actually dealt.
  */
 public class Deck {
-    private List<Card> cards;
+    protected final byte[] cards;
+    protected int position; // Index of the next card to draw
+    protected final int[] remainingByValue = new int[Card.VALUE_COUNT]; // Undrawn cards per value 2-11
+    protected final SplittableRandom random;
+    private final boolean lazy;
+    private int shuffledTo; // The order of the cards before this index is fixed
+    private CardObserver[] observers = new CardObserver[0];
 
     /**
      * Constructor for Deck. Initializes a full deck of 52 cards.
      */
     public Deck() {
+        this(1, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for Deck.
+     * @param numDecks The number of 52-card decks to combine.
+     * @param random The random number generator used for shuffling.
+     */
+    public Deck(int numDecks, SplittableRandom random) {
+        this(numDecks, random, false);
+    }
+
+    /**
+     * Constructor for Deck.
+     * @param numDecks The number of 52-card decks to combine.
+     * @param random The random number generator used for shuffling.
+     * @param lazy true to shuffle one card per draw instead of the whole deck up front.
+     */
+    public Deck(int numDecks, SplittableRandom random, boolean lazy) {
+        if (numDecks < 1) {
+            throw new IllegalArgumentException("A deck needs at least one 52-card pack");
+        }
+        this.cards = new byte[numDecks * Card.DECK_SIZE];
+        this.random = random;
+        this.lazy = lazy;
         initializeDeck();
     }
 
     /**
-     * Initializes the deck with 52 cards (13 ranks x 4 suits).
+     * Initializes the deck with numDecks x 52 cards (13 ranks x 4 suits).
      */
     private void initializeDeck() {
-        cards = new ArrayList<>();
-        for (Card.Suit suit : Card.Suit.values()) {
-            for (Card.Rank rank : Card.Rank.values()) {
-                cards.add(new Card(rank, suit));
-            }
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % Card.DECK_SIZE);
         }
+        position = 0;
+        countRemaining();
         shuffle();
     }
 
     /**
-     * Shuffles the deck.
+     * Recounts the undrawn cards per value.
+     */
+    protected void countRemaining() {
+        for (int i = 0; i < remainingByValue.length; i++) {
+            remainingByValue[i] = 0;
+        }
+        for (int i = position; i < cards.length; i++) {
+            remainingByValue[Card.valueOf(cards[i]) - Card.MIN_VALUE]++;
+        }
+    }
+
+    /**
+     * Shuffles the cards that have not been drawn yet (Fisher-Yates, in place). A lazy deck only
+     * forgets their order here, and shuffles them as they are drawn.
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        if (lazy) {
+            shuffledTo = position;
+        } else {
+            shuffle(cards, position, random);
+            shuffledTo = cards.length;
+        }
+    }
+
+    /**
+     * Fixes the order of the cards before an index, finishing a lazy shuffle up to there.
+     * @param to The index of the first card whose order may stay open.
+     */
+    protected void fixOrder(int to) {
+        for (; shuffledTo < to; shuffledTo++) {
+            int j = shuffledTo + random.nextInt(cards.length - shuffledTo);
+            byte tmp = cards[shuffledTo];
+            cards[shuffledTo] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+    /**
+     * Marks the order of every card as fixed, e.g. after it has been set from outside.
+     */
+    protected void orderFixed() {
+        shuffledTo = cards.length;
+    }
+
+    /**
+     * Shuffles the cards of an array from an index on (Fisher-Yates, in place).
+     * @param cards The card ordinals.
+     * @param from The index of the first card to shuffle.
+     * @param random The random number generator to shuffle with.
+     */
+    static void shuffle(byte[] cards, int from, SplittableRandom random) {
+        for (int i = cards.length - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            byte tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
     }
 
     /**
@@ -40,10 +126,44 @@ public class Deck {
      * @return The top card of the deck.
      */
     public Card drawCard() {
-        if (cards.isEmpty()) {
+        return Card.fromOrdinal(drawOrdinal());
+    }
+
+    /**
+     * Draws a card from the top of the deck without looking up its Card.
+     * @return The ordinal of the top card of the deck.
+     */
+    public int drawOrdinal() {
+        if (position == cards.length) {
             throw new IllegalStateException("Cannot draw from an empty deck");
         }
-        return cards.remove(cards.size() - 1);
+        if (position >= shuffledTo) {
+            fixOrder(position + 1);
+        }
+        int ordinal = cards[position++];
+        remainingByValue[Card.valueOf(ordinal) - Card.MIN_VALUE]--;
+        for (CardObserver observer : observers) {
+            observer.cardDrawn(ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Registers an observer that is told about every card drawn and every reshuffle.
+     * @param observer The observer to add.
+     */
+    public void addObserver(CardObserver observer) {
+        observers = Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+    }
+
+    /**
+     * Tells the observers that the drawn cards went back into the deck.
+     */
+    protected void notifyShuffled() {
+        for (CardObserver observer : observers) {
+            observer.shuffled();
+        }
     }
 
     /**
@@ -51,13 +171,33 @@ public class Deck {
      * @return The number of cards in the deck.
      */
     public int remainingCards() {
-        return cards.size();
+        return cards.length - position;
+    }
+
+    /**
+     * Gets the number of cards of a value remaining in the deck.
+     * @param value The card value (2-11).
+     * @return The number of cards of that value remaining.
+     */
+    public int remainingOfValue(int value) {
+        return remainingByValue[value - Card.MIN_VALUE];
     }
 
     /**
-     * Resets the deck to its initial state (52 cards) and shuffles it.
+     * Gets the total number of cards in the deck when full.
+     * @return The number of cards in a full deck.
+     */
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * Resets the deck to its initial state (all cards) and shuffles it, in place.
      */
     public void reset() {
-        initializeDeck();
+        position = 0;
+        countRemaining();
+        shuffle();
+        notifyShuffled();
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,37 @@
 public class DefaultBettingStrategy implements BettingStrategy {
     private static final double BET_PERCENTAGE = 0.1; // 10% of available money
 
+    private final double betPercentage;
+
+    /**
+     * Constructor for DefaultBettingStrategy betting 10% of the available money.
+     */
+    public DefaultBettingStrategy() {
+        this(BET_PERCENTAGE);
+    }
+
+    /**
+     * Constructor for DefaultBettingStrategy.
+     * @param betPercentage The fraction of the available money to bet (0-1].
+     */
+    public DefaultBettingStrategy(double betPercentage) {
+        if (betPercentage <= 0 || betPercentage > 1) {
+            throw new IllegalArgumentException("Bet percentage must be in (0, 1], got " + betPercentage);
+        }
+        this.betPercentage = betPercentage;
+    }
+
     @Override
     public int determineBet(int availableMoney, int minBet, int maxBet) {
-        int bet = (int) (availableMoney * BET_PERCENTAGE);
+        int bet = (int) (availableMoney * betPercentage);
         return Math.max(minBet, Math.min(bet, maxBet));
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the fraction of the available money this strategy bets.
+     * @return The bet percentage.
+     */
+    public double getBetPercentage() {
+        return betPercentage;
+    }
+}
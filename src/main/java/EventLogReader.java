@@ -0,0 +1,163 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a binary event log written by EventLogWriter and plays its events into a TableListener.
+ * The file header is "BJEV", a version byte and the house rules: the blackjack payout as a double,
+ * the minimum and maximum bets as ints, a byte of rule flags and the most hands after splitting.
+ * After it, each event is a header byte (type << 4 | seat) followed by:
+ * <ul>
+ *   <li>round start: nothing</li>
+ *   <li>bet: varint amount</li>
+ *   <li>card: one byte card ordinal</li>
+ *   <li>decision: one byte action ordinal</li>
+ *   <li>settlement: varint wager, zigzag varint net</li>
+ *   <li>insurance: varint amount</li>
+ *   <li>insurance settlement: varint wager, zigzag varint net</li>
+ * </ul>
+ * Event types start at 1, so a zero header byte ends the log: that is where a log that was never
+ * closed stops, before the zeros filling the rest of its last mapped region.
+ */
+public class EventLogReader implements Closeable {
+    private static final long MAP_SIZE = 64L << 20;
+    private static final PlayStrategy.Action[] ACTIONS = PlayStrategy.Action.values();
+
+    private final FileChannel channel;
+    private final long size;
+    private final RuleSet rules;
+    private MappedByteBuffer buffer;
+    private long mappedStart;
+
+    /**
+     * Constructor for EventLogReader.
+     * @param path The log file to read.
+     * @throws IOException If the file cannot be read or is not an event log.
+     */
+    public EventLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0);
+        if (size < 5 || buffer.getInt() != EventLogWriter.MAGIC) {
+            throw new IOException("Not a blackjack event log: " + path);
+        }
+        byte version = buffer.get();
+        if (version != EventLogWriter.VERSION || size < EventLogWriter.FILE_HEADER_BYTES) {
+            throw new IOException("Unsupported event log version " + version + ": " + path);
+        }
+        double blackjackPayout = buffer.getDouble();
+        int minBet = buffer.getInt();
+        int maxBet = buffer.getInt();
+        int flags = buffer.get();
+        int maxHands = buffer.get();
+        try {
+            this.rules = RuleSet.DEFAULT.withBlackjackPayout(blackjackPayout)
+                    .withBetLimits(minBet, maxBet)
+                    .withDealerHitsSoft17((flags & EventLogWriter.HITS_SOFT_17) != 0)
+                    .withSplits(maxHands, (flags & EventLogWriter.DOUBLE_AFTER_SPLIT) != 0)
+                    .withLateSurrender((flags & EventLogWriter.LATE_SURRENDER) != 0)
+                    .withInsurance((flags & EventLogWriter.INSURANCE) != 0);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt event log: invalid house rules: " + path, e);
+        }
+    }
+
+    private void map(long start) throws IOException {
+        mappedStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAP_SIZE, size - start));
+    }
+
+    /**
+     * Reads the next event and passes it to the listener.
+     * @param listener The listener to pass the event to.
+     * @return true if an event was read, false at the end of the log.
+     * @throws IOException If the file cannot be read.
+     */
+    public boolean next(TableListener listener) throws IOException {
+        if (buffer.remaining() < EventLogWriter.MAX_EVENT_BYTES && mappedStart + buffer.limit() < size) {
+            map(mappedStart + buffer.position());
+        }
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        int header = buffer.get() & 0xFF;
+        if (header >>> 4 == EventLogWriter.END_OF_LOG) {
+            buffer.position(buffer.position() - 1); // Stay at the end for later calls
+            return false;
+        }
+        int seat = header & 0x0F;
+        switch (header >>> 4) {
+            case EventLogWriter.ROUND_EVENT:
+                listener.roundStarted();
+                break;
+            case EventLogWriter.BET_EVENT:
+                listener.betPlaced(seat, getVarint());
+                break;
+            case EventLogWriter.CARD_EVENT:
+                listener.cardDealt(seat, buffer.get());
+                break;
+            case EventLogWriter.DECISION_EVENT:
+                listener.decisionMade(seat, ACTIONS[buffer.get()]);
+                break;
+            case EventLogWriter.SETTLE_EVENT:
+                int wager = getVarint();
+                int zigzag = getVarint();
+                listener.handSettled(seat, wager, zigzag >>> 1 ^ -(zigzag & 1));
+                break;
+            case EventLogWriter.INSURANCE_EVENT:
+                listener.insurancePlaced(seat, getVarint());
+                break;
+            case EventLogWriter.INSURANCE_SETTLE_EVENT:
+                int insured = getVarint();
+                int insuranceZigzag = getVarint();
+                listener.insuranceSettled(seat, insured, insuranceZigzag >>> 1 ^ -(insuranceZigzag & 1));
+                break;
+            default:
+                throw new IOException("Corrupt event log: unknown event type " + (header >>> 4)
+                        + " at byte " + (mappedStart + buffer.position() - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Reads every remaining event into the listener.
+     * @param listener The listener to pass the events to.
+     * @return The number of events read.
+     * @throws IOException If the file cannot be read.
+     */
+    public long readAll(TableListener listener) throws IOException {
+        long events = 0;
+        while (next(listener)) {
+            events++;
+        }
+        return events;
+    }
+
+    /**
+     * Gets the house rules the logged table played under.
+     * @return The rules from the file header.
+     */
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    private int getVarint() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every event at a table to a compact binary log through a memory-mapped file.
+ * The file header records the table's house rules, so the log can be replayed under them.
+ * Each event is a header byte (event type in the high nibble, seat in the low nibble)
+ * followed by varint-encoded fields; see EventLogReader for the layout of each type.
+ * Attach it with BlackJack.setListener and close it when the session ends. Event types start at
+ * 1, so no header byte is zero: a log that was never closed ends in the zeros of its last mapped
+ * region, and the first zero header marks its end.
+ */
+public class EventLogWriter implements TableListener, Closeable {
+    static final int MAGIC = 0x424A4556; // "BJEV"
+    static final byte VERSION = 3;
+    static final int FILE_HEADER_BYTES = 4 + 1 + 8 + 4 + 4 + 1 + 1; // Magic, version and the rules
+
+    static final int END_OF_LOG = 0; // Never written: the zeros after the last event
+    static final int ROUND_EVENT = 1;
+    static final int BET_EVENT = 2;
+    static final int CARD_EVENT = 3;
+    static final int DECISION_EVENT = 4;
+    static final int SETTLE_EVENT = 5;
+    static final int INSURANCE_EVENT = 6;
+    static final int INSURANCE_SETTLE_EVENT = 7;
+
+    static final int HITS_SOFT_17 = 1;        // Bits of the rule flags byte
+    static final int DOUBLE_AFTER_SPLIT = 2;
+    static final int LATE_SURRENDER = 4;
+    static final int INSURANCE = 8;
+
+    static final int MAX_EVENT_BYTES = 1 + 5 + 5; // Header plus two 32-bit varints
+    private static final long DEFAULT_MAP_SIZE = 64L << 20;
+    private static final int MAX_SEAT = 15;
+
+    private final FileChannel channel;
+    private final long mapSize;
+    private MappedByteBuffer buffer;
+    private long mappedStart;
+
+    /**
+     * Constructor for EventLogWriter. Creates or truncates the file.
+     * @param path The file to write the log to.
+     * @param rules The house rules of the table being logged.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public EventLogWriter(Path path, RuleSet rules) throws IOException {
+        this(path, rules, DEFAULT_MAP_SIZE);
+    }
+
+    /**
+     * Constructor for EventLogWriter. Creates or truncates the file.
+     * @param path The file to write the log to.
+     * @param rules The house rules of the table being logged.
+     * @param mapSize The size of each region of the file mapped into memory.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public EventLogWriter(Path path, RuleSet rules, long mapSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapSize = mapSize;
+        map(0);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putDouble(rules.getBlackjackPayout());
+        buffer.putInt(rules.getMinBet());
+        buffer.putInt(rules.getMaxBet());
+        buffer.put((byte) ((rules.dealerHitsSoft17() ? HITS_SOFT_17 : 0)
+                | (rules.isDoubleAfterSplit() ? DOUBLE_AFTER_SPLIT : 0)
+                | (rules.isLateSurrender() ? LATE_SURRENDER : 0)
+                | (rules.isInsurance() ? INSURANCE : 0)));
+        buffer.put((byte) rules.getMaxHands());
+    }
+
+    private void map(long start) throws IOException {
+        mappedStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, start, mapSize);
+    }
+
+    private void header(int type, int seat) {
+        if (buffer.remaining() < MAX_EVENT_BYTES) {
+            try {
+                map(mappedStart + buffer.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (seat < 0 || seat > MAX_SEAT) {
+            throw new IllegalArgumentException("Seat out of range for the event log: " + seat);
+        }
+        buffer.put((byte) (type << 4 | seat));
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    @Override
+    public void roundStarted() {
+        header(ROUND_EVENT, 0);
+    }
+
+    @Override
+    public void betPlaced(int seat, int amount) {
+        header(BET_EVENT, seat);
+        putVarint(amount);
+    }
+
+    @Override
+    public void cardDealt(int seat, int ordinal) {
+        header(CARD_EVENT, seat);
+        buffer.put((byte) ordinal);
+    }
+
+    @Override
+    public void decisionMade(int seat, PlayStrategy.Action action) {
+        header(DECISION_EVENT, seat);
+        buffer.put((byte) action.ordinal());
+    }
+
+    @Override
+    public void handSettled(int seat, int wager, int net) {
+        header(SETTLE_EVENT, seat);
+        putVarint(wager);
+        putVarint(net << 1 ^ net >> 31); // Zigzag so small losses stay short
+    }
+
+    @Override
+    public void insurancePlaced(int seat, int amount) {
+        header(INSURANCE_EVENT, seat);
+        putVarint(amount);
+    }
+
+    @Override
+    public void insuranceSettled(int seat, int wager, int net) {
+        header(INSURANCE_SETTLE_EVENT, seat);
+        putVarint(wager);
+        putVarint(net << 1 ^ net >> 31);
+    }
+
+    /**
+     * Gets the number of bytes written so far, including the file header.
+     * @return The size of the log.
+     */
+    public long size() {
+        return mappedStart + buffer.position();
+    }
+
+    /**
+     * Flushes the log and trims the file to the bytes actually written.
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        long size = size();
+        buffer.force();
+        channel.truncate(size);
+        channel.close();
+    }
+}
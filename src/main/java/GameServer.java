@@ -0,0 +1,122 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local game server hosting many independent tables. Every table is a TableActor running on
+ * its own virtual thread, and every client connection is read on another, so thousands of tables
+ * and clients share a handful of carrier threads. Clients speak the line protocol described in
+ * ClientSession.
+ */
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 7070;
+    public static final int DEFAULT_TABLES = 1000;
+    public static final int DEFAULT_INITIAL_MONEY = 1000;
+
+    private final ServerSocket serverSocket;
+    private final TableActor[] tables;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TableMetrics metrics = new TableMetrics();
+
+    /**
+     * Constructor for GameServer with the default bet window and decision timeout.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param numTables The number of tables to host.
+     * @param initialMoney The bankroll each player is given on joining a table.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(int port, int numTables, int initialMoney) throws IOException {
+        this(port, numTables, initialMoney, TableActor.DEFAULT_BET_WINDOW_MILLIS,
+                TableActor.DEFAULT_DECISION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Constructor for GameServer.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param numTables The number of tables to host.
+     * @param initialMoney The bankroll each player is given on joining a table.
+     * @param betWindowMillis How long a table waits for the remaining bets after the first one.
+     * @param decisionTimeoutMillis How long a player may take to act before standing.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(int port, int numTables, int initialMoney, long betWindowMillis,
+                      long decisionTimeoutMillis) throws IOException {
+        if (numTables < 1) {
+            throw new IllegalArgumentException("A server needs at least one table: " + numTables);
+        }
+        this.tables = new TableActor[numTables];
+        for (int i = 0; i < numTables; i++) {
+            tables[i] = new TableActor(i, initialMoney, betWindowMillis, decisionTimeoutMillis, metrics);
+        }
+        this.serverSocket = new ServerSocket(port);
+    }
+
+    /**
+     * Starts every table and begins accepting connections. Returns immediately.
+     */
+    public void start() {
+        for (TableActor table : tables) {
+            executor.execute(table);
+        }
+        executor.execute(this::acceptConnections);
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                executor.execute(new ClientSession(socket, this));
+            } catch (IOException e) {
+                // Closed by close(), or a connection failed before its session started
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and stops every table.
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    // Getters
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getTableCount() {
+        return tables.length;
+    }
+
+    public TableActor getTable(int id) {
+        return tables[id];
+    }
+
+    /**
+     * Gets the metrics shared by every table on the server.
+     * @return The metrics.
+     */
+    public TableMetrics getMetrics() {
+        return metrics;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int numTables = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TABLES;
+        GameServer server = new GameServer(port, numTables, DEFAULT_INITIAL_MONEY);
+        server.getMetrics().register("server-" + server.getPort());
+        server.start();
+        System.out.println("Hosting " + numTables + " tables on port " + server.getPort()
+                + ". Press Enter to stop.");
+        System.in.read(); // The server's threads are virtual, so they do not keep the JVM alive
+        server.close();
+    }
+}
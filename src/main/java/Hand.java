@@ -1,17 +1,30 @@
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * Represents a hand of cards in the game.
+ * Represents a hand of cards in the game. Cards are stored as byte ordinals, and the hard
+ * total, soft-ace flag and pair flag are kept up to date as cards are added, so valuing a
+ * hand never walks the cards. Card objects are only looked up for display.
  */
 public class Hand {
-    private List<Card> cards;
+    private static final int BLACKJACK_VALUE = 21;
+    private static final int SOFT_ACE_BONUS = 10; // An Ace counted as 11 instead of 1
+    private static final int INITIAL_CAPACITY = 12;
+
+    private byte[] cards;
+    private int size;
+    private final List<Card> cardsView;
+    private int hardTotal; // Every Ace counted as 1
+    private boolean hasAce;
+    private boolean pair;
 
     /**
      * Constructor for Hand.
      */
     public Hand() {
-        this.cards = new ArrayList<>();
+        this.cards = new byte[INITIAL_CAPACITY];
+        this.cardsView = new CardsView();
     }
 
     /**
@@ -19,14 +32,48 @@ public class Hand {
      * @param card The card to add.
      */
     public void addCard(Card card) {
-        cards.add(card);
+        addOrdinal(card.ordinal());
+    }
+
+    /**
+     * Adds a card to the hand by its ordinal.
+     * @param ordinal The ordinal of the card to add (see Card.ordinal()).
+     */
+    public void addOrdinal(int ordinal) {
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        cards[size++] = (byte) ordinal;
+        int value = Card.valueOf(ordinal);
+        if (value == Card.MAX_VALUE) {
+            hasAce = true;
+            hardTotal += 1;
+        } else {
+            hardTotal += value;
+        }
+        pair = size == 2 && Card.valueOf(cards[0]) == value;
+    }
+
+    /**
+     * Gets the ordinal of a card in the hand.
+     * @param index The position of the card in the hand.
+     * @return The ordinal of the card.
+     */
+    public int getOrdinal(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return cards[index];
     }
 
     /**
      * Clears all cards from the hand.
      */
     public void clear() {
-        cards.clear();
+        size = 0;
+        hardTotal = 0;
+        hasAce = false;
+        pair = false;
     }
 
     /**
@@ -34,20 +81,31 @@ public class Hand {
      * @return The total value of the hand.
      */
     public int getValue() {
-        int value = 0;
-        int aceCount = 0;
-        for (Card card : cards) {
-            if (card.getRank() == Card.Rank.ACE) {
-                aceCount++;
-            }
-            value += card.getValue();
-        }
-        // Adjust for Aces
-        while (value > 21 && aceCount > 0) {
-            value -= 10;
-            aceCount--;
-        }
-        return value;
+        return isSoft() ? hardTotal + SOFT_ACE_BONUS : hardTotal;
+    }
+
+    /**
+     * Gets the value of the hand with every Ace counted as 1.
+     * @return The hard total of the hand.
+     */
+    public int getHardTotal() {
+        return hardTotal;
+    }
+
+    /**
+     * Checks if the hand is soft (an Ace can count as 11 without busting).
+     * @return true if the hand is soft, false otherwise.
+     */
+    public boolean isSoft() {
+        return hasAce && hardTotal + SOFT_ACE_BONUS <= BLACKJACK_VALUE;
+    }
+
+    /**
+     * Checks if the hand is a pair (two cards of the same value).
+     * @return true if the hand is a pair, false otherwise.
+     */
+    public boolean isPair() {
+        return pair;
     }
 
     /**
@@ -55,7 +113,7 @@ public class Hand {
      * @return true if the hand is a blackjack, false otherwise.
      */
     public boolean isBlackjack() {
-        return cards.size() == 2 && getValue() == 21;
+        return size == 2 && getValue() == BLACKJACK_VALUE;
     }
 
     /**
@@ -63,15 +121,16 @@ public class Hand {
      * @return true if the hand is busted, false otherwise.
      */
     public boolean isBusted() {
-        return getValue() > 21;
+        return hardTotal > BLACKJACK_VALUE;
     }
 
     /**
-     * Gets the list of cards in the hand.
+     * Gets a read-only view of the cards in the hand. The view is not a copy and
+     * reflects later changes to the hand.
      * @return The list of cards.
      */
     public List<Card> getCards() {
-        return new ArrayList<>(cards);
+        return cardsView;
     }
 
     /**
@@ -79,18 +138,33 @@ public class Hand {
      * @return The number of cards in the hand.
      */
     public int size() {
-        return cards.size();
+        return size;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Card card : cards) {
-            sb.append(card).append(", ");
+        for (int i = 0; i < size; i++) {
+            sb.append(Card.fromOrdinal(cards[i])).append(", ");
         }
         if (sb.length() > 2) {
             sb.setLength(sb.length() - 2);
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only list of the hand's cards, looked up from their ordinals on access.
+     */
+    private class CardsView extends AbstractList<Card> {
+        @Override
+        public Card get(int index) {
+            return Card.fromOrdinal(getOrdinal(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
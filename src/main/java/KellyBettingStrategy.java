@@ -0,0 +1,39 @@
+/**
+ * A betting strategy that bets a fraction of the Kelly bet: the edge divided by the variance of a
+ * round, times the available money. Full Kelly maximises the long-run growth of the bankroll;
+ * fractions below one trade some of that growth for a much lower risk of ruin. Without an edge
+ * Kelly bets nothing, so the strategy falls back to the table minimum.
+ */
+public class KellyBettingStrategy implements BettingStrategy {
+    private final double betFraction; // Of the available money
+
+    /**
+     * Constructor for KellyBettingStrategy.
+     * @param kellyFraction The fraction of the Kelly bet to bet (e.g. 0.5 for half Kelly).
+     * @param edge The expected net result of a round per unit bet.
+     * @param variance The variance of the net result of a round per unit bet.
+     */
+    public KellyBettingStrategy(double kellyFraction, double edge, double variance) {
+        if (kellyFraction <= 0) {
+            throw new IllegalArgumentException("Kelly fraction must be positive, got " + kellyFraction);
+        }
+        if (variance <= 0) {
+            throw new IllegalArgumentException("Variance must be positive, got " + variance);
+        }
+        this.betFraction = Math.max(kellyFraction * edge / variance, 0);
+    }
+
+    @Override
+    public int determineBet(int availableMoney, int minBet, int maxBet) {
+        int bet = (int) (availableMoney * betFraction);
+        return Math.max(minBet, Math.min(bet, maxBet));
+    }
+
+    /**
+     * Gets the fraction of the available money this strategy bets, before the table limits.
+     * @return The bet fraction.
+     */
+    public double getBetFraction() {
+        return betFraction;
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A leaderboard of entrants' scores that any number of threads update and query without locks.
+ * Each entrant's score is an element of an atomic array, and a Fenwick tree of atomic counters
+ * over the possible scores counts how many entrants hold each; moving an entrant is a swap of its
+ * score and two O(log n) walks of atomic adds, and an entrant's rank is one O(log n) prefix sum.
+ * Entrants with equal scores share a rank. Scores above the maximum count as the maximum.
+ * While updates are in flight a rank can be off by the entrants moving at that moment; once the
+ * writers are done, every query is exact.
+ */
+public class Leaderboard {
+    private static final int NOT_LISTED = -1;
+
+    private final AtomicIntegerArray scores; // Per entrant, NOT_LISTED if not on the board
+    private final AtomicLongArray tree;     // Fenwick tree of entrants per score, 1-based
+    private final int maxScore;
+
+    /**
+     * Constructor for Leaderboard. Nobody is listed until their first update.
+     * @param entrants The number of entrants, numbered from 0.
+     * @param maxScore The highest score told apart from the others.
+     */
+    public Leaderboard(int entrants, int maxScore) {
+        if (entrants < 1 || maxScore < 1) {
+            throw new IllegalArgumentException("Need at least one entrant and a positive maximum score, got "
+                    + entrants + " and " + maxScore);
+        }
+        this.scores = new AtomicIntegerArray(entrants);
+        for (int i = 0; i < entrants; i++) {
+            scores.set(i, NOT_LISTED);
+        }
+        this.tree = new AtomicLongArray(maxScore + 2);
+        this.maxScore = maxScore;
+    }
+
+    /**
+     * Lists an entrant with a score, or moves them to it.
+     * @param entrant The entrant.
+     * @param score The score (negative scores count as 0).
+     */
+    public void update(int entrant, int score) {
+        int clamped = Math.max(0, Math.min(score, maxScore));
+        int old = scores.getAndSet(entrant, clamped);
+        if (old != clamped) {
+            if (old != NOT_LISTED) {
+                add(old, -1);
+            }
+            add(clamped, 1);
+        }
+    }
+
+    /**
+     * Takes an entrant off the board, e.g. when they are eliminated.
+     * @param entrant The entrant.
+     */
+    public void remove(int entrant) {
+        int old = scores.getAndSet(entrant, NOT_LISTED);
+        if (old != NOT_LISTED) {
+            add(old, -1);
+        }
+    }
+
+    private void add(int score, long delta) {
+        for (int i = score + 1; i < tree.length(); i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // The number of listed entrants scoring at most the given score
+    private long countUpTo(int score) {
+        long count = 0;
+        for (int i = Math.min(score, maxScore) + 1; i > 0; i -= i & -i) {
+            count += tree.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of entrants on the board.
+     * @return The number listed.
+     */
+    public int size() {
+        return (int) countUpTo(maxScore);
+    }
+
+    /**
+     * Gets the number of listed entrants scoring more than the given score.
+     * @param score The score.
+     * @return The number of entrants ahead of it.
+     */
+    public int countAbove(int score) {
+        return score < 0 ? size() : (int) (countUpTo(maxScore) - countUpTo(score));
+    }
+
+    /**
+     * Gets an entrant's rank: one more than the number of entrants with a higher score.
+     * @param entrant The entrant.
+     * @return The rank, from 1.
+     * @throws IllegalArgumentException if the entrant is not on the board.
+     */
+    public int getRank(int entrant) {
+        int score = scores.get(entrant);
+        if (score == NOT_LISTED) {
+            throw new IllegalArgumentException("Entrant " + entrant + " is not on the leaderboard");
+        }
+        return countAbove(score) + 1;
+    }
+
+    /**
+     * Gets an entrant's score.
+     * @param entrant The entrant.
+     * @return The score, or -1 if the entrant is not on the board.
+     */
+    public int getScore(int entrant) {
+        return scores.get(entrant);
+    }
+
+    /**
+     * Gets the leading entrants, best first; equal scores are in entrant order. This scans every
+     * entrant, so it is meant for displaying the top of the board, not for hot loops.
+     * @param count The most entrants to return.
+     * @return The entrants.
+     */
+    public int[] getTop(int count) {
+        int entrants = scores.length();
+        long[] keys = new long[entrants];
+        int listed = 0;
+        for (int i = 0; i < entrants; i++) {
+            int score = scores.get(i);
+            if (score != NOT_LISTED) {
+                keys[listed++] = (long) (maxScore - score) << 32 | i; // Sorts by score descending, then entrant
+            }
+        }
+        Arrays.sort(keys, 0, listed);
+        int[] top = new int[Math.min(count, listed)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = (int) keys[i];
+        }
+        return top;
+    }
+}
@@ -0,0 +1,387 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free bankroll ledger. Balances are held as long minor units (MINOR_UNITS per whole
+ * unit), so 3:2 payouts on odd bets are exact, and one account can back players at several
+ * tables at once without lost updates.
+ * <p>
+ * Each account is split into one or more stripes. A stripe's state (balance, amount in play,
+ * net deposits and net winnings) is an immutable object replaced by compare-and-set, so every
+ * operation is a single atomic update of one stripe and keeps that stripe's books balanced:
+ * balance + in play == deposited + net. Hot accounts shared by many tables use several stripes to
+ * spread the contention; a wager is taken from the caller's stripe first and from the others if
+ * that stripe cannot cover it. When competing takes leave every one of them short, the balances
+ * are gathered into the first stripe and the take is retried there, so a take only fails when the
+ * account as a whole cannot cover it. A stripe's amount in play or deposits may go negative when
+ * money taken from one stripe is settled on another; only the account's total is meaningful.
+ * <p>
+ * snapshot() returns a consistent view of every account for reconciliation. Because every update
+ * installs a new state object, two identical collects of all the stripe states prove that nothing
+ * changed in between.
+ */
+public class Ledger {
+    public static final long MINOR_UNITS = 100;
+
+    private final List<Account> accounts = new CopyOnWriteArrayList<>();
+
+    /**
+     * Opens an account with a single stripe.
+     * @param initialBalance The opening balance in minor units, recorded as a deposit.
+     * @return The new account.
+     */
+    public Account openAccount(long initialBalance) {
+        return openAccount(initialBalance, 1);
+    }
+
+    /**
+     * Opens an account.
+     * @param initialBalance The opening balance in minor units, recorded as a deposit.
+     * @param stripes The number of stripes; use more than one for accounts many threads update.
+     * @return The new account.
+     */
+    public synchronized Account openAccount(long initialBalance, int stripes) { // Rare; keeps ids in list order
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("The opening balance cannot be negative: " + initialBalance);
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("An account needs at least one stripe: " + stripes);
+        }
+        Account account = new Account(accounts.size(), initialBalance, stripes);
+        accounts.add(account);
+        return account;
+    }
+
+    /**
+     * Takes a consistent snapshot of every account. Retries while accounts are being updated, so
+     * it always completes as long as the updates themselves do.
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        Account[] open = accounts.toArray(new Account[0]);
+        State[] previous = collect(open);
+        while (true) {
+            State[] current = collect(open);
+            if (sameStates(previous, current)) {
+                return new Snapshot(open, current);
+            }
+            previous = current;
+        }
+    }
+
+    private static State[] collect(Account[] open) {
+        int total = 0;
+        for (Account account : open) {
+            total += account.stripes.length();
+        }
+        State[] states = new State[total];
+        int i = 0;
+        for (Account account : open) {
+            for (int s = 0; s < account.stripes.length(); s++) {
+                states[i++] = account.stripes.get(s);
+            }
+        }
+        return states;
+    }
+
+    private static boolean sameStates(State[] a, State[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The state of one stripe of an account. Never modified; every update replaces it.
+     */
+    private static final class State {
+        final long balance;
+        final long inPlay;
+        final long deposited;
+        final long net;
+
+        State(long balance, long inPlay, long deposited, long net) {
+            this.balance = balance;
+            this.inPlay = inPlay;
+            this.deposited = deposited;
+            this.net = net;
+        }
+    }
+
+    /**
+     * A bankroll in the ledger. All amounts are in minor units and all operations are lock-free.
+     */
+    public static final class Account {
+        private final int id;
+        private final AtomicReferenceArray<State> stripes;
+
+        private Account(int id, long initialBalance, int stripeCount) {
+            this.id = id;
+            this.stripes = new AtomicReferenceArray<>(stripeCount);
+            stripes.set(0, new State(initialBalance, 0, initialBalance, 0));
+            for (int s = 1; s < stripeCount; s++) {
+                stripes.set(s, new State(0, 0, 0, 0));
+            }
+        }
+
+        /**
+         * Moves a stake from the balance into play.
+         * @param amount The stake.
+         * @return true if the balance covered the stake, false if it was left as it was.
+         */
+        public boolean placeWager(long amount) {
+            return take(amount, true);
+        }
+
+        /**
+         * Settles a stake that was in play, crediting whatever it pays back.
+         * @param stake The stake being settled.
+         * @param payout The amount returned, including the stake (0 for a loss, the stake for a push).
+         */
+        public void settleWager(long stake, long payout) {
+            if (stake < 0 || payout < 0) {
+                throw new IllegalArgumentException("Stake and payout cannot be negative: " + stake + ", " + payout);
+            }
+            int s = localStripe();
+            State state;
+            do {
+                state = stripes.get(s);
+            } while (!stripes.compareAndSet(s, state, new State(state.balance + payout, state.inPlay - stake,
+                    state.deposited, state.net + payout - stake)));
+        }
+
+        /**
+         * Adds money to the account.
+         * @param amount The amount.
+         */
+        public void deposit(long amount) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Cannot deposit a negative amount: " + amount);
+            }
+            int s = localStripe();
+            State state;
+            do {
+                state = stripes.get(s);
+            } while (!stripes.compareAndSet(s, state, new State(state.balance + amount, state.inPlay,
+                    state.deposited + amount, state.net)));
+        }
+
+        /**
+         * Takes money out of the account.
+         * @param amount The amount.
+         * @return true if the balance covered the amount, false if it was left as it was.
+         */
+        public boolean withdraw(long amount) {
+            return take(amount, false);
+        }
+
+        /**
+         * Takes an amount from the stripes' balances, starting with the caller's stripe, either
+         * into play or out of the account. Each partial take is its own atomic update, so the
+         * books stay balanced throughout. If the stripes cannot cover the amount, the partial
+         * takes are given back and the slow path decides: other tables may have been holding
+         * partial takes of their own at the same time.
+         */
+        private boolean take(long amount, boolean wager) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Cannot take a negative amount: " + amount);
+            }
+            int count = stripes.length();
+            int first = localStripe();
+            long remaining = amount;
+            for (int i = 0; i < count && remaining > 0; i++) {
+                remaining -= takeFromStripe((first + i) % count, remaining, wager);
+            }
+            if (remaining > 0) {
+                // Not enough money in this pass: hand back what was taken
+                long taken = amount - remaining;
+                State state;
+                do {
+                    state = stripes.get(first);
+                } while (!stripes.compareAndSet(first, state, moved(state, -taken, wager)));
+                return takeGathered(amount, wager);
+            }
+            return true;
+        }
+
+        /**
+         * Gathers the balances of every stripe into the first and takes the amount from it in a
+         * single update. Every competing take gathers into the same stripe, so the money is
+         * pooled rather than split between them. Only fails once a consistent read of every
+         * stripe shows the account's balance is below the amount.
+         */
+        private boolean takeGathered(long amount, boolean wager) {
+            int count = stripes.length();
+            while (true) {
+                for (int s = 1; s < count; s++) {
+                    long part = takeFromStripe(s, Long.MAX_VALUE, false);
+                    if (part > 0) {
+                        // Moved as a withdrawal and a deposit, so each stripe stays balanced
+                        State state;
+                        do {
+                            state = stripes.get(0);
+                        } while (!stripes.compareAndSet(0, state, moved(state, -part, false)));
+                    }
+                }
+                State state = stripes.get(0);
+                if (state.balance >= amount) {
+                    if (stripes.compareAndSet(0, state, moved(state, amount, wager))) {
+                        return true;
+                    }
+                    continue;
+                }
+                State[] before = new State[count];
+                long balance = 0;
+                for (int s = 0; s < count; s++) {
+                    before[s] = stripes.get(s);
+                    balance += before[s].balance;
+                }
+                boolean consistent = true;
+                for (int s = 0; s < count && consistent; s++) {
+                    consistent = stripes.get(s) == before[s];
+                }
+                if (consistent && balance < amount) {
+                    return false;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        private long takeFromStripe(int s, long wanted, boolean wager) {
+            State state;
+            long part;
+            do {
+                state = stripes.get(s);
+                part = Math.min(state.balance, wanted);
+                if (part == 0) {
+                    return 0;
+                }
+            } while (!stripes.compareAndSet(s, state, moved(state, part, wager)));
+            return part;
+        }
+
+        private static State moved(State state, long amount, boolean wager) {
+            return wager
+                    ? new State(state.balance - amount, state.inPlay + amount, state.deposited, state.net)
+                    : new State(state.balance - amount, state.inPlay, state.deposited - amount, state.net);
+        }
+
+        private int localStripe() {
+            int count = stripes.length();
+            if (count == 1) {
+                return 0;
+            }
+            long mixed = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+            return Math.floorMod((int) (mixed >>> 32), count);
+        }
+
+        // Getters
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Gets the balance available to bet. Not atomic across stripes; use Ledger.snapshot() to
+         * reconcile.
+         * @return The balance in minor units.
+         */
+        public long getBalance() {
+            long balance = 0;
+            for (int s = 0; s < stripes.length(); s++) {
+                balance += stripes.get(s).balance;
+            }
+            return balance;
+        }
+
+        /**
+         * Gets the total of the stakes currently in play.
+         * @return The amount in play in minor units.
+         */
+        public long getInPlay() {
+            long inPlay = 0;
+            for (int s = 0; s < stripes.length(); s++) {
+                inPlay += stripes.get(s).inPlay;
+            }
+            return inPlay;
+        }
+    }
+
+    /**
+     * A consistent view of every account in the ledger, in minor units.
+     */
+    public static final class Snapshot {
+        private final long[] balance;
+        private final long[] inPlay;
+        private final long[] deposited;
+        private final long[] net;
+
+        private Snapshot(Account[] accounts, State[] states) {
+            int n = accounts.length;
+            balance = new long[n];
+            inPlay = new long[n];
+            deposited = new long[n];
+            net = new long[n];
+            int i = 0;
+            for (int a = 0; a < n; a++) {
+                for (int s = 0; s < accounts[a].stripes.length(); s++, i++) {
+                    balance[a] += states[i].balance;
+                    inPlay[a] += states[i].inPlay;
+                    deposited[a] += states[i].deposited;
+                    net[a] += states[i].net;
+                }
+            }
+        }
+
+        /**
+         * Checks that every account's balance and stakes in play add up to its deposits plus its
+         * net winnings, and that no balance is negative.
+         * @return true if the books balance.
+         */
+        public boolean isBalanced() {
+            for (int a = 0; a < balance.length; a++) {
+                if (balance[a] < 0 || balance[a] + inPlay[a] != deposited[a] + net[a]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the house's net result against every account, the negative of their net winnings.
+         * @return The house net in minor units.
+         */
+        public long getHouseNet() {
+            long total = 0;
+            for (long n : net) {
+                total -= n;
+            }
+            return total;
+        }
+
+        // Getters
+
+        public int getAccountCount() {
+            return balance.length;
+        }
+
+        public long getBalance(int account) {
+            return balance[account];
+        }
+
+        public long getInPlay(int account) {
+            return inPlay[account];
+        }
+
+        public long getDeposited(int account) {
+            return deposited[account];
+        }
+
+        public long getNet(int account) {
+            return net[account];
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Runs a Monte Carlo simulation across a fork/join pool. The rounds are cut into fixed-size
+ * batches, and each batch plays on its own table seeded from a SplittableRandom stream that is
+ * split along the batch ranges. Because neither the batches nor the splits depend on which
+ * thread runs them, the same seed gives identical totals for any number of threads.
+ */
+public class ParallelSimulationRunner {
+    private static final long DEFAULT_ROUNDS_PER_BATCH = 50_000;
+    private static final int BATCHES_PER_WAVE = 16;
+
+    private final Function<SplittableRandom, SimulationEngine> tableFactory;
+    private final long seed;
+    private final long roundsPerBatch;
+
+    /**
+     * Constructor for ParallelSimulationRunner.
+     * @param tableFactory Builds a fresh table whose shoe shuffles with the given random stream.
+     *                     Strategies shared between the tables it builds must be thread-safe.
+     * @param seed The seed for the whole run.
+     */
+    public ParallelSimulationRunner(Function<SplittableRandom, SimulationEngine> tableFactory, long seed) {
+        this(tableFactory, seed, DEFAULT_ROUNDS_PER_BATCH);
+    }
+
+    /**
+     * Constructor for ParallelSimulationRunner.
+     * @param tableFactory Builds a fresh table whose shoe shuffles with the given random stream.
+     *                     Strategies shared between the tables it builds must be thread-safe.
+     * @param seed The seed for the whole run.
+     * @param roundsPerBatch The number of rounds each batch plays on one table.
+     */
+    public ParallelSimulationRunner(Function<SplittableRandom, SimulationEngine> tableFactory, long seed,
+                                    long roundsPerBatch) {
+        if (roundsPerBatch < 1) {
+            throw new IllegalArgumentException("Rounds per batch must be positive, got " + roundsPerBatch);
+        }
+        this.tableFactory = tableFactory;
+        this.seed = seed;
+        this.roundsPerBatch = roundsPerBatch;
+    }
+
+    /**
+     * Plays the given number of rounds on the common fork/join pool.
+     * @param rounds The number of rounds to play.
+     * @return The merged result of every batch.
+     */
+    public SimulationResult run(long rounds) {
+        return run(rounds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays the given number of rounds on the given pool.
+     * @param rounds The number of rounds to play.
+     * @param pool The pool to run the batches on.
+     * @return The merged result of every batch.
+     */
+    public SimulationResult run(long rounds, ForkJoinPool pool) {
+        return run(rounds, pool, null);
+    }
+
+    /**
+     * Plays the given number of rounds on the given pool, recording every finished batch in a
+     * checkpoint. If the checkpoint holds batches from an interrupted run with the same seed and
+     * length, they are not played again, and the result is identical to an uninterrupted run.
+     * @param rounds The number of rounds to play.
+     * @param pool The pool to run the batches on.
+     * @param checkpoint The checkpoint to resume from and record into, or null for none.
+     * @return The merged result of every batch.
+     */
+    public SimulationResult run(long rounds, ForkJoinPool pool, SimulationCheckpoint checkpoint) {
+        if (checkpoint != null) {
+            checkpoint.bind(seed, roundsPerBatch, rounds, 0);
+        }
+        long batches = (rounds + roundsPerBatch - 1) / roundsPerBatch;
+        return pool.invoke(new BatchTask(0, 0, batches, rounds, new SplittableRandom(seed), checkpoint));
+    }
+
+    /**
+     * Plays until the standard error of the expected value per unit wagered falls to the target,
+     * on the common fork/join pool.
+     * @param targetStandardError The standard error to stop at.
+     * @param maxRounds The most rounds to play.
+     * @return The merged result of every batch played.
+     */
+    public SimulationResult runUntil(double targetStandardError, long maxRounds) {
+        return runUntil(targetStandardError, maxRounds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays until the standard error of the expected value per unit wagered falls to the target.
+     * Batches are played in waves of a fixed size, each wave seeded from the next split of the
+     * run's random stream, and the standard error is checked between waves; the waves do not
+     * depend on the pool, so the same seed stops at the same round for any number of threads.
+     * @param targetStandardError The standard error to stop at.
+     * @param maxRounds The most rounds to play.
+     * @param pool The pool to run the batches on.
+     * @return The merged result of every batch played.
+     */
+    public SimulationResult runUntil(double targetStandardError, long maxRounds, ForkJoinPool pool) {
+        return runUntil(targetStandardError, maxRounds, pool, null);
+    }
+
+    /**
+     * Plays until the standard error of the expected value per unit wagered falls to the target,
+     * recording every finished batch in a checkpoint. If the checkpoint holds batches from an
+     * interrupted run with the same seed, target and round limit, they are not played again, and
+     * the run stops at the same wave with a result identical to an uninterrupted run.
+     * @param targetStandardError The standard error to stop at.
+     * @param maxRounds The most rounds to play.
+     * @param pool The pool to run the batches on.
+     * @param checkpoint The checkpoint to resume from and record into, or null for none.
+     * @return The merged result of every batch played.
+     */
+    public SimulationResult runUntil(double targetStandardError, long maxRounds, ForkJoinPool pool,
+                                     SimulationCheckpoint checkpoint) {
+        if (targetStandardError <= 0) {
+            throw new IllegalArgumentException("Target standard error must be positive, got " + targetStandardError);
+        }
+        if (checkpoint != null) {
+            checkpoint.bind(seed, roundsPerBatch, maxRounds, targetStandardError);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        SimulationResult result = new SimulationResult();
+        long played = 0;
+        for (long wave = 0; played < maxRounds; wave++) {
+            long rounds = Math.min(roundsPerBatch * BATCHES_PER_WAVE, maxRounds - played);
+            long batches = (rounds + roundsPerBatch - 1) / roundsPerBatch;
+            result.merge(pool.invoke(new BatchTask(wave * BATCHES_PER_WAVE, 0, batches, rounds, random.split(),
+                    checkpoint)));
+            played += rounds;
+            if (result.getStatistics().getStandardError() <= targetStandardError) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays the batches in [from, to), splitting the range and the random stream in half
+     * until a single batch is left. Batches are numbered from firstBatch in the checkpoint.
+     */
+    private class BatchTask extends RecursiveTask<SimulationResult> {
+        private final long firstBatch;
+        private final long from;
+        private final long to;
+        private final long totalRounds;
+        private final SplittableRandom random;
+        private final SimulationCheckpoint checkpoint;
+
+        BatchTask(long firstBatch, long from, long to, long totalRounds, SplittableRandom random,
+                  SimulationCheckpoint checkpoint) {
+            this.firstBatch = firstBatch;
+            this.from = from;
+            this.to = to;
+            this.totalRounds = totalRounds;
+            this.random = random;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from == 1) {
+                SimulationResult result = checkpoint == null ? null : checkpoint.completed(firstBatch + from);
+                if (result == null) {
+                    long rounds = Math.min(roundsPerBatch, totalRounds - from * roundsPerBatch);
+                    result = tableFactory.apply(random).run(rounds);
+                    if (checkpoint != null) {
+                        checkpoint.record(firstBatch + from, result);
+                    }
+                }
+                return result;
+            }
+            long mid = (from + to) >>> 1;
+            BatchTask right = new BatchTask(firstBatch, mid, to, totalRounds, random.split(), checkpoint);
+            BatchTask left = new BatchTask(firstBatch, from, mid, totalRounds, random, checkpoint);
+            right.fork();
+            SimulationResult result = left.compute();
+            return result.merge(right.join());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        // With shuffle producers, tables take pre-shuffled shoes and results are no longer reproducible
+        int producers = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        // Rerunning with the same checkpoint file resumes an interrupted run (exactly, without producers)
+        SimulationCheckpoint checkpoint = args.length > 5 ? new SimulationCheckpoint(Paths.get(args[5])) : null;
+
+        PlayStrategy playStrategy = new BasicStrategy();
+        ShoePipeline pipeline = producers > 0
+                ? new ShoePipeline(Shoe.DEFAULT_DECKS, threads * 4, producers, new SplittableRandom(seed))
+                : null;
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(random -> new SimulationEngine(seats,
+                pipeline != null ? new PipelinedShoe(pipeline, Shoe.DEFAULT_PENETRATION, random)
+                        : new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random),
+                playStrategy, (availableMoney, minBet, maxBet) -> minBet), seed);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        SimulationResult result = runner.run(rounds, pool, checkpoint);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        if (checkpoint != null) {
+            checkpoint.close();
+            System.out.printf("Resumed %d batches from the checkpoint%n", checkpoint.getResumedBatches());
+        }
+
+        System.out.println(result);
+        System.out.println(result.getStatistics());
+        System.out.printf("%d threads: %.0f rounds/sec%n", threads, result.getRounds() / seconds);
+        if (pipeline != null) {
+            pipeline.close();
+            System.out.printf("%d producers, %d takes waited for a shuffle%n", producers, pipeline.getStarvedTakes());
+        }
+    }
+}
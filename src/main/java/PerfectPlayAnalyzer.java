@@ -0,0 +1,312 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the exact expected value of each play of a hand (stand, hit, double, split and
+ * surrender) against a dealer up card, from the exact composition of the cards the player has not
+ * seen. Hitting is played out recursively, choosing the better of hitting and standing after every
+ * card, and the best value of each hand state is memoized per composition in bounded LRU caches,
+ * one per up card, keyed by the packed composition; each cached entry holds every hand state.
+ * The dealer's outcomes come from a DealerProbabilityCalculator, conditioned on the dealer not
+ * having blackjack, since the dealer checks before anyone plays.
+ *
+ * Two usual approximations are made: the player's cards are drawn from the unseen cards without
+ * conditioning on the hole card not completing a blackjack, and a split is valued as twice one hand
+ * played from the same composition, without resplitting.
+ * Instances are not thread-safe; use one analyzer per thread.
+ */
+public class PerfectPlayAnalyzer {
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+
+    private static final int BLACKJACK_VALUE = 21;
+    private static final int SOFT_BONUS = 10; // An ace counted as 11 instead of 1
+    private static final int STATES = (BLACKJACK_VALUE + 1) * 2; // Hard total 0-21, soft or not
+    private static final double SURRENDER_VALUE = -0.5;
+
+    private final RuleSet rules;
+    private final DealerProbabilityCalculator dealer;
+    private final BoundedCache[] caches = new BoundedCache[Card.VALUE_COUNT];
+    private final int[] counts = new int[Card.VALUE_COUNT];
+    private int remaining;
+    private int dealerUpValue;
+
+    /**
+     * Constructor for PerfectPlayAnalyzer with the default cache size.
+     * @param rules The house rules (dealer H17/S17 and double after split are used).
+     */
+    public PerfectPlayAnalyzer(RuleSet rules) {
+        this(rules, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor for PerfectPlayAnalyzer.
+     * @param rules The house rules (dealer H17/S17 and double after split are used).
+     * @param cacheSize The maximum number of compositions remembered per dealer up card, both for
+     *                  the player's hands and the dealer's outcomes.
+     */
+    public PerfectPlayAnalyzer(RuleSet rules, int cacheSize) {
+        this.rules = rules;
+        this.dealer = new DealerProbabilityCalculator(cacheSize, rules.dealerHitsSoft17());
+        for (int i = 0; i < caches.length; i++) {
+            caches[i] = new BoundedCache(cacheSize);
+        }
+    }
+
+    /**
+     * Computes the expected value of every play allowed for a hand.
+     * @param hand The player's hand.
+     * @param dealerUpValue The value of the dealer's up card (2-11).
+     * @param unseenByValue The number of cards the player has not seen per value, index 0 for 2s
+     *                      through 9 for Aces: the cards left in the shoe plus the dealer's hole card.
+     * @param canDouble Whether the hand may be doubled.
+     * @param canSplit Whether the hand may be split.
+     * @param canSurrender Whether the hand may be surrendered.
+     * @return The expected values, per unit of the hand's bet.
+     */
+    public Evaluation evaluate(Hand hand, int dealerUpValue, int[] unseenByValue, boolean canDouble,
+                               boolean canSplit, boolean canSurrender) {
+        if (hand.size() == 0 || hand.isBusted()) {
+            throw new IllegalArgumentException("Cannot evaluate the hand " + hand);
+        }
+        remaining = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = unseenByValue[i];
+            remaining += counts[i];
+        }
+        this.dealerUpValue = dealerUpValue;
+        int hard = hand.getHardTotal();
+        boolean soft = hand.isSoft();
+        return new Evaluation(
+                stand(hard, soft),
+                hit(hard, soft),
+                canDouble ? doubleDown(hard, soft) : Double.NaN,
+                canSplit && hand.isPair() ? split(Card.valueOf(hand.getOrdinal(0))) : Double.NaN,
+                canSurrender ? SURRENDER_VALUE : Double.NaN);
+    }
+
+    private static int total(int hard, boolean soft) {
+        return soft ? hard + SOFT_BONUS : hard;
+    }
+
+    // Whether a hand with this hard total counts an ace as 11 after drawing a card
+    private static boolean softAfter(int hard, boolean soft, boolean drewAce) {
+        return (soft || drewAce) && hard + SOFT_BONUS <= BLACKJACK_VALUE;
+    }
+
+    private double stand(int hard, boolean soft) {
+        int total = total(hard, soft);
+        if (total > BLACKJACK_VALUE) {
+            return -1;
+        }
+        DealerProbabilityCalculator.Distribution outcome = dealer.compute(dealerUpValue, counts);
+        double noBlackjack = 1 - outcome.getBlackjack();
+        if (noBlackjack == 0) {
+            return 0; // Cannot happen: the dealer has already checked for blackjack
+        }
+        double value = outcome.getBust();
+        for (int dealerTotal = Dealer.getStandValue(); dealerTotal <= BLACKJACK_VALUE; dealerTotal++) {
+            if (dealerTotal < total) {
+                value += outcome.getFinalTotal(dealerTotal);
+            } else if (dealerTotal > total) {
+                value -= outcome.getFinalTotal(dealerTotal);
+            }
+        }
+        return value / noBlackjack;
+    }
+
+    private double hit(int hard, boolean soft) {
+        double value = 0;
+        int total = remaining;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            int cardValue = i + Card.MIN_VALUE;
+            boolean ace = cardValue == Card.MAX_VALUE;
+            int newHard = hard + (ace ? 1 : cardValue);
+            counts[i]--;
+            remaining--;
+            value += count * best(newHard, softAfter(newHard, soft, ace));
+            counts[i]++;
+            remaining++;
+        }
+        return value / total;
+    }
+
+    /**
+     * Gets the value of a hand that may still hit or stand, memoized per composition.
+     */
+    private double best(int hard, boolean soft) {
+        if (hard > BLACKJACK_VALUE) {
+            return -1;
+        }
+        if (total(hard, soft) == BLACKJACK_VALUE) {
+            return stand(hard, soft);
+        }
+        BoundedCache cache = caches[dealerUpValue - Card.MIN_VALUE];
+        long key = DealerProbabilityCalculator.packComposition(counts);
+        double[] values = cache.get(key);
+        if (values == null) {
+            values = new double[STATES];
+            Arrays.fill(values, Double.NaN);
+            cache.put(key, values);
+        }
+        int state = hard * 2 + (soft ? 1 : 0);
+        double value = values[state];
+        if (Double.isNaN(value)) {
+            value = Math.max(stand(hard, soft), hit(hard, soft));
+            values[state] = value; // The entry may have been evicted meanwhile; then this is dropped
+        }
+        return value;
+    }
+
+    private double doubleDown(int hard, boolean soft) {
+        double value = 0;
+        int total = remaining;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            int cardValue = i + Card.MIN_VALUE;
+            boolean ace = cardValue == Card.MAX_VALUE;
+            int newHard = hard + (ace ? 1 : cardValue);
+            counts[i]--;
+            remaining--;
+            value += count * stand(newHard, softAfter(newHard, soft, ace));
+            counts[i]++;
+            remaining++;
+        }
+        return 2 * value / total;
+    }
+
+    private double split(int pairValue) {
+        boolean aces = pairValue == Card.MAX_VALUE;
+        int startHard = aces ? 1 : pairValue;
+        double value = 0;
+        int total = remaining;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            int cardValue = i + Card.MIN_VALUE;
+            boolean ace = cardValue == Card.MAX_VALUE;
+            int hard = startHard + (ace ? 1 : cardValue);
+            boolean soft = softAfter(hard, aces, ace);
+            counts[i]--;
+            remaining--;
+            double hand;
+            if (aces) {
+                hand = stand(hard, soft); // Split aces get one card each
+            } else {
+                hand = best(hard, soft);
+                if (rules.isDoubleAfterSplit()) {
+                    hand = Math.max(hand, doubleDown(hard, soft));
+                }
+            }
+            value += count * hand;
+            counts[i]++;
+            remaining++;
+        }
+        return 2 * value / total;
+    }
+
+    /**
+     * Gets the number of compositions currently cached for an up card.
+     * @param dealerUpValue The value of the dealer's up card (2-11).
+     * @return The number of cached compositions.
+     */
+    public int cachedCompositions(int dealerUpValue) {
+        return caches[dealerUpValue - Card.MIN_VALUE].size();
+    }
+
+    /**
+     * The expected value of each play of a hand, per unit of its bet. Plays that were not allowed
+     * are NaN.
+     */
+    public static class Evaluation {
+        private final double stand;
+        private final double hit;
+        private final double doubleDown;
+        private final double split;
+        private final double surrender;
+
+        Evaluation(double stand, double hit, double doubleDown, double split, double surrender) {
+            this.stand = stand;
+            this.hit = hit;
+            this.doubleDown = doubleDown;
+            this.split = split;
+            this.surrender = surrender;
+        }
+
+        /**
+         * Gets the expected value of a play.
+         * @param action The play.
+         * @return The expected value, or NaN if the play was not allowed.
+         */
+        public double getValue(PlayStrategy.Action action) {
+            switch (action) {
+                case STAND:
+                    return stand;
+                case HIT:
+                    return hit;
+                case DOUBLE:
+                    return doubleDown;
+                case SPLIT:
+                    return split;
+                case SURRENDER:
+                    return surrender;
+                default:
+                    throw new IllegalArgumentException("Unknown action: " + action);
+            }
+        }
+
+        /**
+         * Gets the play with the highest expected value.
+         * @return The best play.
+         */
+        public PlayStrategy.Action getBestAction() {
+            PlayStrategy.Action best = PlayStrategy.Action.STAND;
+            for (PlayStrategy.Action action : PlayStrategy.Action.values()) {
+                if (getValue(action) > getValue(best)) { // NaN never compares greater
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Gets the expected value of the best play.
+         * @return The highest expected value.
+         */
+        public double getBestValue() {
+            return getValue(getBestAction());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stand: %.4f, Hit: %.4f, Double: %.4f, Split: %.4f, Surrender: %.4f -> %s",
+                    stand, hit, doubleDown, split, surrender, getBestAction());
+        }
+    }
+
+    /**
+     * LRU map that drops the least recently used composition once it is full.
+     */
+    private static class BoundedCache extends LinkedHashMap<Long, double[]> {
+        private final int maxSize;
+
+        BoundedCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.SplittableRandom;
+
+/**
+ * A shoe that takes its reshuffles ready-made from a ShoePipeline, so the table dealing from it
+ * only copies the new order instead of shuffling. The one exception is the rare mid-round
+ * reshuffle of the discards when the shoe runs out, which still happens in place.
+ */
+public class PipelinedShoe extends Shoe {
+    private final ShoePipeline pipeline;
+
+    /**
+     * Constructor for PipelinedShoe.
+     * @param pipeline The pipeline supplying shuffled shoes.
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param random The random number generator for the first shuffle and for discards.
+     */
+    public PipelinedShoe(ShoePipeline pipeline, double penetration, SplittableRandom random) {
+        super(pipeline.getNumDecks(), penetration, random);
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Replaces the shoe with the next one shuffled by the pipeline.
+     */
+    @Override
+    public void reset() {
+        byte[] shoe = pipeline.take();
+        loadOrder(shoe);
+        pipeline.recycle(shoe);
+    }
+}
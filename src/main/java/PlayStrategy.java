@@ -0,0 +1,49 @@
+/**
+ * Interface for play decisions (hit, stand, double down, split, surrender and insurance) in the
+ * Blackjack game.
+ * <p>
+ * A strategy may only double, split or surrender when the matching flag allows it. A table
+ * playing without a console throws IllegalStateException for any such action it does not allow,
+ * rather than playing a different action in its place.
+ */
+public interface PlayStrategy {
+    /**
+     * Decides the next action for a hand.
+     * @param hand The hand being played.
+     * @param dealerUpValue The value of the dealer's visible card (2-11, Ace counts as 11).
+     * @param canDouble Whether doubling down is allowed for this hand.
+     * @param canSplit Whether splitting is allowed for this hand.
+     * @return The action to take.
+     */
+    Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit);
+
+    /**
+     * Decides the next action for a hand at a table that may offer late surrender. Strategies
+     * that never surrender need not override this.
+     * @param hand The hand being played.
+     * @param dealerUpValue The value of the dealer's visible card (2-11, Ace counts as 11).
+     * @param canDouble Whether doubling down is allowed for this hand.
+     * @param canSplit Whether splitting is allowed for this hand.
+     * @param canSurrender Whether surrendering is allowed for this hand.
+     * @return The action to take.
+     */
+    default Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit, boolean canSurrender) {
+        return decide(hand, dealerUpValue, canDouble, canSplit);
+    }
+
+    /**
+     * Decides whether to take insurance against a dealer Ace.
+     * @param hand The player's first two cards.
+     * @return true to insure the hand. Never, by default.
+     */
+    default boolean takeInsurance(Hand hand) {
+        return false;
+    }
+
+    /**
+     * Enum representing the actions a player can take on a hand.
+     */
+    enum Action {
+        HIT, STAND, DOUBLE, SPLIT, SURRENDER
+    }
+}
@@ -1,11 +1,18 @@
+import java.util.Arrays;
+
 /**
- * Represents a player in the Blackjack game.
+ * Represents a player in the Blackjack game. The player's money is held in a Ledger account in
+ * minor units, which may be shared with players at other tables; bets are whole units.
+ * A player starts each round with one hand, which splitting can turn into several, each with its
+ * own bet. Methods without a hand index act on the first hand.
  */
 public class Player {
     private String name;
-    private int money;
-    private Hand hand;
-    private int currentBet;
+    private final Ledger.Account account;
+    private Hand[] hands;
+    private int[] bets;
+    private int handCount;
+    private long insuranceStake; // Minor units
     private BettingStrategy bettingStrategy;
 
     /**
@@ -15,10 +22,21 @@ public class Player {
      * @param bettingStrategy The betting strategy to use.
      */
     public Player(String name, int initialMoney, BettingStrategy bettingStrategy) {
+        this(name, new Ledger().openAccount(initialMoney * Ledger.MINOR_UNITS), bettingStrategy);
+    }
+
+    /**
+     * Constructor for a Player betting from a ledger account, possibly shared with other tables.
+     * @param name The name of the player.
+     * @param account The account holding the player's money.
+     * @param bettingStrategy The betting strategy to use.
+     */
+    public Player(String name, Ledger.Account account, BettingStrategy bettingStrategy) {
         this.name = name;
-        this.money = initialMoney;
-        this.hand = new Hand();
-        this.currentBet = 0;
+        this.account = account;
+        this.hands = new Hand[] {new Hand()};
+        this.bets = new int[1];
+        this.handCount = 1;
         this.bettingStrategy = bettingStrategy;
     }
 
@@ -29,29 +47,121 @@ public class Player {
      * @return true if the bet was successfully placed, false otherwise.
      */
     public boolean placeBet(int minBet, int maxBet) {
-        int betAmount = bettingStrategy.determineBet(money, minBet, maxBet);
-        if (betAmount <= 0 || betAmount > money) {
+        int betAmount = bettingStrategy.determineBet(getMoney(), minBet, maxBet);
+        if (betAmount <= 0 || !account.placeWager(betAmount * Ledger.MINOR_UNITS)) {
+            return false;
+        }
+        bets[0] = betAmount;
+        return true;
+    }
+
+    /**
+     * Doubles the current bet, taking the additional stake from the player's money.
+     * @return true if the bet was doubled, false if the player cannot cover it.
+     */
+    public boolean doubleDown() {
+        return doubleDown(0);
+    }
+
+    /**
+     * Doubles the bet on one hand, taking the additional stake from the player's money.
+     * @param index The hand.
+     * @return true if the bet was doubled, false if the player cannot cover it.
+     */
+    public boolean doubleDown(int index) {
+        if (bets[index] <= 0 || !account.placeWager(bets[index] * Ledger.MINOR_UNITS)) {
             return false;
         }
-        currentBet = betAmount;
-        money -= betAmount;
+        bets[index] *= 2;
         return true;
     }
 
+    /**
+     * Splits a pair into two hands, each holding one of the cards, and bets the same amount
+     * again on the new hand, which is added after the others.
+     * @param index The hand to split.
+     * @return true if the hand was split, false if it is not a pair or the player cannot cover the bet.
+     */
+    public boolean split(int index) {
+        Hand hand = hands[index];
+        if (hand.size() != 2 || !hand.isPair() || bets[index] <= 0
+                || !account.placeWager(bets[index] * Ledger.MINOR_UNITS)) {
+            return false;
+        }
+        if (handCount == hands.length) {
+            hands = Arrays.copyOf(hands, handCount + 1);
+            hands[handCount] = new Hand();
+            bets = Arrays.copyOf(bets, handCount + 1);
+        }
+        int first = hand.getOrdinal(0);
+        int second = hand.getOrdinal(1);
+        hand.clear();
+        hand.addOrdinal(first);
+        hands[handCount].clear();
+        hands[handCount].addOrdinal(second);
+        bets[handCount] = bets[index];
+        handCount++;
+        return true;
+    }
+
+    /**
+     * Insures the first hand against a dealer blackjack for half its bet.
+     * @return true if the insurance was placed, false if the player cannot cover it.
+     */
+    public boolean placeInsurance() {
+        long stake = bets[0] * Ledger.MINOR_UNITS / 2;
+        if (stake <= 0 || insuranceStake > 0 || !account.placeWager(stake)) {
+            return false;
+        }
+        insuranceStake = stake;
+        return true;
+    }
+
+    /**
+     * Settles the insurance bet, if any, which pays 2:1 if the dealer has blackjack.
+     * @param dealerBlackjack Whether the dealer has blackjack.
+     * @return The net result in minor units (0 if the player did not insure).
+     */
+    public long settleInsurance(boolean dealerBlackjack) {
+        long stake = insuranceStake;
+        if (stake == 0) {
+            return 0;
+        }
+        long payout = dealerBlackjack ? stake * 3 : 0;
+        account.settleWager(stake, payout);
+        insuranceStake = 0;
+        return payout - stake;
+    }
+
     /**
      * Adds a card to the player's hand.
      * @param card The card to add.
      */
     public void addCard(Card card) {
-        hand.addCard(card);
+        hands[0].addCard(card);
     }
 
     /**
-     * Clears the player's hand and resets the current bet.
+     * Clears the player's hands and resets the bets.
      */
     public void clearHand() {
-        hand.clear();
-        currentBet = 0;
+        for (int i = 0; i < handCount; i++) {
+            hands[i].clear();
+            bets[i] = 0;
+        }
+        handCount = 1;
+        insuranceStake = 0;
+    }
+
+    /**
+     * Clears the cards of every hand and goes back to a single hand, keeping the bet on it.
+     * Hands split off in an earlier round have already been settled.
+     */
+    public void clearCards() {
+        for (int i = 0; i < handCount; i++) {
+            hands[i].clear();
+        }
+        handCount = 1;
     }
 
     /**
@@ -59,15 +169,15 @@ public class Player {
      * @return The value of the hand.
      */
     public int getHandValue() {
-        return hand.getValue();
+        return hands[0].getValue();
     }
 
     /**
-     * Checks if the player's hand is a blackjack.
+     * Checks if the player's hand is a blackjack. A 21 made after splitting is not a blackjack.
      * @return true if the hand is a blackjack, false otherwise.
      */
     public boolean hasBlackjack() {
-        return hand.isBlackjack();
+        return handCount == 1 && hands[0].isBlackjack();
     }
 
     /**
@@ -75,7 +185,7 @@ public class Player {
      * @return true if the player has busted, false otherwise.
      */
     public boolean hasBusted() {
-        return getHandValue() > 21;
+        return hands[0].isBusted();
     }
 
     /**
@@ -87,27 +197,41 @@ public class Player {
     }
 
     /**
-     * Wins the bet.
+     * Wins the bet. The payout is rounded to the nearest minor unit, so 3:2 on any whole bet is exact.
      * @param multiplier The multiplier for the winnings (e.g., 2 for regular win, 2.5 for blackjack).
+     * @return The amount paid back, including the stake, in minor units.
      */
-    public void winBet(double multiplier) {
-        money += currentBet * multiplier;
-        currentBet = 0;
+    public long winBet(double multiplier) {
+        return settleBet(0, multiplier);
     }
 
     /**
      * Loses the bet.
      */
     public void loseBet() {
-        currentBet = 0;
+        settleBet(0, 0);
     }
 
     /**
      * Pushes (ties) the bet.
      */
     public void pushBet() {
-        money += currentBet;
-        currentBet = 0;
+        settleBet(0, 1);
+    }
+
+    /**
+     * Settles the bet on one hand. The payout is rounded to the nearest minor unit.
+     * @param index The hand.
+     * @param multiplier The amount returned per unit bet (0 for a loss, 0.5 for a surrender,
+     *                   1 for a push, 2 for a win, 2.5 for a 3:2 blackjack).
+     * @return The amount paid back, including the stake, in minor units.
+     */
+    public long settleBet(int index, double multiplier) {
+        long stake = bets[index] * Ledger.MINOR_UNITS;
+        long payout = Math.round(stake * multiplier);
+        account.settleWager(stake, payout);
+        bets[index] = 0;
+        return payout;
     }
 
     // Getters and setters
@@ -116,16 +240,57 @@ public class Player {
         return name;
     }
 
+    /**
+     * Gets the player's available money in whole units, rounded down.
+     * @return The money available to bet.
+     */
     public int getMoney() {
-        return money;
+        return (int) (account.getBalance() / Ledger.MINOR_UNITS);
+    }
+
+    /**
+     * Sets the player's available money by depositing or withdrawing the difference. Not atomic
+     * when the account is shared with other tables.
+     * @param money The new amount in whole units.
+     */
+    public void setMoney(int money) {
+        long difference = money * Ledger.MINOR_UNITS - account.getBalance();
+        if (difference > 0) {
+            account.deposit(difference);
+        } else if (difference < 0) {
+            account.withdraw(-difference);
+        }
+    }
+
+    public Ledger.Account getAccount() {
+        return account;
     }
 
     public Hand getHand() {
-        return hand;
+        return hands[0];
+    }
+
+    public Hand getHand(int index) {
+        if (index >= handCount) {
+            throw new IndexOutOfBoundsException("Hand: " + index + ", Hands: " + handCount);
+        }
+        return hands[index];
+    }
+
+    public int getHandCount() {
+        return handCount;
+    }
+
+    public long getInsuranceStake() {
+        return insuranceStake;
     }
 
     public int getCurrentBet() {
-        return currentBet;
+        return bets[0];
+    }
+
+    public int getBet(int index) {
+        return bets[index];
     }
 
     public void setBettingStrategy(BettingStrategy bettingStrategy) {
@@ -134,6 +299,13 @@ public class Player {
 
     @Override
     public String toString() {
-        return name + "'s hand: " + hand + " (Value: " + getHandValue() + ")";
+        if (handCount == 1) {
+            return name + "'s hand: " + hands[0] + " (Value: " + getHandValue() + ")";
+        }
+        StringBuilder text = new StringBuilder(name).append("'s hands:");
+        for (int i = 0; i < handCount; i++) {
+            text.append(" [").append(hands[i]).append(" (Value: ").append(hands[i].getValue()).append(")]");
+        }
+        return text.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A compact shoe for simulations that only tracks how many cards of each value (2-11) are
+ * left, instead of the order of every card. Drawing picks a value with probability
+ * proportional to its remaining count, which deals exactly like a shuffled shoe. Faces and
+ * suits are not tracked; Card.ordinalForValue supplies them when a card is shown.
+ */
+public class RankCountShoe implements CardSource {
+    private static final int TEN_VALUE_PER_DECK = 16;
+    private static final int OTHER_VALUE_PER_DECK = 4;
+
+    private final int numDecks;
+    private final int cutCardPosition;
+    private final int[] remaining = new int[Card.VALUE_COUNT];
+    private final int[] inPlay = new int[Card.VALUE_COUNT]; // Drawn during the current round
+    private int remainingTotal;
+    private int dealt; // Cards dealt since the last reshuffle
+    private int drawCount; // Salt for face and suit reconstruction
+    private final SplittableRandom random;
+    private CardObserver[] observers = new CardObserver[0];
+
+    /**
+     * Constructor for a six-deck RankCountShoe with 75% penetration.
+     */
+    public RankCountShoe() {
+        this(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for RankCountShoe.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param random The random number generator used for drawing.
+     */
+    public RankCountShoe(int numDecks, double penetration, SplittableRandom random) {
+        if (numDecks < Shoe.MIN_DECKS || numDecks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("A shoe holds " + Shoe.MIN_DECKS + "-" + Shoe.MAX_DECKS + " decks, got " + numDecks);
+        }
+        if (penetration <= 0 || penetration > 1) {
+            throw new IllegalArgumentException("Penetration must be in (0, 1], got " + penetration);
+        }
+        this.numDecks = numDecks;
+        this.cutCardPosition = (int) (numDecks * Card.DECK_SIZE * penetration);
+        this.random = random;
+        reset();
+    }
+
+    @Override
+    public int drawOrdinal() {
+        if (remainingTotal == 0) {
+            reshuffleDiscards();
+        }
+        int r = random.nextInt(remainingTotal);
+        int index = 0;
+        while (r >= remaining[index]) {
+            r -= remaining[index];
+            index++;
+        }
+        remaining[index]--;
+        remainingTotal--;
+        inPlay[index]++;
+        dealt++;
+        int ordinal = Card.ordinalForValue(index + Card.MIN_VALUE, drawCount++);
+        for (CardObserver observer : observers) {
+            observer.cardDrawn(ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Returns every card not in play this round to the shoe.
+     */
+    private void reshuffleDiscards() {
+        remainingTotal = 0;
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = fullCount(i) - inPlay[i];
+            remainingTotal += remaining[i];
+        }
+        if (remainingTotal == 0) {
+            throw new IllegalStateException("Cannot draw from an empty shoe");
+        }
+        dealt = 0;
+        notifyShuffled();
+    }
+
+    @Override
+    public void addObserver(CardObserver observer) {
+        observers = Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+    }
+
+    private void notifyShuffled() {
+        for (CardObserver observer : observers) {
+            observer.shuffled();
+        }
+    }
+
+    @Override
+    public int remainingCards() {
+        return remainingTotal;
+    }
+
+    /**
+     * Gets the number of cards of a value left in the shoe.
+     * @param value The card value (2-11).
+     * @return The number of cards of that value remaining.
+     */
+    @Override
+    public int remainingOfValue(int value) {
+        return remaining[value - Card.MIN_VALUE];
+    }
+
+    @Override
+    public boolean startRound() {
+        boolean reshuffle = dealt >= cutCardPosition;
+        if (reshuffle) {
+            reset();
+        }
+        for (int i = 0; i < inPlay.length; i++) {
+            inPlay[i] = 0;
+        }
+        return reshuffle;
+    }
+
+    @Override
+    public void reset() {
+        remainingTotal = 0;
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = fullCount(i);
+            remainingTotal += remaining[i];
+        }
+        dealt = 0;
+        notifyShuffled();
+    }
+
+    private int fullCount(int index) {
+        return numDecks * (index + Card.MIN_VALUE == 10 ? TEN_VALUE_PER_DECK : OTHER_VALUE_PER_DECK);
+    }
+
+    /**
+     * Gets the number of decks in the shoe.
+     * @return The number of decks.
+     */
+    public int getNumDecks() {
+        return numDecks;
+    }
+}
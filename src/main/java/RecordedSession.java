@@ -0,0 +1,140 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The house rules, bets, insurance and play decisions of a session, loaded from an event log
+ * into primitive arrays so that SessionReplay can feed them back to a table. Cards and
+ * settlements are not kept: a seeded replay regenerates them.
+ */
+public class RecordedSession implements TableListener {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] bets = new int[INITIAL_CAPACITY];
+    private int betCount;
+    private byte[] decisions = new byte[INITIAL_CAPACITY];
+    private int decisionCount;
+    private int[] roundDecisionStart = new int[INITIAL_CAPACITY]; // Index of each round's first decision
+    private int[] roundBetStart = new int[INITIAL_CAPACITY];      // Index of each round's first bet
+    private int[] roundInsured = new int[INITIAL_CAPACITY];       // Bit per seat that took insurance
+    private int rounds;
+    private RuleSet rules = RuleSet.DEFAULT;
+
+    /**
+     * Loads a session from an event log written by EventLogWriter.
+     * @param path The log file.
+     * @return The recorded bets and decisions.
+     * @throws IOException If the log cannot be read.
+     */
+    public static RecordedSession load(Path path) throws IOException {
+        RecordedSession session = new RecordedSession();
+        try (EventLogReader reader = new EventLogReader(path)) {
+            session.rules = reader.getRules();
+            reader.readAll(session);
+        }
+        return session;
+    }
+
+    @Override
+    public void roundStarted() {
+        if (rounds == roundDecisionStart.length) {
+            roundDecisionStart = Arrays.copyOf(roundDecisionStart, rounds * 2);
+            roundBetStart = Arrays.copyOf(roundBetStart, rounds * 2);
+            roundInsured = Arrays.copyOf(roundInsured, rounds * 2);
+        }
+        roundDecisionStart[rounds] = decisionCount;
+        roundBetStart[rounds] = betCount;
+        rounds++;
+    }
+
+    @Override
+    public void betPlaced(int seat, int amount) {
+        if (betCount == bets.length) {
+            bets = Arrays.copyOf(bets, betCount * 2);
+        }
+        bets[betCount++] = amount;
+    }
+
+    @Override
+    public void cardDealt(int seat, int ordinal) {
+        // Regenerated by the seeded shoe during replay
+    }
+
+    @Override
+    public void decisionMade(int seat, PlayStrategy.Action action) {
+        if (decisionCount == decisions.length) {
+            decisions = Arrays.copyOf(decisions, decisionCount * 2);
+        }
+        decisions[decisionCount++] = (byte) action.ordinal();
+    }
+
+    @Override
+    public void handSettled(int seat, int wager, int net) {
+        // Regenerated by the replayed round logic
+    }
+
+    @Override
+    public void insurancePlaced(int seat, int amount) {
+        roundInsured[rounds - 1] |= 1 << seat;
+    }
+
+    @Override
+    public void insuranceSettled(int seat, int wager, int net) {
+        // Regenerated by the replayed round logic
+    }
+
+    /**
+     * Gets the house rules the session was played under.
+     * @return The rules.
+     */
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the number of rounds in the session.
+     * @return The number of rounds recorded.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    int getBet(int index) {
+        return bets[index];
+    }
+
+    int getBetCount() {
+        return betCount;
+    }
+
+    int getDecision(int index) {
+        return decisions[index];
+    }
+
+    int getDecisionCount() {
+        return decisionCount;
+    }
+
+    /**
+     * Gets whether a seat took insurance in a round.
+     */
+    boolean isInsured(int round, int seat) {
+        return (roundInsured[round] & 1 << seat) != 0;
+    }
+
+    /**
+     * Gets the index of the first decision of a round (or the total decision count for the round
+     * just past the end).
+     */
+    int getRoundDecisionStart(int round) {
+        return round == rounds ? decisionCount : roundDecisionStart[round];
+    }
+
+    /**
+     * Gets the index of the first bet of a round (or the total bet count for the round
+     * just past the end).
+     */
+    int getRoundBetStart(int round) {
+        return round == rounds ? betCount : roundBetStart[round];
+    }
+}
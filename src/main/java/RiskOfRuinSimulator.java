@@ -0,0 +1,478 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates many independent bankroll trajectories for a BettingStrategy across a fork/join pool.
+ * Each round's net result per unit bet is drawn from an OutcomeDistribution, usually measured by
+ * playing the real game, so a trajectory is just a bankroll and a round counter, and its results
+ * go straight into primitive arrays: the bankroll at each checkpoint and the round it was ruined
+ * in. A million trajectories with ten checkpoints take about 44 MB.
+ * A trajectory is ruined once its bankroll falls below the table minimum. The trajectories are
+ * cut into fixed-size blocks seeded from a SplittableRandom stream split along the block ranges,
+ * so the same seed gives identical results for any number of threads.
+ * Rounds are independent draws, so the strategy sees only the bankroll: strategies betting on the
+ * count see no cards. The strategy is shared by every thread and must be thread-safe.
+ */
+public class RiskOfRuinSimulator {
+    private static final int TRAJECTORIES_PER_BLOCK = 1_024;
+
+    private final OutcomeDistribution outcomes;
+    private final BettingStrategy bettingStrategy;
+    private final int minBet;
+    private final int maxBet;
+    private final long seed;
+
+    /**
+     * Constructor for RiskOfRuinSimulator.
+     * @param outcomes The distribution of a round's net result per unit bet.
+     * @param bettingStrategy The strategy deciding each bet from the bankroll.
+     * @param minBet The minimum bet; a bankroll below it is ruined.
+     * @param maxBet The maximum bet.
+     * @param seed The seed for the whole run.
+     */
+    public RiskOfRuinSimulator(OutcomeDistribution outcomes, BettingStrategy bettingStrategy, int minBet, int maxBet,
+                               long seed) {
+        if (minBet < 1 || maxBet < minBet) {
+            throw new IllegalArgumentException("Invalid bet limits: " + minBet + "-" + maxBet);
+        }
+        this.outcomes = outcomes;
+        this.bettingStrategy = bettingStrategy;
+        this.minBet = minBet;
+        this.maxBet = maxBet;
+        this.seed = seed;
+    }
+
+    /**
+     * Simulates the trajectories on the common fork/join pool.
+     * @param trajectories The number of trajectories.
+     * @param initialBankroll The bankroll every trajectory starts with.
+     * @param rounds The number of rounds each trajectory plays unless ruined.
+     * @param checkpoints The number of evenly spaced rounds, ending with the last, to record bankrolls at.
+     * @return The distributions of bankrolls and ruin times.
+     */
+    public Result run(int trajectories, int initialBankroll, int rounds, int checkpoints) {
+        return run(trajectories, initialBankroll, rounds, checkpoints, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates the trajectories on the given pool.
+     * @param trajectories The number of trajectories.
+     * @param initialBankroll The bankroll every trajectory starts with.
+     * @param rounds The number of rounds each trajectory plays unless ruined.
+     * @param checkpoints The number of evenly spaced rounds, ending with the last, to record bankrolls at.
+     * @param pool The pool to run the trajectories on.
+     * @return The distributions of bankrolls and ruin times.
+     */
+    public Result run(int trajectories, int initialBankroll, int rounds, int checkpoints, ForkJoinPool pool) {
+        if (trajectories < 1 || rounds < 1 || checkpoints < 1 || checkpoints > rounds) {
+            throw new IllegalArgumentException("Need at least one trajectory and one round, and 1-" + rounds
+                    + " checkpoints; got " + trajectories + ", " + rounds + " and " + checkpoints);
+        }
+        if (initialBankroll < minBet) {
+            throw new IllegalArgumentException("The bankroll must cover the minimum bet of " + minBet
+                    + ", got " + initialBankroll);
+        }
+        int[] checkpointRounds = new int[checkpoints];
+        for (int c = 0; c < checkpoints; c++) {
+            checkpointRounds[c] = (int) ((long) rounds * (c + 1) / checkpoints);
+        }
+        Result result = new Result(initialBankroll, checkpointRounds, new float[checkpoints][trajectories],
+                new int[trajectories]);
+        int blocks = (trajectories + TRAJECTORIES_PER_BLOCK - 1) / TRAJECTORIES_PER_BLOCK;
+        pool.invoke(new BlockTask(result, 0, blocks, new SplittableRandom(seed)));
+        result.sort();
+        return result;
+    }
+
+    private void simulate(Result result, int from, int to, SplittableRandom random) {
+        int[] checkpointRounds = result.checkpointRounds;
+        int rounds = checkpointRounds[checkpointRounds.length - 1];
+        for (int t = from; t < to; t++) {
+            double bankroll = result.initialBankroll;
+            int checkpoint = 0;
+            int ruinRound = Result.NOT_RUINED;
+            for (int round = 1; round <= rounds; round++) {
+                int bet = Math.min(bettingStrategy.determineBet((int) bankroll, minBet, maxBet), (int) bankroll);
+                if (bet > 0) {
+                    bankroll += bet * outcomes.sample(random);
+                }
+                if (bankroll < minBet) {
+                    bankroll = Math.max(bankroll, 0);
+                    ruinRound = round;
+                    break;
+                }
+                if (round == checkpointRounds[checkpoint]) {
+                    result.bankrolls[checkpoint++][t] = (float) bankroll;
+                }
+            }
+            for (; checkpoint < checkpointRounds.length; checkpoint++) {
+                result.bankrolls[checkpoint][t] = (float) bankroll; // What was left at ruin
+            }
+            result.ruinRounds[t] = ruinRound;
+        }
+    }
+
+    /**
+     * Simulates the blocks in [from, to), splitting the range and the random stream in half
+     * until a single block is left.
+     */
+    private class BlockTask extends RecursiveAction {
+        private final Result result;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        BlockTask(Result result, int from, int to, SplittableRandom random) {
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int first = from * TRAJECTORIES_PER_BLOCK;
+                simulate(result, first, Math.min(first + TRAJECTORIES_PER_BLOCK, result.ruinRounds.length), random);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            BlockTask right = new BlockTask(result, mid, to, random.split());
+            BlockTask left = new BlockTask(result, from, mid, random);
+            right.fork();
+            left.compute();
+            right.join();
+        }
+    }
+
+    /**
+     * The distribution of a round's net result per unit bet, sampled in constant time with Walker's
+     * alias method: one random column, then one random threshold choosing between the column's own
+     * outcome and its alias.
+     */
+    public static final class OutcomeDistribution {
+        private static final int BANKROLL = 1_000_000;
+
+        private final double[] outcomes;
+        private final double[] thresholds;
+        private final int[] aliases;
+        private final double edge;
+        private final double variance;
+
+        /**
+         * Constructor for OutcomeDistribution.
+         * @param outcomes The possible net results per unit bet.
+         * @param weights The relative likelihood of each outcome (need not sum to one).
+         */
+        public OutcomeDistribution(double[] outcomes, double[] weights) {
+            int n = outcomes.length;
+            if (n == 0 || weights.length != n) {
+                throw new IllegalArgumentException("Need one weight per outcome, got " + n + " outcomes and "
+                        + weights.length + " weights");
+            }
+            double total = 0;
+            for (double weight : weights) {
+                if (!(weight >= 0)) {
+                    throw new IllegalArgumentException("Weights must not be negative, got " + weight);
+                }
+                total += weight;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("At least one weight must be positive");
+            }
+            this.outcomes = outcomes.clone();
+            this.thresholds = new double[n];
+            this.aliases = new int[n];
+
+            double mean = 0;
+            double meanSquare = 0;
+            for (int i = 0; i < n; i++) {
+                double probability = weights[i] / total;
+                mean += probability * outcomes[i];
+                meanSquare += probability * outcomes[i] * outcomes[i];
+                thresholds[i] = probability * n; // Scaled so that an even share is 1
+                aliases[i] = i;
+            }
+            this.edge = mean;
+            this.variance = meanSquare - mean * mean;
+
+            // Vose's construction: pair each column short of 1 with one over, which tops it up
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                if (thresholds[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                aliases[less] = more;
+                thresholds[more] -= 1 - thresholds[less];
+                if (thresholds[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // Whatever is left is 1 up to rounding
+            while (largeCount > 0) {
+                thresholds[large[--largeCount]] = 1;
+            }
+            while (smallCount > 0) {
+                thresholds[small[--smallCount]] = 1;
+            }
+        }
+
+        /**
+         * Measures the distribution by playing rounds at a one-seat table with flat minimum bets.
+         * Each round's outcome is everything the seat won or lost in it, including splits, doubles
+         * and insurance, divided by the bet.
+         * @param playStrategy The strategy for the seat's play decisions.
+         * @param rules The house rules.
+         * @param rounds The number of rounds to play.
+         * @param random The random number generator for the shoe.
+         * @return The measured distribution.
+         */
+        public static OutcomeDistribution play(PlayStrategy playStrategy, RuleSet rules, long rounds,
+                                               SplittableRandom random) {
+            BlackJack table = new BlackJack(1, BANKROLL, playStrategy,
+                    new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random), rules);
+            Player player = table.getPlayers().get(0);
+            player.setBettingStrategy((availableMoney, minBet, maxBet) -> minBet);
+            SimulationResult result = new SimulationResult();
+            Map<Long, Long> counts = new TreeMap<>(); // Net result in minor units -> rounds
+            for (long i = 0; i < rounds; i++) {
+                if (player.getMoney() < BANKROLL / 2) {
+                    player.setMoney(BANKROLL);
+                }
+                long before = player.getAccount().getBalance();
+                table.playAutomatedRound(result);
+                counts.merge(player.getAccount().getBalance() - before, 1L, Long::sum);
+            }
+            double unit = (double) rules.getMinBet() * Ledger.MINOR_UNITS;
+            double[] outcomes = new double[counts.size()];
+            double[] weights = new double[counts.size()];
+            int i = 0;
+            for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                outcomes[i] = entry.getKey() / unit;
+                weights[i++] = entry.getValue();
+            }
+            return new OutcomeDistribution(outcomes, weights);
+        }
+
+        /**
+         * Draws a round's net result per unit bet.
+         * @param random The random number generator to draw with.
+         * @return The outcome.
+         */
+        public double sample(SplittableRandom random) {
+            int column = random.nextInt(outcomes.length);
+            return random.nextDouble() < thresholds[column] ? outcomes[column] : outcomes[aliases[column]];
+        }
+
+        // Getters
+
+        /**
+         * Gets the expected net result of a round per unit bet.
+         * @return The edge; negative when the house has the advantage.
+         */
+        public double getEdge() {
+            return edge;
+        }
+
+        /**
+         * Gets the variance of the net result of a round per unit bet.
+         * @return The variance.
+         */
+        public double getVariance() {
+            return variance;
+        }
+
+        public int getOutcomeCount() {
+            return outcomes.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d outcomes, edge %.4f%%, variance %.4f per unit bet",
+                    outcomes.length, edge * 100, variance);
+        }
+    }
+
+    /**
+     * The outcome of a run: every trajectory's bankroll at each checkpoint and the round it was
+     * ruined in. Each array is sorted once the run is over, so the entries of different arrays
+     * no longer belong to the same trajectory, but any percentile is a single lookup.
+     */
+    public static class Result {
+        /** The ruin round of a trajectory that survived every round. */
+        public static final int NOT_RUINED = Integer.MAX_VALUE;
+
+        private final int initialBankroll;
+        private final int[] checkpointRounds;
+        private final float[][] bankrolls; // [checkpoint][trajectory]
+        private final int[] ruinRounds;
+
+        Result(int initialBankroll, int[] checkpointRounds, float[][] bankrolls, int[] ruinRounds) {
+            this.initialBankroll = initialBankroll;
+            this.checkpointRounds = checkpointRounds;
+            this.bankrolls = bankrolls;
+            this.ruinRounds = ruinRounds;
+        }
+
+        private void sort() {
+            for (float[] column : bankrolls) {
+                Arrays.parallelSort(column);
+            }
+            Arrays.parallelSort(ruinRounds);
+        }
+
+        private static int rank(int size, double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentile must be in [0, 1], got " + percentile);
+            }
+            return Math.max((int) Math.ceil(percentile * size) - 1, 0); // Nearest rank
+        }
+
+        /**
+         * Gets the fraction of trajectories ruined within the given number of rounds.
+         * @param round The round.
+         * @return The risk of ruin by that round.
+         */
+        public double getRuinProbability(int round) {
+            int index = Arrays.binarySearch(ruinRounds, round);
+            if (index >= 0) {
+                while (index + 1 < ruinRounds.length && ruinRounds[index + 1] == round) {
+                    index++;
+                }
+                return (double) (index + 1) / ruinRounds.length;
+            }
+            return (double) (-index - 1) / ruinRounds.length;
+        }
+
+        /**
+         * Gets the fraction of trajectories ruined before the last round was over.
+         * @return The risk of ruin.
+         */
+        public double getRuinProbability() {
+            return getRuinProbability(getRounds());
+        }
+
+        /**
+         * Gets a percentile of the round ruined trajectories were ruined in.
+         * @param percentile The percentile, in [0, 1].
+         * @return The round.
+         * @throws IllegalStateException if no trajectory was ruined.
+         */
+        public int getTimeToRuinPercentile(double percentile) {
+            int ruined = (int) Math.round(getRuinProbability() * ruinRounds.length);
+            if (ruined == 0) {
+                throw new IllegalStateException("No trajectory was ruined");
+            }
+            return ruinRounds[rank(ruined, percentile)];
+        }
+
+        /**
+         * Gets a percentile of the bankrolls at a checkpoint. Ruined trajectories keep whatever
+         * they had left when they were ruined.
+         * @param checkpoint The checkpoint.
+         * @param percentile The percentile, in [0, 1].
+         * @return The bankroll.
+         */
+        public double getBankrollPercentile(int checkpoint, double percentile) {
+            float[] column = bankrolls[checkpoint];
+            return column[rank(column.length, percentile)];
+        }
+
+        /**
+         * Gets the median bankroll at a checkpoint.
+         * @param checkpoint The checkpoint.
+         * @return The median bankroll.
+         */
+        public double getMedianBankroll(int checkpoint) {
+            return getBankrollPercentile(checkpoint, 0.5);
+        }
+
+        // Getters
+
+        public int getTrajectories() {
+            return ruinRounds.length;
+        }
+
+        public int getInitialBankroll() {
+            return initialBankroll;
+        }
+
+        public int getRounds() {
+            return checkpointRounds[checkpointRounds.length - 1];
+        }
+
+        public int getCheckpointCount() {
+            return checkpointRounds.length;
+        }
+
+        public int getCheckpointRound(int checkpoint) {
+            return checkpointRounds[checkpoint];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "Trajectories: %d, Bankroll: %d, Rounds: %d, Risk of ruin: %.4f%%%n",
+                    getTrajectories(), initialBankroll, getRounds(), getRuinProbability() * 100));
+            sb.append(String.format("%10s %10s %10s %10s %10s %10s%n", "Round", "Ruined", "5%", "25%", "Median", "95%"));
+            for (int c = 0; c < checkpointRounds.length; c++) {
+                sb.append(String.format("%10d %9.4f%% %10.0f %10.0f %10.0f %10.0f%n", checkpointRounds[c],
+                        getRuinProbability(checkpointRounds[c]) * 100, getBankrollPercentile(c, 0.05),
+                        getBankrollPercentile(c, 0.25), getMedianBankroll(c), getBankrollPercentile(c, 0.95)));
+            }
+            if (getRuinProbability() > 0) {
+                sb.append(String.format("Time to ruin: 10%% by round %d, median %d, 90%% by round %d",
+                        getTimeToRuinPercentile(0.1), getTimeToRuinPercentile(0.5), getTimeToRuinPercentile(0.9)));
+            }
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) {
+        int trajectories = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int bankroll = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        RuleSet rules = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true).withLateSurrender(true);
+        OutcomeDistribution outcomes = OutcomeDistribution.play(new BasicStrategy(), rules, 2_000_000,
+                new SplittableRandom(seed));
+        System.out.println("Outcomes: " + outcomes);
+
+        BettingStrategy[] strategies = {
+                (availableMoney, minBet, maxBet) -> minBet,
+                new DefaultBettingStrategy(),
+                // Without an edge this is the table minimum again
+                new KellyBettingStrategy(0.5, outcomes.getEdge(), outcomes.getVariance())
+        };
+        String[] names = {"Flat minimum", "10% of bankroll", "Half Kelly"};
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        for (int i = 0; i < strategies.length; i++) {
+            RiskOfRuinSimulator simulator = new RiskOfRuinSimulator(outcomes, strategies[i], rules.getMinBet(),
+                    rules.getMaxBet(), seed);
+            long start = System.nanoTime();
+            Result result = simulator.run(trajectories, bankroll, rounds, 10, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println("\n" + names[i]);
+            System.out.println(result);
+            System.out.printf("%d threads: %.0f rounds/sec%n", threads, (double) trajectories * rounds / seconds);
+        }
+        pool.shutdown();
+    }
+}
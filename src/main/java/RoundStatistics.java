@@ -0,0 +1,162 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Streaming statistics of per-round outcomes in constant memory. Each observation is what was
+ * wagered and won in one round, by one seat or by a whole table; observations must be
+ * independent of each other for the standard error to hold. Welford's method keeps the running
+ * means, variances and the covariance of the two, and Chan's formulas merge statistics gathered
+ * separately. The expected value per unit wagered is the ratio of the two means, and its standard
+ * error comes from the delta method, so it is exact for flat bets and honest for bet spreads.
+ */
+public class RoundStatistics {
+    /** The normal quantile for a two-sided 95% confidence interval. */
+    public static final double Z_95 = 1.959964;
+    /** The normal quantile for a two-sided 99% confidence interval. */
+    public static final double Z_99 = 2.575829;
+
+    private long count;
+    private double meanNet;
+    private double meanWagered;
+    private double netSquares;     // Sum of squared deviations of the net from its mean
+    private double wageredSquares; // Sum of squared deviations of the wager from its mean
+    private double coMoment;       // Sum of products of the two deviations
+
+    /**
+     * Adds one round.
+     * @param wagered The total amount bet in the round.
+     * @param net The amount won (positive) or lost (negative) in the round.
+     */
+    public void add(double wagered, double net) {
+        count++;
+        double netDelta = net - meanNet;
+        meanNet += netDelta / count;
+        double wageredDelta = wagered - meanWagered;
+        meanWagered += wageredDelta / count;
+        netSquares += netDelta * (net - meanNet);
+        wageredSquares += wageredDelta * (wagered - meanWagered);
+        coMoment += netDelta * (wagered - meanWagered);
+    }
+
+    /**
+     * Adds another set of statistics to this one, as if its rounds had been added here.
+     * @param other The statistics to merge in.
+     * @return These statistics, for chaining.
+     */
+    public RoundStatistics merge(RoundStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double netDelta = other.meanNet - meanNet;
+        double wageredDelta = other.meanWagered - meanWagered;
+        double weight = (double) count * other.count / total;
+        meanNet += netDelta * other.count / total;
+        meanWagered += wageredDelta * other.count / total;
+        netSquares += other.netSquares + netDelta * netDelta * weight;
+        wageredSquares += other.wageredSquares + wageredDelta * wageredDelta * weight;
+        coMoment += other.coMoment + netDelta * wageredDelta * weight;
+        count = total;
+        return this;
+    }
+
+    /**
+     * Gets the sample variance of the net result per round.
+     * @return The variance, or NaN with fewer than two rounds.
+     */
+    public double getNetVariance() {
+        return count < 2 ? Double.NaN : netSquares / (count - 1);
+    }
+
+    /**
+     * Gets the expected value per unit wagered.
+     * @return The mean net result divided by the mean wager, or 0 if nothing was wagered.
+     */
+    public double getExpectedValue() {
+        return meanWagered == 0 ? 0 : meanNet / meanWagered;
+    }
+
+    /**
+     * Gets the standard error of the expected value per unit wagered.
+     * @return The standard error, or NaN with fewer than two rounds.
+     */
+    public double getStandardError() {
+        if (count < 2 || meanWagered == 0) {
+            return Double.NaN;
+        }
+        double ratio = meanNet / meanWagered;
+        double variance = (netSquares - 2 * ratio * coMoment + ratio * ratio * wageredSquares) / (count - 1);
+        return Math.sqrt(Math.max(variance, 0) / count) / meanWagered;
+    }
+
+    /**
+     * Gets the lower end of a confidence interval for the expected value per unit wagered.
+     * @param z The normal quantile of the interval (e.g. Z_95).
+     * @return The lower bound.
+     */
+    public double getLowerBound(double z) {
+        return getExpectedValue() - z * getStandardError();
+    }
+
+    /**
+     * Gets the upper end of a confidence interval for the expected value per unit wagered.
+     * @param z The normal quantile of the interval (e.g. Z_95).
+     * @return The upper bound.
+     */
+    public double getUpperBound(double z) {
+        return getExpectedValue() + z * getStandardError();
+    }
+
+    /**
+     * Writes the statistics in binary, exactly, so that reading them back gives identical results.
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(meanNet);
+        out.writeDouble(meanWagered);
+        out.writeDouble(netSquares);
+        out.writeDouble(wageredSquares);
+        out.writeDouble(coMoment);
+    }
+
+    /**
+     * Reads statistics written by writeTo.
+     * @param in The input to read from.
+     * @return The statistics.
+     * @throws IOException If reading fails.
+     */
+    public static RoundStatistics readFrom(DataInput in) throws IOException {
+        RoundStatistics statistics = new RoundStatistics();
+        statistics.count = in.readLong();
+        statistics.meanNet = in.readDouble();
+        statistics.meanWagered = in.readDouble();
+        statistics.netSquares = in.readDouble();
+        statistics.wageredSquares = in.readDouble();
+        statistics.coMoment = in.readDouble();
+        return statistics;
+    }
+
+    // Getters
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanNet() {
+        return meanNet;
+    }
+
+    public double getMeanWagered() {
+        return meanWagered;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Rounds: %d, Net/round: %.4f (SD %.4f), EV: %.4f%% +/- %.4f%% (95%%)",
+                count, meanNet, Math.sqrt(getNetVariance()), getExpectedValue() * 100,
+                Z_95 * getStandardError() * 100);
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * The house rules of a table: blackjack payout, bet limits, whether the dealer hits soft 17, and
+ * which of split, double after split, late surrender and insurance are offered. A RuleSet never
+ * changes; the with... methods return a copy with one rule changed, starting from DEFAULT.
+ */
+public final class RuleSet {
+    /**
+     * The rules the game has always played by: blackjack pays 3:2, bets of 10-500, the dealer
+     * stands on soft 17, and no split, surrender or insurance.
+     */
+    public static final RuleSet DEFAULT = new RuleSet(2.5, 10, 500, false, 1, false, false, false);
+
+    public static final int MAX_SPLIT_HANDS = 4;
+
+    private final double blackjackPayout;
+    private final int minBet;
+    private final int maxBet;
+    private final boolean dealerHitsSoft17;
+    private final int maxHands;
+    private final boolean doubleAfterSplit;
+    private final boolean lateSurrender;
+    private final boolean insurance;
+
+    private RuleSet(double blackjackPayout, int minBet, int maxBet, boolean dealerHitsSoft17, int maxHands,
+                    boolean doubleAfterSplit, boolean lateSurrender, boolean insurance) {
+        if (blackjackPayout < 2) {
+            throw new IllegalArgumentException("A blackjack must pay at least even money, got " + blackjackPayout);
+        }
+        if (minBet < 1 || maxBet < minBet) {
+            throw new IllegalArgumentException("Invalid bet limits: " + minBet + "-" + maxBet);
+        }
+        if (maxHands < 1 || maxHands > MAX_SPLIT_HANDS) {
+            throw new IllegalArgumentException("Hands after splitting must be 1-" + MAX_SPLIT_HANDS + ", got " + maxHands);
+        }
+        this.blackjackPayout = blackjackPayout;
+        this.minBet = minBet;
+        this.maxBet = maxBet;
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+        this.maxHands = maxHands;
+        this.doubleAfterSplit = doubleAfterSplit;
+        this.lateSurrender = lateSurrender;
+        this.insurance = insurance;
+    }
+
+    /**
+     * Returns these rules with a different blackjack payout.
+     * @param payout The amount returned per unit bet on a blackjack, including the bet
+     *               (2.5 for 3:2, 2.2 for 6:5).
+     * @return The new rules.
+     */
+    public RuleSet withBlackjackPayout(double payout) {
+        return new RuleSet(payout, minBet, maxBet, dealerHitsSoft17, maxHands, doubleAfterSplit, lateSurrender,
+                insurance);
+    }
+
+    /**
+     * Returns these rules with different bet limits.
+     * @param min The minimum bet.
+     * @param max The maximum bet.
+     * @return The new rules.
+     */
+    public RuleSet withBetLimits(int min, int max) {
+        return new RuleSet(blackjackPayout, min, max, dealerHitsSoft17, maxHands, doubleAfterSplit, lateSurrender,
+                insurance);
+    }
+
+    /**
+     * Returns these rules with the dealer hitting or standing on soft 17.
+     * @param hits true if the dealer hits soft 17.
+     * @return The new rules.
+     */
+    public RuleSet withDealerHitsSoft17(boolean hits) {
+        return new RuleSet(blackjackPayout, minBet, maxBet, hits, maxHands, doubleAfterSplit, lateSurrender,
+                insurance);
+    }
+
+    /**
+     * Returns these rules with different splitting rules.
+     * @param hands The most hands a player may split into (1 for no splitting). Split aces get one
+     *              card each and cannot be split again.
+     * @param doubleAfter Whether a hand may be doubled after a split.
+     * @return The new rules.
+     */
+    public RuleSet withSplits(int hands, boolean doubleAfter) {
+        return new RuleSet(blackjackPayout, minBet, maxBet, dealerHitsSoft17, hands, doubleAfter, lateSurrender,
+                insurance);
+    }
+
+    /**
+     * Returns these rules with or without late surrender.
+     * @param offered Whether a player may give up half the bet on the first two cards, once the
+     *                dealer has checked for blackjack.
+     * @return The new rules.
+     */
+    public RuleSet withLateSurrender(boolean offered) {
+        return new RuleSet(blackjackPayout, minBet, maxBet, dealerHitsSoft17, maxHands, doubleAfterSplit, offered,
+                insurance);
+    }
+
+    /**
+     * Returns these rules with or without insurance.
+     * @param offered Whether insurance (half the bet, paying 2:1) is offered against a dealer Ace.
+     * @return The new rules.
+     */
+    public RuleSet withInsurance(boolean offered) {
+        return new RuleSet(blackjackPayout, minBet, maxBet, dealerHitsSoft17, maxHands, doubleAfterSplit,
+                lateSurrender, offered);
+    }
+
+    // Getters
+
+    public double getBlackjackPayout() {
+        return blackjackPayout;
+    }
+
+    public int getMinBet() {
+        return minBet;
+    }
+
+    public int getMaxBet() {
+        return maxBet;
+    }
+
+    public boolean dealerHitsSoft17() {
+        return dealerHitsSoft17;
+    }
+
+    public int getMaxHands() {
+        return maxHands;
+    }
+
+    public boolean isSplitAllowed() {
+        return maxHands > 1;
+    }
+
+    public boolean isDoubleAfterSplit() {
+        return doubleAfterSplit;
+    }
+
+    public boolean isLateSurrender() {
+        return lateSurrender;
+    }
+
+    public boolean isInsurance() {
+        return insurance;
+    }
+
+    /**
+     * Describes the rules in the usual shorthand, e.g. "BJ 3:2, S17, SPL4, DAS, LS".
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("BJ ");
+        if (blackjackPayout == 2.5) {
+            text.append("3:2");
+        } else if (blackjackPayout == 2.2) {
+            text.append("6:5");
+        } else if (blackjackPayout == 2) {
+            text.append("1:1");
+        } else {
+            text.append(String.format("%.2f:1", blackjackPayout - 1));
+        }
+        text.append(dealerHitsSoft17 ? ", H17" : ", S17");
+        if (isSplitAllowed()) {
+            text.append(", SPL").append(maxHands);
+            if (doubleAfterSplit) {
+                text.append(", DAS");
+            }
+        }
+        if (lateSurrender) {
+            text.append(", LS");
+        }
+        if (insurance) {
+            text.append(", INS");
+        }
+        return text.toString();
+    }
+}
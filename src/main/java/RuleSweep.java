@@ -0,0 +1,375 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Measures the house edge of many rule variants on common random numbers. Every shoe is shuffled
+ * once and then played to the cut card by one table per variant, each round starting on the same
+ * card, so all the variants see the same cards; the differences between them come from the rules
+ * rather than from luck, and the standard error of each difference from the baseline (the first
+ * variant) is far smaller than that of two independent runs. Shoes are cut into batches run on a
+ * fork/join pool, with the random stream split along the batch ranges as in
+ * ParallelSimulationRunner, so a seed gives the same result for any number of threads.
+ */
+public class RuleSweep {
+    private static final long DEFAULT_SHOES_PER_BATCH = 200;
+
+    private final List<RuleSet> variants;
+    private final int numDecks;
+    private final double penetration;
+    private final int seats;
+    private final PlayStrategy playStrategy;
+    private final long seed;
+    private final long shoesPerBatch;
+
+    /**
+     * Constructor for RuleSweep. Every seat flat bets the minimum of its variant.
+     * @param variants The rule variants; the first is the baseline the others are compared to.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param seats The number of player seats at each table.
+     * @param playStrategy The strategy used for every seat's play decisions. Must be thread-safe.
+     * @param seed The seed for the whole sweep.
+     */
+    public RuleSweep(List<RuleSet> variants, int numDecks, double penetration, int seats, PlayStrategy playStrategy,
+                     long seed) {
+        this(variants, numDecks, penetration, seats, playStrategy, seed, DEFAULT_SHOES_PER_BATCH);
+    }
+
+    /**
+     * Constructor for RuleSweep. Every seat flat bets the minimum of its variant.
+     * @param variants The rule variants; the first is the baseline the others are compared to.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param seats The number of player seats at each table.
+     * @param playStrategy The strategy used for every seat's play decisions. Must be thread-safe.
+     * @param seed The seed for the whole sweep.
+     * @param shoesPerBatch The number of shoes each batch plays.
+     */
+    public RuleSweep(List<RuleSet> variants, int numDecks, double penetration, int seats, PlayStrategy playStrategy,
+                     long seed, long shoesPerBatch) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("A sweep needs at least one rule variant");
+        }
+        if (shoesPerBatch < 1) {
+            throw new IllegalArgumentException("Shoes per batch must be positive, got " + shoesPerBatch);
+        }
+        new Shoe(numDecks, penetration); // Validates the shoe before any batch runs
+        this.variants = List.copyOf(variants);
+        this.numDecks = numDecks;
+        this.penetration = penetration;
+        this.seats = seats;
+        this.playStrategy = playStrategy;
+        this.seed = seed;
+        this.shoesPerBatch = shoesPerBatch;
+    }
+
+    /**
+     * Plays the given number of shoes under every variant on the common fork/join pool.
+     * @param shoes The number of shoes to play.
+     * @return The results of every variant.
+     */
+    public Result run(long shoes) {
+        return run(shoes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays the given number of shoes under every variant on the given pool.
+     * @param shoes The number of shoes to play.
+     * @param pool The pool to run the batches on.
+     * @return The results of every variant.
+     */
+    public Result run(long shoes, ForkJoinPool pool) {
+        long batches = (shoes + shoesPerBatch - 1) / shoesPerBatch;
+        return pool.invoke(new BatchTask(0, batches, shoes, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Plays one batch of shoes. Each shoe is shuffled by a generator shoe, loaded into every
+     * variant's shoe, and played round by round by each variant in turn until the baseline reaches
+     * the cut card. The variants' own shoes only shuffle if one runs out mid-round, and share a
+     * seed so that they do so alike.
+     */
+    private Result playBatch(long shoes, SplittableRandom random) {
+        Shoe generator = new Shoe(numDecks, penetration, random.split());
+        long tableSeed = random.nextLong();
+        int count = variants.size();
+        Shoe[] variantShoes = new Shoe[count];
+        SimulationEngine[] tables = new SimulationEngine[count];
+        for (int v = 0; v < count; v++) {
+            variantShoes[v] = new Shoe(numDecks, penetration, new SplittableRandom(tableSeed));
+            tables[v] = new SimulationEngine(seats, variantShoes[v], playStrategy,
+                    (availableMoney, minBet, maxBet) -> minBet, variants.get(v));
+        }
+
+        Result batch = new Result(variants);
+        byte[] order = new byte[numDecks * Card.DECK_SIZE];
+        long[] netBefore = new long[count];
+        long[] wageredBefore = new long[count];
+        double[] net = new double[count];
+        double[] wagered = new double[count];
+        for (long s = 0; s < shoes; s++) {
+            generator.reset();
+            generator.copyOrder(order);
+            for (int v = 0; v < count; v++) {
+                variantShoes[v].loadOrder(order);
+                netBefore[v] = batch.results[v].getNetWinnings();
+                wageredBefore[v] = batch.results[v].getTotalWagered();
+            }
+            // Every round starts on the baseline's next card, so a variant that drew an extra card
+            // does not play every later round of the shoe on different cards
+            do {
+                int next = order.length - variantShoes[0].remainingCards();
+                for (int v = 0; v < count; v++) {
+                    variantShoes[v].seek(next);
+                    tables[v].playRound(batch.results[v]);
+                }
+            } while (!variantShoes[0].isCutCardReached());
+            for (int v = 0; v < count; v++) {
+                // In units of the variant's minimum bet, so variants with other limits compare
+                double unit = variants.get(v).getMinBet();
+                net[v] = (batch.results[v].getNetWinnings() - netBefore[v]) / unit;
+                wagered[v] = (batch.results[v].getTotalWagered() - wageredBefore[v]) / unit;
+            }
+            batch.addShoe(net, wagered);
+        }
+        return batch;
+    }
+
+    /**
+     * Plays the batches in [from, to), splitting the range and the random stream in half
+     * until a single batch is left.
+     */
+    private class BatchTask extends RecursiveTask<Result> {
+        private final long from;
+        private final long to;
+        private final long totalShoes;
+        private final SplittableRandom random;
+
+        BatchTask(long from, long to, long totalShoes, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.totalShoes = totalShoes;
+            this.random = random;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from == 1) {
+                return playBatch(Math.min(shoesPerBatch, totalShoes - from * shoesPerBatch), random);
+            }
+            long mid = (from + to) >>> 1;
+            BatchTask right = new BatchTask(mid, to, totalShoes, random.split());
+            BatchTask left = new BatchTask(from, mid, totalShoes, random);
+            right.fork();
+            Result result = left.compute();
+            return result.merge(right.join());
+        }
+    }
+
+    /**
+     * The outcome of a sweep: each variant's totals, and per-shoe moments from which the standard
+     * errors are estimated. The house edge of a variant is a ratio of per-shoe sums (net over
+     * wagered), so its error, and that of its difference from the baseline, come from the delta
+     * method, using the covariance with the baseline on the same shoes.
+     */
+    public static class Result {
+        // Per-variant sums over shoes of x (net) and w (wagered), and their products with each
+        // other and with the baseline's x0 and w0
+        private static final int SX = 0;
+        private static final int SW = 1;
+        private static final int SXX = 2;
+        private static final int SWW = 3;
+        private static final int SXW = 4;
+        private static final int SXX0 = 5;
+        private static final int SXW0 = 6;
+        private static final int SWX0 = 7;
+        private static final int SWW0 = 8;
+        private static final int SUMS = 9;
+
+        private final List<RuleSet> variants;
+        private final SimulationResult[] results;
+        private final double[][] sums;
+        private long shoes;
+
+        private Result(List<RuleSet> variants) {
+            this.variants = variants;
+            this.results = new SimulationResult[variants.size()];
+            this.sums = new double[variants.size()][SUMS];
+            for (int v = 0; v < results.length; v++) {
+                results[v] = new SimulationResult();
+            }
+        }
+
+        private void addShoe(double[] net, double[] wagered) {
+            shoes++;
+            double x0 = net[0];
+            double w0 = wagered[0];
+            for (int v = 0; v < sums.length; v++) {
+                double x = net[v];
+                double w = wagered[v];
+                double[] s = sums[v];
+                s[SX] += x;
+                s[SW] += w;
+                s[SXX] += x * x;
+                s[SWW] += w * w;
+                s[SXW] += x * w;
+                s[SXX0] += x * x0;
+                s[SXW0] += x * w0;
+                s[SWX0] += w * x0;
+                s[SWW0] += w * w0;
+            }
+        }
+
+        private Result merge(Result other) {
+            shoes += other.shoes;
+            for (int v = 0; v < results.length; v++) {
+                results[v].merge(other.results[v]);
+                for (int k = 0; k < SUMS; k++) {
+                    sums[v][k] += other.sums[v][k];
+                }
+            }
+            return this;
+        }
+
+        // The player's expected value per unit wagered, from the moments
+        private double ratio(int v) {
+            return sums[v][SX] / sums[v][SW];
+        }
+
+        // Sum over shoes of (x - r w)(x' - r' w'), where the second factor is variant v or the baseline
+        private double residualProduct(int v, boolean withBaseline) {
+            double[] s = sums[v];
+            double r = ratio(v);
+            if (!withBaseline) {
+                return s[SXX] - 2 * r * s[SXW] + r * r * s[SWW];
+            }
+            double r0 = ratio(0);
+            return s[SXX0] - r0 * s[SXW0] - r * s[SWX0] + r * r0 * s[SWW0];
+        }
+
+        /**
+         * Gets the totals of one variant.
+         * @param index The variant, in the order given to the sweep.
+         * @return The variant's result.
+         */
+        public SimulationResult getResult(int index) {
+            return results[index];
+        }
+
+        /**
+         * Gets the house edge of one variant.
+         * @param index The variant.
+         * @return The amount the house wins per unit wagered.
+         */
+        public double getHouseEdge(int index) {
+            return -results[index].getExpectedValue();
+        }
+
+        /**
+         * Gets the standard error of a variant's house edge on its own.
+         * @param index The variant.
+         * @return The standard error.
+         */
+        public double getStandardError(int index) {
+            double meanWagered = sums[index][SW] / shoes;
+            return Math.sqrt(residualProduct(index, false) / shoes) / meanWagered / Math.sqrt(shoes);
+        }
+
+        /**
+         * Gets how much higher a variant's house edge is than the baseline's, on the same shoes.
+         * @param index The variant.
+         * @return The difference in house edge (0 for the baseline).
+         */
+        public double getEdgeDifference(int index) {
+            return getHouseEdge(index) - getHouseEdge(0);
+        }
+
+        /**
+         * Gets the standard error of a variant's difference from the baseline. Because both were
+         * played on the same shoes, their errors are strongly correlated and largely cancel.
+         * @param index The variant.
+         * @return The standard error of the difference (0 for the baseline).
+         */
+        public double getDifferenceError(int index) {
+            double w = sums[index][SW] / shoes;
+            double w0 = sums[0][SW] / shoes;
+            double variance = residualProduct(index, false) / (w * w)
+                    + residualProduct(0, false) / (w0 * w0)
+                    - 2 * residualProduct(index, true) / (w * w0);
+            return Math.sqrt(Math.max(variance, 0) / shoes) / Math.sqrt(shoes);
+        }
+
+        // Getters
+
+        public long getShoes() {
+            return shoes;
+        }
+
+        public int getVariantCount() {
+            return results.length;
+        }
+
+        public RuleSet getVariant(int index) {
+            return variants.get(index);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("%d shoes per variant%n", shoes));
+            for (int v = 0; v < results.length; v++) {
+                text.append(String.format("%-34s edge %6.3f%% +/- %.3f%%", variants.get(v),
+                        getHouseEdge(v) * 100, getStandardError(v) * 100));
+                if (v > 0) {
+                    text.append(String.format("   vs baseline %+6.3f%% +/- %.3f%%",
+                            getEdgeDifference(v) * 100, getDifferenceError(v) * 100));
+                }
+                text.append(String.format("%n"));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Builds the usual variants: 3:2 and 6:5 blackjacks, S17 and H17, with and without double
+     * after split and late surrender, all allowing splits to four hands, after a baseline with
+     * the DEFAULT rules.
+     * @return The variants, baseline first.
+     */
+    public static List<RuleSet> standardVariants() {
+        List<RuleSet> variants = new ArrayList<>();
+        variants.add(RuleSet.DEFAULT);
+        for (double payout : new double[] {2.5, 2.2}) {
+            for (boolean hitsSoft17 : new boolean[] {false, true}) {
+                for (boolean doubleAfterSplit : new boolean[] {false, true}) {
+                    for (boolean surrender : new boolean[] {false, true}) {
+                        variants.add(RuleSet.DEFAULT.withBlackjackPayout(payout)
+                                .withDealerHitsSoft17(hitsSoft17)
+                                .withSplits(RuleSet.MAX_SPLIT_HANDS, doubleAfterSplit)
+                                .withLateSurrender(surrender));
+                    }
+                }
+            }
+        }
+        return variants;
+    }
+
+    public static void main(String[] args) {
+        long shoes = args.length > 0 ? Long.parseLong(args[0]) : 20_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        RuleSweep sweep = new RuleSweep(standardVariants(), Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, 1,
+                new BasicStrategy(), seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Result result = sweep.run(shoes, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.print(result);
+        System.out.printf("%d threads: %.1f seconds%n", threads, seconds);
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * A count-based betting strategy that ramps bets by the running count, as used with
+ * unbalanced systems like KO where the running count needs no conversion.
+ */
+public class RunningCountBettingStrategy extends CountBettingStrategy {
+    private static final int[] DEFAULT_UNITS = {1, 2, 4, 6, 8}; // Key count - 1 or less, key, +1, +2, +3 and up
+
+    /**
+     * Constructor for RunningCountBettingStrategy with a 1-8 unit ramp around a key count.
+     * @param counter The counter to read the running count from.
+     * @param keyCount The running count at which the player starts raising bets.
+     */
+    public RunningCountBettingStrategy(CardCounter counter, int keyCount) {
+        this(counter, keyCount - 1, DEFAULT_UNITS);
+    }
+
+    /**
+     * Constructor for RunningCountBettingStrategy.
+     * @param counter The counter to read the running count from.
+     * @param firstCount The running count the first ramp entry applies to.
+     * @param units The number of minimum-bet units to bet at each running count from firstCount up.
+     */
+    public RunningCountBettingStrategy(CardCounter counter, int firstCount, int... units) {
+        super(counter, firstCount, units);
+    }
+
+    @Override
+    protected int count() {
+        return counter.getRunningCount();
+    }
+}
@@ -0,0 +1,188 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Replays a recorded simulation session deterministically. The table is rebuilt with a shoe
+ * seeded like the original, and every bet and decision comes from the recorded session instead
+ * of the original strategies. Rounds are replayed headless, so fast-forwarding through millions
+ * of rounds costs no console or GUI work; the table can then be inspected at any round.
+ * The table plays under the house rules recorded in the log. The session must have been recorded
+ * by a SimulationEngine dealing from new Shoe(numDecks, penetration, new SplittableRandom(seed)).
+ */
+public class SessionReplay {
+    private static final PlayStrategy.Action[] ACTIONS = PlayStrategy.Action.values();
+
+    private final RecordedSession session;
+    private final SimulationEngine engine;
+    private final SimulationResult result = new SimulationResult();
+    private int round;
+    private int nextBet;
+    private int nextDecision;
+
+    /**
+     * Constructor for SessionReplay.
+     * @param session The recorded bets and decisions.
+     * @param seed The seed the original shoe was created with.
+     * @param numSeats The number of player seats at the original table.
+     * @param numDecks The number of decks in the original shoe.
+     * @param penetration The penetration of the original shoe.
+     */
+    public SessionReplay(RecordedSession session, long seed, int numSeats, int numDecks, double penetration) {
+        this.session = session;
+        this.engine = new SimulationEngine(numSeats, new Shoe(numDecks, penetration, new SplittableRandom(seed)),
+                new RecordedPlayStrategy(), new RecordedBettingStrategy(), session.getRules());
+    }
+
+    /**
+     * Replays rounds headless until the given round is the next one to be played.
+     * @param roundIndex The index of the round to stop before (0 for the first round).
+     */
+    public void fastForward(int roundIndex) {
+        if (roundIndex < round || roundIndex > session.getRounds()) {
+            throw new IllegalArgumentException("Cannot fast-forward from round " + round + " to " + roundIndex
+                    + " in a session of " + session.getRounds() + " rounds");
+        }
+        while (round < roundIndex) {
+            playNextRound();
+        }
+    }
+
+    /**
+     * Replays the next round.
+     */
+    public void playNextRound() {
+        if (round == session.getRounds()) {
+            throw new IllegalStateException("The recorded session has no more rounds");
+        }
+        engine.playRound(result);
+        round++;
+        // The replay must consume exactly the bets and decisions the original round made
+        if (nextBet != session.getRoundBetStart(round) || nextDecision != session.getRoundDecisionStart(round)) {
+            throw new IllegalStateException("Replay diverged from the recorded session in round " + (round - 1)
+                    + "; check the seed and table configuration");
+        }
+    }
+
+    /**
+     * Gets the replayed table, for inspecting its state.
+     * @return The table.
+     */
+    public BlackJack getTable() {
+        return engine.getTable();
+    }
+
+    /**
+     * Gets the index of the next round to be replayed.
+     * @return The number of rounds replayed so far.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the totals of the rounds replayed so far.
+     * @return The replayed result.
+     */
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    /**
+     * Feeds the recorded bets back to the table in order.
+     */
+    private class RecordedBettingStrategy implements BettingStrategy {
+        @Override
+        public int determineBet(int availableMoney, int minBet, int maxBet) {
+            if (nextBet == session.getBetCount()) {
+                throw new IllegalStateException("The recorded session has no more bets");
+            }
+            return session.getBet(nextBet++);
+        }
+    }
+
+    /**
+     * Feeds the recorded decisions back to the table in order.
+     */
+    private class RecordedPlayStrategy implements PlayStrategy {
+        @Override
+        public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+            if (nextDecision == session.getDecisionCount()) {
+                throw new IllegalStateException("The recorded session has no more decisions");
+            }
+            return ACTIONS[session.getDecision(nextDecision++)];
+        }
+
+        @Override
+        public boolean takeInsurance(Hand hand) {
+            List<Player> players = engine.getTable().getPlayers();
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).getHand() == hand) {
+                    return session.isInsured(round, i + 1);
+                }
+            }
+            throw new IllegalStateException("Insurance offered on a hand no player holds");
+        }
+    }
+
+    /**
+     * Prints the events of a replayed round.
+     */
+    private static class RoundPrinter implements TableListener {
+        @Override
+        public void roundStarted() {
+        }
+
+        @Override
+        public void betPlaced(int seat, int amount) {
+            System.out.println("Player " + seat + " bets $" + amount);
+        }
+
+        @Override
+        public void cardDealt(int seat, int ordinal) {
+            System.out.println((seat == DEALER_SEAT ? "Dealer" : "Player " + seat) + " is dealt "
+                    + Card.fromOrdinal(ordinal));
+        }
+
+        @Override
+        public void decisionMade(int seat, PlayStrategy.Action action) {
+            System.out.println("Player " + seat + " chooses " + action);
+        }
+
+        @Override
+        public void handSettled(int seat, int wager, int net) {
+            System.out.println("Player " + seat + " wagered $" + wager + " and " + (net >= 0 ? "won $" + net : "lost $" + -net));
+        }
+
+        @Override
+        public void insurancePlaced(int seat, int amount) {
+            System.out.println("Player " + seat + " insures for $" + amount);
+        }
+
+        @Override
+        public void insuranceSettled(int seat, int wager, int net) {
+            System.out.println("Player " + seat + (net >= 0 ? " wins $" + net : " loses $" + -net) + " on insurance");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: SessionReplay <log file> <seed> <seats> <round> [decks] [penetration]");
+            return;
+        }
+        int decks = args.length > 4 ? Integer.parseInt(args[4]) : Shoe.DEFAULT_DECKS;
+        double penetration = args.length > 5 ? Double.parseDouble(args[5]) : Shoe.DEFAULT_PENETRATION;
+        RecordedSession session = RecordedSession.load(Paths.get(args[0]));
+        SessionReplay replay = new SessionReplay(session, Long.parseLong(args[1]), Integer.parseInt(args[2]),
+                decks, penetration);
+
+        long start = System.nanoTime();
+        replay.fastForward(Integer.parseInt(args[3]));
+        System.out.printf("Fast-forwarded %d rounds in %.2f s%n", replay.getRound(), (System.nanoTime() - start) / 1e9);
+
+        replay.getTable().setListener(new RoundPrinter());
+        replay.playNextRound();
+        System.out.println(replay.getTable().getDealer());
+    }
+}
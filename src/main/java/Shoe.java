@@ -0,0 +1,203 @@
+import java.util.SplittableRandom;
+
+/**
+ * Represents a dealing shoe of 1-8 decks with a cut card. Once the cut card comes out the
+ * shoe is reshuffled in place before the next round.
+ */
+public class Shoe extends Deck implements CardSource {
+    public static final int MIN_DECKS = 1;
+    public static final int MAX_DECKS = 8;
+    public static final int DEFAULT_DECKS = 6;
+    public static final double DEFAULT_PENETRATION = 0.75;
+
+    private final double penetration;
+    private final int cutCardPosition;
+    private int roundStart; // Index of the first card dealt in the current round
+
+    /**
+     * Constructor for a six-deck Shoe with 75% penetration.
+     */
+    public Shoe() {
+        this(DEFAULT_DECKS, DEFAULT_PENETRATION);
+    }
+
+    /**
+     * Constructor for Shoe.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     */
+    public Shoe(int numDecks, double penetration) {
+        this(numDecks, penetration, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for Shoe.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param random The random number generator used for shuffling.
+     */
+    public Shoe(int numDecks, double penetration, SplittableRandom random) {
+        this(numDecks, penetration, random, false);
+    }
+
+    /**
+     * Constructor for Shoe.
+     * @param numDecks The number of decks in the shoe (1-8).
+     * @param penetration The fraction of the shoe dealt before the cut card comes out (0-1].
+     * @param random The random number generator used for shuffling.
+     * @param lazy true to shuffle one card per draw, so the cards behind the cut card are never
+     *             shuffled (see Deck).
+     */
+    public Shoe(int numDecks, double penetration, SplittableRandom random, boolean lazy) {
+        super(checkDecks(numDecks), random, lazy);
+        if (penetration <= 0 || penetration > 1) {
+            throw new IllegalArgumentException("Penetration must be in (0, 1], got " + penetration);
+        }
+        this.penetration = penetration;
+        this.cutCardPosition = (int) (cards.length * penetration);
+    }
+
+    private static int checkDecks(int numDecks) {
+        if (numDecks < MIN_DECKS || numDecks > MAX_DECKS) {
+            throw new IllegalArgumentException("A shoe holds " + MIN_DECKS + "-" + MAX_DECKS + " decks, got " + numDecks);
+        }
+        return numDecks;
+    }
+
+    /**
+     * Prepares the shoe for a new round, reshuffling it if the cut card has come out.
+     * @return true if the shoe was reshuffled, false otherwise.
+     */
+    @Override
+    public boolean startRound() {
+        boolean reshuffle = isCutCardReached();
+        if (reshuffle) {
+            reset();
+        }
+        roundStart = position;
+        return reshuffle;
+    }
+
+    /**
+     * Checks if the cut card has come out.
+     * @return true if the shoe should be reshuffled before the next round.
+     */
+    public boolean isCutCardReached() {
+        return position >= cutCardPosition;
+    }
+
+    /**
+     * Draws a card from the shoe. If the shoe runs out mid-round, the discards from earlier
+     * rounds are shuffled back in so the round can finish.
+     * @return The ordinal of the next card.
+     */
+    @Override
+    public int drawOrdinal() {
+        if (position == cards.length) {
+            reshuffleDiscards();
+        }
+        return super.drawOrdinal();
+    }
+
+    /**
+     * Moves the cards dealt this round to the front of the array and shuffles the discards
+     * behind them, all in place.
+     */
+    private void reshuffleDiscards() {
+        if (roundStart == 0) {
+            throw new IllegalStateException("Cannot draw from an empty shoe");
+        }
+        reverse(0, roundStart - 1);
+        reverse(roundStart, cards.length - 1);
+        reverse(0, cards.length - 1);
+        position = cards.length - roundStart;
+        roundStart = 0;
+        countRemaining();
+        shuffle();
+        notifyShuffled();
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            byte tmp = cards[from];
+            cards[from++] = cards[to];
+            cards[to--] = tmp;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        roundStart = 0;
+    }
+
+    /**
+     * Copies the order of the whole shoe, dealt cards included, into an array.
+     * @param order The array to copy into, one element per card in the shoe.
+     */
+    public void copyOrder(byte[] order) {
+        if (order.length != cards.length) {
+            throw new IllegalArgumentException("Order holds " + order.length + " cards, shoe holds " + cards.length);
+        }
+        fixOrder(cards.length); // The rest of a lazy shoe is only shuffled now
+        System.arraycopy(cards, 0, order, 0, cards.length);
+    }
+
+    /**
+     * Replaces the shoe with a freshly shuffled one in the given order, as copied from a shoe with
+     * the same number of decks. Shoes loaded with the same order deal the same cards, which lets
+     * tables playing different rules be compared on identical shoes.
+     * @param order The card ordinals, in dealing order.
+     */
+    public void loadOrder(byte[] order) {
+        if (order.length != cards.length) {
+            throw new IllegalArgumentException("Order holds " + order.length + " cards, shoe holds " + cards.length);
+        }
+        System.arraycopy(order, 0, cards, 0, cards.length);
+        orderFixed();
+        position = 0;
+        roundStart = 0;
+        countRemaining();
+        notifyShuffled();
+    }
+
+    /**
+     * Moves to a position in the current order, as if exactly the cards before it had been dealt.
+     * Tables comparing rules on the same shoe use it to start every round on the same card, even
+     * when their rules drew different numbers of cards in earlier rounds. Observers are not told.
+     * @param next The index of the next card to deal.
+     */
+    public void seek(int next) {
+        if (next < 0 || next > cards.length) {
+            throw new IllegalArgumentException("Position must be 0-" + cards.length + ", got " + next);
+        }
+        fixOrder(next); // The skipped cards must be a random pick, as if dealt
+        position = next;
+        roundStart = next;
+        countRemaining();
+    }
+
+    /**
+     * Gets the number of decks in the shoe.
+     * @return The number of decks.
+     */
+    public int getNumDecks() {
+        return cards.length / Card.DECK_SIZE;
+    }
+
+    /**
+     * Gets the penetration of the shoe.
+     * @return The fraction of the shoe dealt before reshuffling.
+     */
+    public double getPenetration() {
+        return penetration;
+    }
+
+    /**
+     * Gets the position of the cut card.
+     * @return The number of cards dealt before the cut card comes out.
+     */
+    public int getCutCardPosition() {
+        return cutCardPosition;
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds where basic strategy falls short of composition-dependent perfect play over whole shoes.
+ * A one-seat table plays the shoe with BasicStrategy, recording every decision together with the
+ * cards the player had not seen; the decisions are then evaluated by PerfectPlayAnalyzer on a
+ * fork/join pool. Each worker thread keeps its own analyzer, whose caches stay warm from one shoe
+ * to the next.
+ */
+public class ShoeDecisionAnalyzer {
+    private static final int DECISIONS_PER_TASK = 8;
+    private static final int BANKROLL = 1_000_000;
+
+    private final RuleSet rules;
+    private final ThreadLocal<PerfectPlayAnalyzer> analyzers;
+
+    /**
+     * Constructor for ShoeDecisionAnalyzer.
+     * @param rules The house rules the shoes are played under.
+     */
+    public ShoeDecisionAnalyzer(RuleSet rules) {
+        this(rules, PerfectPlayAnalyzer.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor for ShoeDecisionAnalyzer.
+     * @param rules The house rules the shoes are played under.
+     * @param cacheSize The cache size of each worker thread's analyzer.
+     */
+    public ShoeDecisionAnalyzer(RuleSet rules, int cacheSize) {
+        this.rules = rules;
+        this.analyzers = ThreadLocal.withInitial(() -> new PerfectPlayAnalyzer(rules, cacheSize));
+    }
+
+    /**
+     * Plays a shoe from its next card to the cut card and evaluates every decision on the common
+     * fork/join pool.
+     * @param shoe The shoe to play.
+     * @return The decisions and their evaluations.
+     */
+    public Report analyze(Shoe shoe) {
+        return analyze(shoe, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays a shoe from its next card to the cut card and evaluates every decision on the given pool.
+     * @param shoe The shoe to play.
+     * @param pool The pool to evaluate the decisions on.
+     * @return The decisions and their evaluations.
+     */
+    public Report analyze(Shoe shoe, ForkJoinPool pool) {
+        Recorder recorder = new Recorder(shoe);
+        BlackJack table = new BlackJack(1, BANKROLL, recorder, shoe, rules);
+        table.getPlayers().get(0).setBettingStrategy((availableMoney, minBet, maxBet) -> minBet);
+        recorder.dealer = table.getDealer();
+        SimulationResult result = new SimulationResult();
+        do {
+            table.playAutomatedRound(result);
+        } while (!shoe.isCutCardReached());
+
+        List<Decision> decisions = recorder.decisions;
+        pool.invoke(new EvaluateTask(decisions, 0, decisions.size()));
+        return new Report(decisions, result);
+    }
+
+    /**
+     * Evaluates the decisions in [from, to), splitting the range in half until it is small.
+     */
+    private class EvaluateTask extends RecursiveAction {
+        private final List<Decision> decisions;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(List<Decision> decisions, int from, int to) {
+            this.decisions = decisions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DECISIONS_PER_TASK) {
+                PerfectPlayAnalyzer analyzer = analyzers.get();
+                for (int i = from; i < to; i++) {
+                    Decision decision = decisions.get(i);
+                    decision.evaluation = analyzer.evaluate(decision.hand, decision.dealerUpValue,
+                            decision.unseenByValue, decision.canDouble, decision.canSplit, decision.canSurrender);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(decisions, from, mid), new EvaluateTask(decisions, mid, to));
+        }
+    }
+
+    /**
+     * Plays basic strategy and records every decision with the cards unseen at the time: those
+     * left in the shoe and the dealer's hole card.
+     */
+    private static class Recorder implements PlayStrategy {
+        private final PlayStrategy basicStrategy = new BasicStrategy();
+        private final List<Decision> decisions = new ArrayList<>();
+        private final Shoe shoe;
+        private Dealer dealer;
+
+        Recorder(Shoe shoe) {
+            this.shoe = shoe;
+        }
+
+        @Override
+        public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+            return decide(hand, dealerUpValue, canDouble, canSplit, false);
+        }
+
+        @Override
+        public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit,
+                             boolean canSurrender) {
+            Action action = basicStrategy.decide(hand, dealerUpValue, canDouble, canSplit, canSurrender);
+            int[] unseen = new int[Card.VALUE_COUNT];
+            for (int i = 0; i < unseen.length; i++) {
+                unseen[i] = shoe.remainingOfValue(i + Card.MIN_VALUE);
+            }
+            unseen[Card.valueOf(dealer.getHand().getOrdinal(0)) - Card.MIN_VALUE]++;
+            Hand copy = new Hand();
+            for (int i = 0; i < hand.size(); i++) {
+                copy.addOrdinal(hand.getOrdinal(i));
+            }
+            decisions.add(new Decision(copy, dealerUpValue, unseen, canDouble, canSplit, canSurrender, action));
+            return action;
+        }
+    }
+
+    /**
+     * One decision made during the shoe: the hand, what was allowed, what basic strategy played,
+     * and the value of each play.
+     */
+    public static class Decision {
+        private final Hand hand;
+        private final int dealerUpValue;
+        private final int[] unseenByValue;
+        private final boolean canDouble;
+        private final boolean canSplit;
+        private final boolean canSurrender;
+        private final PlayStrategy.Action played;
+        private PerfectPlayAnalyzer.Evaluation evaluation;
+
+        Decision(Hand hand, int dealerUpValue, int[] unseenByValue, boolean canDouble, boolean canSplit,
+                 boolean canSurrender, PlayStrategy.Action played) {
+            this.hand = hand;
+            this.dealerUpValue = dealerUpValue;
+            this.unseenByValue = unseenByValue;
+            this.canDouble = canDouble;
+            this.canSplit = canSplit;
+            this.canSurrender = canSurrender;
+            this.played = played;
+        }
+
+        /**
+         * Checks if perfect play would have played the hand differently.
+         * @return true if the best play is not the one basic strategy made.
+         */
+        public boolean isDeviation() {
+            return evaluation.getBestAction() != played;
+        }
+
+        /**
+         * Gets how much more the best play was worth than the play basic strategy made.
+         * @return The difference in expected value, per unit bet (never negative).
+         */
+        public double getLoss() {
+            return evaluation.getBestValue() - evaluation.getValue(played);
+        }
+
+        // Getters
+
+        public Hand getHand() {
+            return hand;
+        }
+
+        public int getDealerUpValue() {
+            return dealerUpValue;
+        }
+
+        public PlayStrategy.Action getPlayed() {
+            return played;
+        }
+
+        public PerfectPlayAnalyzer.Evaluation getEvaluation() {
+            return evaluation;
+        }
+
+        @Override
+        public String toString() {
+            return hand + " vs " + dealerUpValue + ": played " + played + ", " + evaluation;
+        }
+    }
+
+    /**
+     * The decisions of one shoe and the result of playing it.
+     */
+    public static class Report {
+        private final List<Decision> decisions;
+        private final SimulationResult result;
+
+        Report(List<Decision> decisions, SimulationResult result) {
+            this.decisions = decisions;
+            this.result = result;
+        }
+
+        /**
+         * Gets the number of decisions where perfect play differs from basic strategy.
+         * @return The number of deviations.
+         */
+        public int getDeviations() {
+            int deviations = 0;
+            for (Decision decision : decisions) {
+                if (decision.isDeviation()) {
+                    deviations++;
+                }
+            }
+            return deviations;
+        }
+
+        /**
+         * Gets the expected value basic strategy gave up over the shoe, in units of the bets.
+         * @return The sum of every decision's loss.
+         */
+        public double getTotalLoss() {
+            double loss = 0;
+            for (Decision decision : decisions) {
+                loss += decision.getLoss();
+            }
+            return loss;
+        }
+
+        // Getters
+
+        public List<Decision> getDecisions() {
+            return decisions;
+        }
+
+        public SimulationResult getResult() {
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Decisions: %d, Deviations: %d, EV given up: %.4f units over %d hands",
+                    decisions.size(), getDeviations(), getTotalLoss(), result.getHands());
+        }
+    }
+
+    public static void main(String[] args) {
+        int shoes = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        ShoeDecisionAnalyzer analyzer = new ShoeDecisionAnalyzer(RuleSet.DEFAULT
+                .withSplits(RuleSet.MAX_SPLIT_HANDS, true).withLateSurrender(true));
+        Shoe shoe = new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, new SplittableRandom(seed));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long decisions = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < shoes; i++) {
+            shoe.reset();
+            Report report = analyzer.analyze(shoe, pool);
+            decisions += report.getDecisions().size();
+            System.out.println("Shoe " + (i + 1) + ": " + report);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        System.out.printf("%d threads: %.0f decisions/sec%n", threads, decisions / seconds);
+    }
+}
@@ -0,0 +1,210 @@
+import java.io.Closeable;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shuffles shoes ahead of time on dedicated producer threads, so that tables never stop to
+ * shuffle. A fixed set of shoe arrays, allocated up front, circulates between two bounded
+ * lock-free rings: producers take an array from the free ring, shuffle it in place and publish it
+ * to the ready ring; tables take a ready shoe, copy it into their own shoe and recycle the array to
+ * the free ring. A producer that finds no free array waits, which is the backpressure: the
+ * producers never get more than the buffer ahead of the tables. A table that finds no ready shoe
+ * spins until one arrives (see getStarvedTakes), but never shuffles itself.
+ * Which table gets which shoe depends on timing, so runs using a pipeline are not reproducible.
+ */
+public class ShoePipeline implements Closeable {
+    private static final long PRODUCER_PARK_NANOS = 50_000;
+    private static final long CONSUMER_PARK_NANOS = 1_000;
+    private static final int CONSUMER_SPINS = 100;
+
+    private final int numDecks;
+    private final Ring ready;
+    private final Ring free;
+    private final Thread[] producers;
+    private final AtomicInteger outstanding = new AtomicInteger(); // Shoes taken and not yet recycled
+    private final LongAdder starvedTakes = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for ShoePipeline. Starts the producers, which fill the buffer straight away.
+     * @param numDecks The number of decks in each shoe (1-8).
+     * @param bufferedShoes The number of shoe arrays circulating; at most this many shoes are
+     *                      shuffled ahead of the tables.
+     * @param producerCount The number of producer threads.
+     * @param random The random number generator each producer's stream is split from.
+     */
+    public ShoePipeline(int numDecks, int bufferedShoes, int producerCount, SplittableRandom random) {
+        if (numDecks < Shoe.MIN_DECKS || numDecks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("A shoe holds " + Shoe.MIN_DECKS + "-" + Shoe.MAX_DECKS
+                    + " decks, got " + numDecks);
+        }
+        if (bufferedShoes < 1 || producerCount < 1) {
+            throw new IllegalArgumentException("Need at least one shoe and one producer, got "
+                    + bufferedShoes + " and " + producerCount);
+        }
+        this.numDecks = numDecks;
+        this.ready = new Ring(bufferedShoes);
+        this.free = new Ring(bufferedShoes);
+        for (int i = 0; i < bufferedShoes; i++) {
+            byte[] shoe = new byte[numDecks * Card.DECK_SIZE];
+            for (int j = 0; j < shoe.length; j++) {
+                shoe[j] = (byte) (j % Card.DECK_SIZE);
+            }
+            free.offer(shoe);
+        }
+        this.producers = new Thread[producerCount];
+        for (int i = 0; i < producerCount; i++) {
+            SplittableRandom producerRandom = random.split();
+            producers[i] = Thread.ofPlatform().daemon().name("shoe-producer-" + i)
+                    .start(() -> produce(producerRandom));
+        }
+    }
+
+    private void produce(SplittableRandom random) {
+        while (!closed) {
+            byte[] shoe = free.poll();
+            if (shoe == null) {
+                LockSupport.parkNanos(PRODUCER_PARK_NANOS); // Every shoe is shuffled and waiting
+                continue;
+            }
+            Deck.shuffle(shoe, 0, random);
+            ready.offer(shoe); // Never full: it can hold every array
+        }
+    }
+
+    /**
+     * Takes a shuffled shoe, waiting if none is ready. The caller must recycle it once copied.
+     * @return The card ordinals of the shoe, in dealing order.
+     * @throws IllegalStateException if the pipeline is closed and no shoe is ready.
+     */
+    public byte[] take() {
+        byte[] shoe = ready.poll();
+        if (shoe == null) {
+            starvedTakes.increment();
+            int spins = 0;
+            while ((shoe = ready.poll()) == null) {
+                if (closed) {
+                    throw new IllegalStateException("The shoe pipeline is closed");
+                }
+                if (++spins < CONSUMER_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(CONSUMER_PARK_NANOS);
+                }
+            }
+        }
+        outstanding.incrementAndGet();
+        return shoe;
+    }
+
+    /**
+     * Returns a shoe taken from the pipeline so that it can be shuffled again.
+     * @param shoe The shoe array.
+     */
+    public void recycle(byte[] shoe) {
+        if (shoe.length != numDecks * Card.DECK_SIZE
+                || outstanding.getAndUpdate(count -> Math.max(count - 1, 0)) == 0) {
+            throw new IllegalArgumentException("Not a shoe taken from this pipeline");
+        }
+        free.offer(shoe); // Never full: it can hold every array
+    }
+
+    /**
+     * Stops the producers and waits for them to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread producer : producers) {
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Getters
+
+    public int getNumDecks() {
+        return numDecks;
+    }
+
+    /**
+     * Gets the number of takes that found no shoe ready and had to wait for a producer.
+     * @return The number of starved takes.
+     */
+    public long getStarvedTakes() {
+        return starvedTakes.sum();
+    }
+
+    /**
+     * Bounded multi-producer, multi-consumer ring of shoe arrays. Each slot has a sequence number
+     * telling whether it is ready to be written or read at a given position, and threads claim
+     * positions with a compare-and-set, so neither side ever takes a lock. The slot array itself
+     * is plain: the volatile sequence write publishes the slot written before it.
+     */
+    private static final class Ring {
+        private final byte[][] slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong(); // Next position to offer at
+        private final AtomicLong head = new AtomicLong(); // Next position to poll from
+
+        Ring(int minCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(minCapacity, 2) * 2 - 1);
+            this.slots = new byte[capacity][];
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(byte[] shoe) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots[index] = shoe;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false; // Full
+                } else {
+                    position = tail.get(); // Another thread claimed this position
+                }
+            }
+        }
+
+        byte[] poll() {
+            long position = head.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (head.compareAndSet(position, position + 1)) {
+                        byte[] shoe = slots[index];
+                        slots[index] = null;
+                        sequences.set(index, position + mask + 1);
+                        return shoe;
+                    }
+                    position = head.get();
+                } else if (difference < 0) {
+                    return null; // Empty
+                } else {
+                    position = head.get();
+                }
+            }
+        }
+    }
+}
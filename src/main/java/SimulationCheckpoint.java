@@ -0,0 +1,296 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * A checkpoint file that lets an interrupted ParallelSimulationRunner resume where it stopped.
+ * Every batch of a run is fully determined by the run's seed and the batch's place in the split
+ * tree, so the state worth saving is just the results of the batches already played; a resumed
+ * run replays the rest and merges every result in the same order, which makes its totals
+ * bit-identical to those of an uninterrupted run.
+ * <p>
+ * The file is a header describing the run followed by one record per batch: its length, the
+ * batch number, the result in binary and a CRC32. Records are written asynchronously and double
+ * buffered: a finished batch is serialized into the active buffer, and a writer thread swaps the
+ * buffers at an interval and appends the full one to the file, so simulation threads never wait
+ * for the disk. A record torn by a crash fails its CRC and is dropped on resume, and that batch
+ * is played again. The header is written and forced as soon as a run binds to the file, and a
+ * file cut short while its header was being written is treated as empty.
+ */
+public class SimulationCheckpoint implements Closeable {
+    static final int MAGIC = 0x424A434B; // "BJCK"
+    static final byte VERSION = 1;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 8 + 8 + 8;
+    private static final int RECORD_OVERHEAD = 4 + 8 + 4; // Length, batch and CRC
+
+    private final FileChannel channel;
+    private final OutputStream file;
+    private final Map<Long, byte[]> completed = new HashMap<>(); // Loaded from the file, never changed
+    private ByteBuffer header; // Of the file as found, or null if it was empty
+    private boolean bound;
+    private ByteArrayOutputStream active = new ByteArrayOutputStream();
+    private ByteArrayOutputStream standby = new ByteArrayOutputStream();
+    private final Object writeLock = new Object(); // Held while a buffer goes to disk
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructor for SimulationCheckpoint, flushing every second.
+     * @param path The checkpoint file; created if missing, resumed from if not.
+     * @throws IOException If the file cannot be opened or read.
+     */
+    public SimulationCheckpoint(Path path) throws IOException {
+        this(path, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor for SimulationCheckpoint.
+     * @param path The checkpoint file; created if missing, resumed from if not.
+     * @param flushIntervalMillis How often the writer thread appends finished batches to the file.
+     * @throws IOException If the file cannot be opened or read.
+     */
+    public SimulationCheckpoint(Path path, long flushIntervalMillis) throws IOException {
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("Flush interval must be positive, got " + flushIntervalMillis);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        load();
+        this.file = Channels.newOutputStream(channel);
+        long intervalNanos = flushIntervalMillis * 1_000_000;
+        this.writer = Thread.ofPlatform().daemon().name("checkpoint-writer").start(() -> {
+            while (!closed) {
+                LockSupport.parkNanos(intervalNanos);
+                try {
+                    flush();
+                } catch (UncheckedIOException e) {
+                    return; // Reported by the next flush or close
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the header and every intact record, and cuts off whatever follows them.
+     */
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // Read it all
+        }
+        buffer.flip();
+        if (isUnwrittenHeader(buffer)) {
+            // The run stopped while writing its header, so no batch was recorded
+            channel.truncate(0);
+            return;
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a simulation checkpoint");
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IOException("Unsupported checkpoint version: " + buffer.get(4));
+        }
+        header = buffer.slice(0, HEADER_BYTES);
+        buffer.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_OVERHEAD) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining() - 8 - 4) {
+                buffer.position(start);
+                break;
+            }
+            long batch = buffer.getLong();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(buffer.array(), start + 4, 8 + length);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                buffer.position(start);
+                break;
+            }
+            completed.put(batch, payload);
+        }
+        channel.truncate(buffer.position());
+        channel.position(buffer.position());
+    }
+
+    /**
+     * Checks whether the file holds no more than a header cut short by a crash: all zeros, or
+     * fewer bytes than a header that agree with its start.
+     */
+    private static boolean isUnwrittenHeader(ByteBuffer buffer) {
+        int length = Math.min(buffer.remaining(), HEADER_BYTES);
+        boolean zeros = true;
+        for (int i = 0; i < length && zeros; i++) {
+            zeros = buffer.get(i) == 0;
+        }
+        if (zeros) {
+            return true;
+        }
+        if (length == HEADER_BYTES) {
+            return false;
+        }
+        ByteBuffer start = ByteBuffer.allocate(5).putInt(MAGIC).put(VERSION);
+        for (int i = 0; i < Math.min(length, start.capacity()); i++) {
+            if (buffer.get(i) != start.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ties the checkpoint to a run, checking that a resumed file was written by the same run, or
+     * writing the run's header to a new file and forcing it to disk.
+     * A checkpoint can only be used for one run.
+     * @throws IllegalArgumentException if the file was written by a different run.
+     * @throws UncheckedIOException If the header cannot be written.
+     */
+    void bind(long seed, long roundsPerBatch, long rounds, double targetStandardError) {
+        synchronized (writeLock) { // Taken before this, as flush does
+            synchronized (this) {
+                if (bound) {
+                    throw new IllegalStateException("The checkpoint is already in use by a run");
+                }
+                ByteBuffer expected = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put(VERSION).putLong(seed)
+                        .putLong(roundsPerBatch).putLong(rounds).putLong(Double.doubleToLongBits(targetStandardError))
+                        .flip();
+                if (header == null) {
+                    try {
+                        while (expected.hasRemaining()) {
+                            channel.write(expected);
+                        }
+                        channel.force(false);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                } else if (!header.equals(expected)) {
+                    throw new IllegalArgumentException("The checkpoint was written by a run with a different seed, "
+                            + "batch size or length");
+                }
+                bound = true;
+            }
+        }
+    }
+
+    /**
+     * Gets the result of a batch played before the run was interrupted.
+     * @param batch The batch number.
+     * @return A new copy of the batch's result, or null if it has not been played.
+     */
+    SimulationResult completed(long batch) {
+        byte[] payload = completed.get(batch);
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return SimulationResult.readFrom(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen: the record passed its CRC
+        }
+    }
+
+    /**
+     * Records the result of a finished batch. It reaches the file with the next flush.
+     * @param batch The batch number.
+     * @param result The batch's result.
+     */
+    void record(long batch, SimulationResult result) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0); // Length, filled in below
+            out.writeLong(batch);
+            result.writeTo(out);
+            out.writeInt(0); // CRC
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen in memory
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int length = record.length - RECORD_OVERHEAD;
+        buffer.putInt(0, length);
+        CRC32 crc = new CRC32();
+        crc.update(record, 4, 8 + length);
+        buffer.putInt(record.length - 4, (int) crc.getValue());
+        synchronized (this) {
+            active.write(record, 0, record.length);
+        }
+    }
+
+    /**
+     * Appends every batch recorded so far to the file and forces it to disk.
+     * @throws UncheckedIOException If writing fails.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            ByteArrayOutputStream full;
+            synchronized (this) {
+                full = active;
+                active = standby;
+                standby = full;
+            }
+            if (full.size() == 0) {
+                return;
+            }
+            try {
+                full.writeTo(file);
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            full.reset();
+        }
+    }
+
+    /**
+     * Gets the number of batches the file held when it was opened.
+     * @return The number of batches that will not be played again.
+     */
+    public int getResumedBatches() {
+        return completed.size();
+    }
+
+    /**
+     * Stops the writer thread, flushes the remaining batches and closes the file.
+     * @throws IOException If the last flush or the close fails.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Headless Blackjack simulation engine. Plays rounds through the regular BlackJack round logic,
+ * taking player decisions from a PlayStrategy, with no console input or output.
+ */
+public class SimulationEngine {
+    public static final long CHECK_INTERVAL = 10_000; // Rounds between convergence checks
+
+    private static final int BANKROLL = 1_000_000;
+
+    private final BlackJack table;
+
+    /**
+     * Constructor for SimulationEngine dealing from a default six-deck shoe.
+     * @param numSeats The number of player seats at the table.
+     * @param playStrategy The strategy used for every seat's play decisions.
+     * @param bettingStrategy The strategy used for every seat's bets.
+     */
+    public SimulationEngine(int numSeats, PlayStrategy playStrategy, BettingStrategy bettingStrategy) {
+        this(numSeats, new Shoe(), playStrategy, bettingStrategy);
+    }
+
+    /**
+     * Constructor for SimulationEngine.
+     * @param numSeats The number of player seats at the table.
+     * @param shoe The shoe (or other card source) to deal from.
+     * @param playStrategy The strategy used for every seat's play decisions.
+     * @param bettingStrategy The strategy used for every seat's bets.
+     */
+    public SimulationEngine(int numSeats, CardSource shoe, PlayStrategy playStrategy, BettingStrategy bettingStrategy) {
+        this(numSeats, shoe, playStrategy, bettingStrategy, RuleSet.DEFAULT);
+    }
+
+    /**
+     * Constructor for SimulationEngine playing under the given house rules.
+     * @param numSeats The number of player seats at the table.
+     * @param shoe The shoe (or other card source) to deal from.
+     * @param playStrategy The strategy used for every seat's play decisions.
+     * @param bettingStrategy The strategy used for every seat's bets.
+     * @param rules The house rules.
+     */
+    public SimulationEngine(int numSeats, CardSource shoe, PlayStrategy playStrategy, BettingStrategy bettingStrategy,
+                            RuleSet rules) {
+        this.table = new BlackJack(numSeats, BANKROLL, playStrategy, shoe, rules);
+        for (Player player : table.getPlayers()) {
+            player.setBettingStrategy(bettingStrategy);
+        }
+    }
+
+    /**
+     * Plays the given number of rounds.
+     * @param rounds The number of rounds to play.
+     * @return The aggregated result of the rounds.
+     */
+    public SimulationResult run(long rounds) {
+        SimulationResult result = new SimulationResult();
+        for (long i = 0; i < rounds; i++) {
+            playRound(result);
+        }
+        return result;
+    }
+
+    /**
+     * Plays until the standard error of the expected value per unit wagered falls to the target,
+     * checking every CHECK_INTERVAL rounds, or until the round limit is reached.
+     * @param targetStandardError The standard error to stop at.
+     * @param maxRounds The most rounds to play.
+     * @return The aggregated result of the rounds.
+     */
+    public SimulationResult runUntil(double targetStandardError, long maxRounds) {
+        return runUntil(targetStandardError, maxRounds, statistics -> { });
+    }
+
+    /**
+     * Plays until the standard error of the expected value per unit wagered falls to the target,
+     * checking every CHECK_INTERVAL rounds, or until the round limit is reached.
+     * @param targetStandardError The standard error to stop at.
+     * @param maxRounds The most rounds to play.
+     * @param progress Told the statistics so far at every check, e.g. to report a confidence interval.
+     * @return The aggregated result of the rounds.
+     */
+    public SimulationResult runUntil(double targetStandardError, long maxRounds, Consumer<RoundStatistics> progress) {
+        if (targetStandardError <= 0) {
+            throw new IllegalArgumentException("Target standard error must be positive, got " + targetStandardError);
+        }
+        SimulationResult result = new SimulationResult();
+        for (long i = 1; i <= maxRounds; i++) {
+            playRound(result);
+            if (i % CHECK_INTERVAL == 0) {
+                RoundStatistics statistics = result.getStatistics();
+                progress.accept(statistics);
+                if (statistics.getStandardError() <= targetStandardError) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays a single round.
+     * @param result The result to record the round into.
+     */
+    public void playRound(SimulationResult result) {
+        // Keep every seat funded so the simulation measures the game, not bankroll depletion
+        for (Player player : table.getPlayers()) {
+            // Splits and doubles can put up to eight bets on one hand
+            if (player.getMoney() < table.getRules().getMaxBet() * RuleSet.MAX_SPLIT_HANDS * 2) {
+                player.setMoney(BANKROLL);
+            }
+        }
+        table.playAutomatedRound(result);
+    }
+
+    /**
+     * Gets the table being simulated.
+     * @return The simulated BlackJack table.
+     */
+    public BlackJack getTable() {
+        return table;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        double targetError = args.length > 4 ? Double.parseDouble(args[4]) : 0; // 0 plays every round
+        SimulationEngine engine = new SimulationEngine(seats,
+                new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, new SplittableRandom(seed)),
+                new BasicStrategy(), (availableMoney, minBet, maxBet) -> minBet);
+        EventLogWriter log = args.length > 2
+                ? new EventLogWriter(Paths.get(args[2]), engine.getTable().getRules()) : null;
+        engine.getTable().setListener(log);
+        TableMetrics metrics = new TableMetrics();
+        metrics.register("simulation");
+        engine.getTable().setMetrics(metrics);
+
+        long start = System.nanoTime();
+        SimulationResult result = targetError > 0
+                ? engine.runUntil(targetError, rounds, statistics -> System.out.println(statistics))
+                : engine.run(rounds);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (log != null) {
+            log.close();
+        }
+
+        System.out.println(result);
+        System.out.println(result.getStatistics());
+        System.out.printf("%.0f rounds/sec (seed %d)%n", result.getRounds() / seconds, seed);
+        System.out.println(metrics.snapshot());
+    }
+}
@@ -0,0 +1,249 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Aggregated outcome of a batch of simulated Blackjack rounds. Besides the totals, it keeps
+ * streaming statistics of the round results, for the table and per seat, so the uncertainty of
+ * the expected value is known while the run goes on. Seats at one table share the dealer's hand
+ * and the shoe, so their results are correlated; the table's statistics therefore take one
+ * observation per round, the sum over every seat, rather than one per seat.
+ */
+public class SimulationResult {
+    private long rounds;
+    private long hands;
+    private long wins;
+    private long losses;
+    private long pushes;
+    private long blackjacks;
+    private long busts;
+    private long sideBets;
+    private long totalWagered;
+    private long netWinnings;
+    private RoundStatistics statistics = new RoundStatistics();
+    private RoundStatistics[] seatStatistics = new RoundStatistics[0];
+
+    /**
+     * Records the completion of a round.
+     */
+    public void recordRound() {
+        rounds++;
+    }
+
+    /**
+     * Records a settled hand.
+     * @param wager The total amount bet on the hand, including any double down.
+     * @param net The amount won (positive) or lost (negative) on the hand.
+     * @param blackjack Whether the hand was a blackjack.
+     * @param busted Whether the hand busted.
+     */
+    public void recordHand(int wager, int net, boolean blackjack, boolean busted) {
+        hands++;
+        totalWagered += wager;
+        netWinnings += net;
+        if (net > 0) {
+            wins++;
+        } else if (net < 0) {
+            losses++;
+        } else {
+            pushes++;
+        }
+        if (blackjack) {
+            blackjacks++;
+        }
+        if (busted) {
+            busts++;
+        }
+    }
+
+    /**
+     * Records a settled side bet, such as insurance. It counts towards the amount wagered and the
+     * net winnings, but not towards the hands.
+     * @param wager The amount bet.
+     * @param net The amount won (positive) or lost (negative).
+     */
+    public void recordSideBet(int wager, int net) {
+        sideBets++;
+        totalWagered += wager;
+        netWinnings += net;
+    }
+
+    /**
+     * Records one seat's total for a round, after its hands and side bets have been recorded.
+     * @param seat The seat (1 for the first player).
+     * @param wager The total amount the seat bet in the round.
+     * @param net The amount the seat won (positive) or lost (negative) in the round.
+     */
+    public void recordSeatRound(int seat, int wager, int net) {
+        getOrAddSeat(seat).add(wager, net);
+    }
+
+    /**
+     * Records the whole table's total for a round, summed over every seat.
+     * @param wager The total amount bet at the table in the round.
+     * @param net The amount the seats won (positive) or lost (negative) in the round, together.
+     */
+    public void recordTableRound(long wager, long net) {
+        statistics.add(wager, net);
+    }
+
+    private RoundStatistics getOrAddSeat(int seat) {
+        if (seat > seatStatistics.length) {
+            int seats = seatStatistics.length;
+            seatStatistics = Arrays.copyOf(seatStatistics, seat);
+            for (int i = seats; i < seat; i++) {
+                seatStatistics[i] = new RoundStatistics();
+            }
+        }
+        return seatStatistics[seat - 1];
+    }
+
+    /**
+     * Adds another result's totals to this one.
+     * @param other The result to merge in.
+     * @return This result, for chaining.
+     */
+    public SimulationResult merge(SimulationResult other) {
+        rounds += other.rounds;
+        hands += other.hands;
+        wins += other.wins;
+        losses += other.losses;
+        pushes += other.pushes;
+        blackjacks += other.blackjacks;
+        busts += other.busts;
+        sideBets += other.sideBets;
+        totalWagered += other.totalWagered;
+        netWinnings += other.netWinnings;
+        statistics.merge(other.statistics);
+        for (int seat = 1; seat <= other.seatStatistics.length; seat++) {
+            getOrAddSeat(seat).merge(other.seatStatistics[seat - 1]);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the result in binary, exactly, so that reading it back and merging gives results
+     * identical to merging the original.
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(rounds);
+        out.writeLong(hands);
+        out.writeLong(wins);
+        out.writeLong(losses);
+        out.writeLong(pushes);
+        out.writeLong(blackjacks);
+        out.writeLong(busts);
+        out.writeLong(sideBets);
+        out.writeLong(totalWagered);
+        out.writeLong(netWinnings);
+        statistics.writeTo(out);
+        out.writeInt(seatStatistics.length);
+        for (RoundStatistics seat : seatStatistics) {
+            seat.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a result written by writeTo.
+     * @param in The input to read from.
+     * @return The result.
+     * @throws IOException If reading fails.
+     */
+    public static SimulationResult readFrom(DataInput in) throws IOException {
+        SimulationResult result = new SimulationResult();
+        result.rounds = in.readLong();
+        result.hands = in.readLong();
+        result.wins = in.readLong();
+        result.losses = in.readLong();
+        result.pushes = in.readLong();
+        result.blackjacks = in.readLong();
+        result.busts = in.readLong();
+        result.sideBets = in.readLong();
+        result.totalWagered = in.readLong();
+        result.netWinnings = in.readLong();
+        result.statistics = RoundStatistics.readFrom(in);
+        int seats = in.readInt();
+        if (seats < 0) {
+            throw new IOException("Invalid seat count: " + seats);
+        }
+        result.seatStatistics = new RoundStatistics[seats];
+        for (int i = 0; i < seats; i++) {
+            result.seatStatistics[i] = RoundStatistics.readFrom(in);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the player's expected value per unit wagered (the negative of the house edge).
+     * @return The net winnings divided by the total amount wagered, or 0 if nothing was wagered.
+     */
+    public double getExpectedValue() {
+        return totalWagered == 0 ? 0 : (double) netWinnings / totalWagered;
+    }
+
+    /**
+     * Gets the streaming statistics of one seat's rounds.
+     * @param seat The seat (1 for the first player).
+     * @return The seat's statistics (empty if the seat never played).
+     */
+    public RoundStatistics getSeatStatistics(int seat) {
+        return seat <= seatStatistics.length ? seatStatistics[seat - 1] : new RoundStatistics();
+    }
+
+    // Getters
+
+    public RoundStatistics getStatistics() {
+        return statistics;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public long getPushes() {
+        return pushes;
+    }
+
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    public long getBusts() {
+        return busts;
+    }
+
+    public long getSideBets() {
+        return sideBets;
+    }
+
+    public long getTotalWagered() {
+        return totalWagered;
+    }
+
+    public long getNetWinnings() {
+        return netWinnings;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Rounds: %d, Hands: %d, Wins: %d, Losses: %d, Pushes: %d, Blackjacks: %d, Busts: %d, "
+                        + "Wagered: $%d, Net: $%d, EV: %.4f%%",
+                rounds, hands, wins, losses, pushes, blackjacks, busts, totalWagered, netWinnings,
+                getExpectedValue() * 100);
+    }
+}
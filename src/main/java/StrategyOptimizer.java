@@ -0,0 +1,353 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Searches the parameters of a family of betting strategies for the best risk-adjusted return.
+ * A candidate is scored by playing sessions of a fixed number of rounds from a starting bankroll
+ * at a one-seat table, and taking the mean log of the bankroll's growth: the growth rate Kelly
+ * betting maximises, which punishes big swings and ruin as well as losses.
+ * <p>
+ * Every candidate plays the same sessions, each dealt from a shoe seeded by the same seed, so the
+ * cards differ between candidates only where their bets change the play; comparing candidates
+ * session by session cancels most of the luck of the cards. Candidates are raced: they play the
+ * sessions block by block, and after each block every candidate whose paired shortfall against
+ * the leader is significant is dropped. The search itself is evolutionary: each generation keeps
+ * the best few candidates that survived every session and fills the population with mutations
+ * of them, with a mutation step that shrinks from one generation to the next. Sessions are played
+ * on a fork/join pool, and the same seed gives the same search for any number of threads.
+ */
+public class StrategyOptimizer {
+    private static final int SESSIONS_PER_BLOCK = 32;
+    private static final int SESSIONS_PER_TASK = 4;
+    private static final double INITIAL_STEP = 0.25; // Of each parameter's range
+    private static final double STEP_DECAY = 0.7;    // Per generation
+
+    private final BiFunction<double[], CardSource, BettingStrategy> family;
+    private final double[] lower;
+    private final double[] upper;
+    private final PlayStrategy playStrategy;
+    private final RuleSet rules;
+    private final int bankroll;
+    private final int roundsPerSession;
+    private final long seed;
+    private final LongAdder sessionsPlayed = new LongAdder();
+
+    /**
+     * Constructor for StrategyOptimizer.
+     * @param family Builds a betting strategy from parameters for a session dealt from the given
+     *               shoe; strategies that count cards register their counter with it.
+     * @param lower The lowest value of each parameter.
+     * @param upper The highest value of each parameter.
+     * @param playStrategy The strategy for the play decisions in every session.
+     * @param rules The house rules.
+     * @param bankroll The bankroll every session starts with.
+     * @param roundsPerSession The number of rounds in a session, unless the bankroll runs out.
+     * @param seed The seed for the sessions and the search.
+     */
+    public StrategyOptimizer(BiFunction<double[], CardSource, BettingStrategy> family, double[] lower, double[] upper,
+                             PlayStrategy playStrategy, RuleSet rules, int bankroll, int roundsPerSession, long seed) {
+        if (lower.length == 0 || lower.length != upper.length) {
+            throw new IllegalArgumentException("Need bounds for each parameter, got " + lower.length + " lower and "
+                    + upper.length + " upper");
+        }
+        for (int i = 0; i < lower.length; i++) {
+            if (!(lower[i] <= upper[i])) {
+                throw new IllegalArgumentException("Parameter " + i + " has bounds " + lower[i] + " > " + upper[i]);
+            }
+        }
+        if (bankroll < rules.getMinBet() || roundsPerSession < 1) {
+            throw new IllegalArgumentException("Sessions need a bankroll covering the minimum bet and at least one "
+                    + "round, got " + bankroll + " and " + roundsPerSession);
+        }
+        this.family = family;
+        this.lower = lower.clone();
+        this.upper = upper.clone();
+        this.playStrategy = playStrategy;
+        this.rules = rules;
+        this.bankroll = bankroll;
+        this.roundsPerSession = roundsPerSession;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the search on the common fork/join pool.
+     * @param generations The number of generations.
+     * @param populationSize The number of candidates raced in each generation.
+     * @param sessions The number of sessions a candidate must survive to be kept.
+     * @return The best candidate found.
+     */
+    public Candidate optimize(int generations, int populationSize, int sessions) {
+        return optimize(generations, populationSize, sessions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the search on the given pool.
+     * @param generations The number of generations.
+     * @param populationSize The number of candidates raced in each generation.
+     * @param sessions The number of sessions a candidate must survive to be kept; rounded up to
+     *                 whole blocks of sessions.
+     * @param pool The pool to play the sessions on.
+     * @return The best candidate found.
+     */
+    public Candidate optimize(int generations, int populationSize, int sessions, ForkJoinPool pool) {
+        if (generations < 1 || populationSize < 2 || sessions < 1) {
+            throw new IllegalArgumentException("Need at least one generation, two candidates and one session, got "
+                    + generations + ", " + populationSize + " and " + sessions);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] sessionSeeds = new long[(sessions + SESSIONS_PER_BLOCK - 1) / SESSIONS_PER_BLOCK * SESSIONS_PER_BLOCK];
+        for (int s = 0; s < sessionSeeds.length; s++) {
+            sessionSeeds[s] = random.nextLong();
+        }
+        int eliteSize = Math.max(1, populationSize / 4);
+
+        List<Candidate> population = new ArrayList<>();
+        double[] middle = new double[lower.length];
+        for (int i = 0; i < middle.length; i++) {
+            middle[i] = (lower[i] + upper[i]) / 2;
+        }
+        population.add(new Candidate(middle, sessionSeeds.length));
+        while (population.size() < populationSize) {
+            double[] parameters = new double[lower.length];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = lower[i] + random.nextDouble() * (upper[i] - lower[i]);
+            }
+            population.add(new Candidate(parameters, sessionSeeds.length));
+        }
+
+        Candidate best = null;
+        double step = INITIAL_STEP;
+        for (int generation = 0; generation < generations; generation++) {
+            List<Candidate> survivors = race(population, sessionSeeds, pool);
+            survivors.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            if (best == null || survivors.get(0).getScore() > best.getScore()) {
+                best = survivors.get(0);
+            }
+            List<Candidate> elite = survivors.subList(0, Math.min(eliteSize, survivors.size()));
+            population = new ArrayList<>(elite); // Already scored on every session
+            while (population.size() < populationSize) {
+                Candidate parent = elite.get(random.nextInt(elite.size()));
+                double[] parameters = new double[lower.length];
+                for (int i = 0; i < parameters.length; i++) {
+                    double mutated = parent.parameters[i] + random.nextGaussian() * step * (upper[i] - lower[i]);
+                    parameters[i] = Math.max(lower[i], Math.min(mutated, upper[i]));
+                }
+                population.add(new Candidate(parameters, sessionSeeds.length));
+            }
+            step *= STEP_DECAY;
+        }
+        return best;
+    }
+
+    /**
+     * Plays the candidates through the sessions block by block, dropping those significantly
+     * behind the leader after each block.
+     * @return The candidates that played every session.
+     */
+    private List<Candidate> race(List<Candidate> candidates, long[] sessionSeeds, ForkJoinPool pool) {
+        List<Candidate> alive = new ArrayList<>(candidates);
+        for (int played = SESSIONS_PER_BLOCK; played <= sessionSeeds.length; played += SESSIONS_PER_BLOCK) {
+            List<Candidate> behind = new ArrayList<>();
+            for (Candidate candidate : alive) {
+                if (candidate.sessions < played) {
+                    behind.add(candidate);
+                }
+            }
+            if (!behind.isEmpty()) {
+                pool.invoke(new SessionTask(behind, sessionSeeds, played, 0, behind.size() * SESSIONS_PER_BLOCK));
+                for (Candidate candidate : behind) {
+                    candidate.sessions = played;
+                }
+            }
+            if (played == sessionSeeds.length) {
+                break;
+            }
+            Candidate leader = alive.get(0);
+            for (Candidate candidate : alive) {
+                if (candidate.mean(played) > leader.mean(played)) {
+                    leader = candidate;
+                }
+            }
+            List<Candidate> kept = new ArrayList<>();
+            for (Candidate candidate : alive) {
+                if (candidate == leader || !candidate.isSignificantlyBehind(leader, played)) {
+                    kept.add(candidate);
+                }
+            }
+            alive = kept;
+        }
+        return alive;
+    }
+
+    /**
+     * Plays one session for a candidate.
+     * @return The log of the bankroll's growth; a ruined session counts as ending with 1.
+     */
+    private double playSession(double[] parameters, long sessionSeed) {
+        Shoe shoe = new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, new SplittableRandom(sessionSeed), true);
+        Player player = new Player("Candidate", bankroll, family.apply(parameters, shoe));
+        BlackJack table = new BlackJack(List.of(player), playStrategy, shoe, rules);
+        SimulationResult result = new SimulationResult();
+        for (int round = 0; round < roundsPerSession && player.getMoney() >= rules.getMinBet(); round++) {
+            table.playAutomatedRound(result);
+        }
+        sessionsPlayed.increment();
+        return Math.log(Math.max(player.getMoney(), 1) / (double) bankroll);
+    }
+
+    /**
+     * Plays the [from, to) range of the flattened (candidate, session) pairs of the block ending
+     * at the given session, splitting the range in half until it is small.
+     */
+    private class SessionTask extends RecursiveAction {
+        private final List<Candidate> candidates;
+        private final long[] sessionSeeds;
+        private final int blockEnd;
+        private final int from;
+        private final int to;
+
+        SessionTask(List<Candidate> candidates, long[] sessionSeeds, int blockEnd, int from, int to) {
+            this.candidates = candidates;
+            this.sessionSeeds = sessionSeeds;
+            this.blockEnd = blockEnd;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SESSIONS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    Candidate candidate = candidates.get(i / SESSIONS_PER_BLOCK);
+                    int session = blockEnd - SESSIONS_PER_BLOCK + i % SESSIONS_PER_BLOCK;
+                    candidate.scores[session] = playSession(candidate.parameters, sessionSeeds[session]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SessionTask(candidates, sessionSeeds, blockEnd, from, mid),
+                    new SessionTask(candidates, sessionSeeds, blockEnd, mid, to));
+        }
+    }
+
+    /**
+     * Gets the number of sessions played so far, over every search; racing keeps it well below
+     * generations x population x sessions.
+     * @return The number of sessions played.
+     */
+    public long getSessionsPlayed() {
+        return sessionsPlayed.sum();
+    }
+
+    /**
+     * A point in the parameter space with its score in each session played so far.
+     */
+    public static class Candidate {
+        private final double[] parameters;
+        private final double[] scores; // Per session
+        private int sessions; // Sessions played, always from the first
+
+        Candidate(double[] parameters, int maxSessions) {
+            this.parameters = parameters;
+            this.scores = new double[maxSessions];
+        }
+
+        private double mean(int count) {
+            double sum = 0;
+            for (int s = 0; s < count; s++) {
+                sum += scores[s];
+            }
+            return sum / count;
+        }
+
+        // Whether this candidate's paired shortfall against the leader is beyond chance
+        private boolean isSignificantlyBehind(Candidate leader, int count) {
+            double meanDifference = mean(count) - leader.mean(count);
+            double squares = 0;
+            for (int s = 0; s < count; s++) {
+                double deviation = scores[s] - leader.scores[s] - meanDifference;
+                squares += deviation * deviation;
+            }
+            double standardError = Math.sqrt(squares / (count - 1) / count);
+            return meanDifference + RoundStatistics.Z_95 * standardError < 0;
+        }
+
+        /**
+         * Gets the mean log growth of the bankroll per session.
+         * @return The score.
+         */
+        public double getScore() {
+            return mean(sessions);
+        }
+
+        /**
+         * Gets the standard error of the score.
+         * @return The standard error.
+         */
+        public double getStandardError() {
+            double mean = getScore();
+            double squares = 0;
+            for (int s = 0; s < sessions; s++) {
+                squares += (scores[s] - mean) * (scores[s] - mean);
+            }
+            return Math.sqrt(squares / (sessions - 1) / sessions);
+        }
+
+        // Getters
+
+        public double[] getParameters() {
+            return parameters.clone();
+        }
+
+        public int getSessions() {
+            return sessions;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Parameters %s: log growth %.5f +/- %.5f (95%%) per session over %d sessions",
+                    Arrays.toString(parameters), getScore(), RoundStatistics.Z_95 * getStandardError(), sessions);
+        }
+    }
+
+    public static void main(String[] args) {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int populationSize = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        RuleSet rules = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true).withLateSurrender(true);
+        PlayStrategy playStrategy = new BasicStrategy();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        // The fraction of the bankroll DefaultBettingStrategy bets
+        StrategyOptimizer fraction = new StrategyOptimizer(
+                (parameters, shoe) -> new DefaultBettingStrategy(parameters[0]),
+                new double[] {0.01}, new double[] {0.5}, playStrategy, rules, 1_000, 500, seed);
+        // A Hi-Lo true count ramp: where it starts, and how steeply it climbs in units per count
+        StrategyOptimizer ramp = new StrategyOptimizer((parameters, shoe) -> {
+            CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, Shoe.DEFAULT_DECKS);
+            shoe.addObserver(counter);
+            int[] units = new int[6];
+            for (int i = 0; i < units.length; i++) {
+                units[i] = 1 + (int) Math.round(i * parameters[1]);
+            }
+            return new TrueCountBettingStrategy(counter, (int) Math.round(parameters[0]), units);
+        }, new double[] {-1, 0}, new double[] {4, 4}, playStrategy, rules, 2_000, 500, seed);
+
+        for (StrategyOptimizer optimizer : new StrategyOptimizer[] {fraction, ramp}) {
+            long start = System.nanoTime();
+            Candidate best = optimizer.optimize(generations, populationSize, sessions, pool);
+            System.out.printf("Best: %s%n%d of %d sessions played (%.1f s)%n", best, optimizer.getSessionsPlayed(),
+                    (long) generations * populationSize * sessions, (System.nanoTime() - start) / 1e9);
+        }
+        pool.shutdown();
+    }
+}
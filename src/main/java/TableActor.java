@@ -0,0 +1,362 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One table of the GameServer. The table is an actor: a single (virtual) thread owns the
+ * BlackJack table with its dealer, shoe and seats, and every request from a client arrives as a
+ * message in the table's mailbox. Nothing else touches the table, so it needs no locking.
+ * <p>
+ * A round starts once every seated player has bet, or when the bet window closes after the first
+ * bet. During the round the actor blocks on its mailbox for the acting seat's decision; blocking
+ * is cheap on a virtual thread, so thousands of idle tables cost little more than their memory.
+ * Joins, leaves and bets that arrive mid-round are handled once the round is over.
+ */
+public class TableActor implements Runnable {
+    public static final int MAX_SEATS = 7;
+    public static final long DEFAULT_BET_WINDOW_MILLIS = 10_000;
+    public static final long DEFAULT_DECISION_TIMEOUT_MILLIS = 30_000;
+
+    private final int id;
+    private final int initialMoney;
+    private final long betWindowMillis;
+    private final long decisionTimeoutMillis;
+    private final BlockingQueue<Message> mailbox = new LinkedBlockingQueue<>();
+    private final ArrayDeque<Message> deferred = new ArrayDeque<>();
+    private final ClientSession[] seats = new ClientSession[MAX_SEATS];
+    private final int[] pendingBets = new int[MAX_SEATS];
+    private final BlackJack table;
+    private final SimulationResult result = new SimulationResult();
+
+    /**
+     * Constructor for TableActor.
+     * @param id The table number clients join with.
+     * @param initialMoney The bankroll each player is given on joining.
+     * @param betWindowMillis How long to wait for the remaining bets after the first one.
+     * @param decisionTimeoutMillis How long a player may take to act before standing.
+     * @param metrics The metrics to record the table's play into, or null for none.
+     */
+    public TableActor(int id, int initialMoney, long betWindowMillis, long decisionTimeoutMillis,
+                      TableMetrics metrics) {
+        this.table = new BlackJack(MAX_SEATS, 0, new RemotePlayStrategy(), new Shoe());
+        if (initialMoney < table.getRules().getMinBet()) {
+            throw new IllegalArgumentException("Initial money must cover the minimum bet: " + initialMoney);
+        }
+        this.id = id;
+        this.initialMoney = initialMoney;
+        this.betWindowMillis = betWindowMillis;
+        this.decisionTimeoutMillis = decisionTimeoutMillis;
+        List<Player> players = table.getPlayers();
+        for (int i = 0; i < MAX_SEATS; i++) {
+            int seat = i;
+            players.get(i).setBettingStrategy((availableMoney, minBet, maxBet) -> pendingBets[seat]);
+        }
+        table.setListener(new Broadcaster());
+        table.setMetrics(metrics);
+    }
+
+    /**
+     * Posts a message to the table's mailbox. Safe to call from any thread.
+     * @param message The message.
+     */
+    public void post(Message message) {
+        mailbox.add(message);
+    }
+
+    /**
+     * Runs the table until its thread is interrupted.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                collectBets();
+                table.playAutomatedRound(result);
+                Arrays.fill(pendingBets, 0);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Handles messages until the bets for the next round are in.
+     */
+    private void collectBets() throws InterruptedException {
+        long deadline = 0;
+        while (true) {
+            boolean anyBet = false;
+            boolean allBet = true;
+            for (int i = 0; i < MAX_SEATS; i++) {
+                if (seats[i] != null) {
+                    anyBet |= pendingBets[i] > 0;
+                    allBet &= pendingBets[i] > 0;
+                }
+            }
+            if (!anyBet) {
+                deadline = 0;
+            } else if (allBet) {
+                return;
+            } else if (deadline == 0) {
+                deadline = System.currentTimeMillis() + betWindowMillis;
+            }
+
+            Message message = deferred.poll();
+            if (message == null) {
+                if (deadline == 0) {
+                    message = mailbox.take();
+                } else {
+                    message = mailbox.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        return; // Bet window closed; seats without a bet sit this round out
+                    }
+                }
+            }
+            handle(message);
+        }
+    }
+
+    private void handle(Message message) {
+        ClientSession session = message.session;
+        switch (message.type) {
+            case JOIN:
+                join(session);
+                break;
+            case LEAVE:
+                leave(session);
+                break;
+            case BET:
+                bet(session, message.amount);
+                break;
+            case ACTION:
+                session.send("ERROR No hand in play");
+                break;
+        }
+    }
+
+    private void join(ClientSession session) {
+        for (int i = 0; i < MAX_SEATS; i++) {
+            if (seats[i] == null) {
+                seats[i] = session;
+                table.getPlayers().get(i).setMoney(initialMoney);
+                session.seated(this);
+                session.send("SEATED " + id + " " + (i + 1) + " " + initialMoney);
+                return;
+            }
+        }
+        session.joinRefused();
+        session.send("ERROR Table " + id + " is full");
+    }
+
+    private void leave(ClientSession session) {
+        int index = indexOf(session);
+        if (index < 0) {
+            return;
+        }
+        seats[index] = null;
+        pendingBets[index] = 0;
+        table.getPlayers().get(index).setMoney(0);
+        session.left();
+        session.send("LEFT " + id);
+    }
+
+    private void bet(ClientSession session, int amount) {
+        int index = indexOf(session);
+        if (index < 0) {
+            return; // Left before the bet was handled
+        }
+        int money = table.getPlayers().get(index).getMoney();
+        RuleSet rules = table.getRules();
+        if (amount < rules.getMinBet() || amount > rules.getMaxBet()) {
+            session.send("ERROR Bets must be between " + rules.getMinBet() + " and " + rules.getMaxBet());
+        } else if (amount > money) {
+            session.send("ERROR Insufficient funds: " + money);
+        } else {
+            pendingBets[index] = amount;
+        }
+    }
+
+    private int indexOf(ClientSession session) {
+        for (int i = 0; i < MAX_SEATS; i++) {
+            if (seats[i] == session) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void broadcast(String line) {
+        for (ClientSession session : seats) {
+            if (session != null) {
+                session.send(line);
+            }
+        }
+    }
+
+    // Getters
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the statistics of every round played at this table. Only safe to read from the table's
+     * own thread or once the table has stopped.
+     * @return The table's result.
+     */
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    /**
+     * A request from a client to a table.
+     */
+    public static final class Message {
+        /**
+         * The kinds of request a client can make.
+         */
+        public enum Type { JOIN, LEAVE, BET, ACTION }
+
+        private final Type type;
+        private final ClientSession session;
+        private final int amount;
+        private final PlayStrategy.Action action;
+
+        private Message(Type type, ClientSession session, int amount, PlayStrategy.Action action) {
+            this.type = type;
+            this.session = session;
+            this.amount = amount;
+            this.action = action;
+        }
+
+        public static Message join(ClientSession session) {
+            return new Message(Type.JOIN, session, 0, null);
+        }
+
+        public static Message leave(ClientSession session) {
+            return new Message(Type.LEAVE, session, 0, null);
+        }
+
+        public static Message bet(ClientSession session, int amount) {
+            return new Message(Type.BET, session, amount, null);
+        }
+
+        public static Message action(ClientSession session, PlayStrategy.Action action) {
+            return new Message(Type.ACTION, session, 0, action);
+        }
+    }
+
+    /**
+     * Asks the acting seat's client for each decision, waiting on the mailbox. A client that
+     * leaves or times out stands; a double the hand does not allow is refused and asked again.
+     */
+    private class RemotePlayStrategy implements PlayStrategy {
+        @Override
+        public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+            int index = table.getPlayers().indexOf(table.getActingPlayer());
+            ClientSession session = seats[index];
+            if (session == null) {
+                return Action.STAND;
+            }
+            broadcast("TURN " + (index + 1));
+            long deadline = System.currentTimeMillis() + decisionTimeoutMillis;
+            try {
+                while (true) {
+                    Message message = mailbox.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        return Action.STAND;
+                    }
+                    if (message.session == session && message.type == Message.Type.ACTION) {
+                        if (message.action == Action.DOUBLE && !canDouble) {
+                            session.send("ERROR Cannot double");
+                            continue;
+                        }
+                        return message.action;
+                    }
+                    if (message.type == Message.Type.ACTION) {
+                        message.session.send("ERROR Not your turn");
+                        continue;
+                    }
+                    deferred.add(message);
+                    if (message.session == session && message.type == Message.Type.LEAVE) {
+                        return Action.STAND;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Action.STAND;
+            }
+        }
+    }
+
+    /**
+     * Turns table events into protocol lines for everyone seated. The dealer's hole card is
+     * announced as HIDDEN and revealed with HOLE before the dealer's next card or the first
+     * settlement.
+     */
+    private class Broadcaster implements TableListener {
+        private int dealerCards;
+        private int holeCard = -1;
+
+        @Override
+        public void roundStarted() {
+            dealerCards = 0;
+            holeCard = -1;
+            broadcast("ROUND");
+        }
+
+        @Override
+        public void betPlaced(int seat, int amount) {
+            broadcast("BET " + seat + " " + amount);
+        }
+
+        @Override
+        public void cardDealt(int seat, int ordinal) {
+            if (seat == DEALER_SEAT && dealerCards++ == 0) {
+                holeCard = ordinal;
+                broadcast("CARD " + seat + " HIDDEN");
+                return;
+            }
+            if (seat == DEALER_SEAT && dealerCards > 2) {
+                revealHoleCard();
+            }
+            broadcast("CARD " + seat + " " + format(ordinal));
+        }
+
+        @Override
+        public void decisionMade(int seat, PlayStrategy.Action action) {
+            broadcast("ACTION " + seat + " " + action);
+        }
+
+        @Override
+        public void handSettled(int seat, int wager, int net) {
+            revealHoleCard();
+            broadcast("RESULT " + seat + " " + net + " " + table.getPlayers().get(seat - 1).getMoney());
+        }
+
+        @Override
+        public void insurancePlaced(int seat, int amount) {
+            // The server's tables do not offer insurance
+        }
+
+        @Override
+        public void insuranceSettled(int seat, int wager, int net) {
+            // The server's tables do not offer insurance
+        }
+
+        private void revealHoleCard() {
+            if (holeCard >= 0) {
+                broadcast("HOLE " + format(holeCard));
+                holeCard = -1;
+            }
+        }
+
+        private String format(int ordinal) {
+            Card card = Card.fromOrdinal(ordinal);
+            return card.getRank() + " " + card.getSuit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Interface for anything that follows the play at a table, such as the binary EventLogWriter.
+ * Seats are numbered from 1 in player order; the dealer is DEALER_SEAT.
+ */
+public interface TableListener {
+    int DEALER_SEAT = 0;
+
+    /**
+     * Called before the bets of a new round are placed.
+     */
+    void roundStarted();
+
+    /**
+     * Called when a player places a bet.
+     * @param seat The player's seat.
+     * @param amount The amount bet.
+     */
+    void betPlaced(int seat, int amount);
+
+    /**
+     * Called for every card dealt to a player or the dealer.
+     * @param seat The seat the card went to, or DEALER_SEAT.
+     * @param ordinal The ordinal of the card (see Card.ordinal()).
+     */
+    void cardDealt(int seat, int ordinal);
+
+    /**
+     * Called for every play decision, before it is carried out.
+     * @param seat The player's seat.
+     * @param action The action chosen.
+     */
+    void decisionMade(int seat, PlayStrategy.Action action);
+
+    /**
+     * Called when a player's hand is settled.
+     * @param seat The player's seat.
+     * @param wager The total amount bet on the hand.
+     * @param net The amount won (positive) or lost (negative).
+     */
+    void handSettled(int seat, int wager, int net);
+
+    /**
+     * Called when a player takes insurance against a dealer Ace.
+     * @param seat The player's seat.
+     * @param amount The amount of the insurance bet.
+     */
+    void insurancePlaced(int seat, int amount);
+
+    /**
+     * Called when a player's insurance bet is settled.
+     * @param seat The player's seat.
+     * @param wager The amount of the insurance bet.
+     * @param net The amount won (positive) or lost (negative).
+     */
+    void insuranceSettled(int seat, int wager, int net);
+}
@@ -0,0 +1,325 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Low-overhead metrics for one or many BlackJack tables: round, hand and outcome counters,
+ * shuffles and penetration, per-phase latency histograms and the realized net win per unit
+ * wagered. Every counter is a LongAdder, which stripes its cells per thread, so any number of
+ * tables can share one TableMetrics without contending. The metrics can be read through
+ * snapshot(), pushed periodically with schedule(), or published over JMX with register().
+ */
+public class TableMetrics implements TableMetricsMXBean {
+    /**
+     * The timed phases of a round.
+     */
+    public enum Phase { DEAL, PLAYER_TURNS, DEALER_TURN, SETTLEMENT }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "table-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder blackjacks = new LongAdder();
+    private final LongAdder busts = new LongAdder();
+    private final LongAdder pushes = new LongAdder();
+    private final LongAdder shuffles = new LongAdder();
+    private final LongAdder cardsDealtAtShuffle = new LongAdder();
+    private final LongAdder shoeCardsAtShuffle = new LongAdder();
+    private final LongAdder wagered = new LongAdder();
+    private final LongAdder net = new LongAdder();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[PHASES.length];
+    private final AtomicReference<Snapshot> lastRateSnapshot = new AtomicReference<>();
+
+    /**
+     * Constructor for TableMetrics.
+     */
+    public TableMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        lastRateSnapshot.set(snapshot());
+    }
+
+    /**
+     * Records a completed round.
+     */
+    public void recordRound() {
+        rounds.increment();
+    }
+
+    /**
+     * Records a settled hand.
+     * @param wager The total amount bet on the hand, in ledger minor units.
+     * @param netWin The amount won (positive) or lost (negative), in ledger minor units.
+     * @param blackjack Whether the hand was a blackjack.
+     * @param busted Whether the hand busted.
+     */
+    public void recordHand(long wager, long netWin, boolean blackjack, boolean busted) {
+        hands.increment();
+        wagered.add(wager);
+        net.add(netWin);
+        if (netWin == 0) {
+            pushes.increment();
+        }
+        if (blackjack) {
+            blackjacks.increment();
+        }
+        if (busted) {
+            busts.increment();
+        }
+    }
+
+    /**
+     * Records a reshuffle of the shoe.
+     * @param cardsDealt The number of cards dealt since the previous shuffle.
+     * @param shoeCards The number of cards in the shoe.
+     */
+    public void recordShuffle(int cardsDealt, int shoeCards) {
+        shuffles.increment();
+        cardsDealtAtShuffle.add(cardsDealt);
+        shoeCardsAtShuffle.add(shoeCards);
+    }
+
+    /**
+     * Records how long one phase of a round took.
+     * @param phase The phase.
+     * @param nanos The time taken in nanoseconds.
+     */
+    public void recordPhase(Phase phase, long nanos) {
+        latencies[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Takes a snapshot of every metric. Counters are read one after another, so a snapshot taken
+     * while tables are playing may be off by the rounds in flight.
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        LatencyHistogram.Snapshot[] phaseLatencies = new LatencyHistogram.Snapshot[latencies.length];
+        for (int i = 0; i < latencies.length; i++) {
+            phaseLatencies[i] = latencies[i].snapshot();
+        }
+        return new Snapshot(System.nanoTime(), rounds.sum(), hands.sum(), blackjacks.sum(), busts.sum(),
+                pushes.sum(), shuffles.sum(), cardsDealtAtShuffle.sum(), shoeCardsAtShuffle.sum(),
+                wagered.sum(), net.sum(), phaseLatencies);
+    }
+
+    /**
+     * Hands a snapshot to the consumer at a fixed rate on a shared daemon thread.
+     * @param period The time between snapshots.
+     * @param unit The unit of the period.
+     * @param consumer The consumer of each snapshot.
+     * @return The scheduled task; cancel it to stop.
+     */
+    public ScheduledFuture<?> schedule(long period, TimeUnit unit, Consumer<Snapshot> consumer) {
+        return SCHEDULER.scheduleAtFixedRate(() -> consumer.accept(snapshot()), period, period, unit);
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     * @param name The name to register under, e.g. the table or simulation name.
+     * @return The object name registered.
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("blackjack:type=TableMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics " + name, e);
+        }
+    }
+
+    // TableMetricsMXBean
+
+    @Override
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getHands() {
+        return hands.sum();
+    }
+
+    @Override
+    public long getBlackjacks() {
+        return blackjacks.sum();
+    }
+
+    @Override
+    public long getBusts() {
+        return busts.sum();
+    }
+
+    @Override
+    public long getPushes() {
+        return pushes.sum();
+    }
+
+    @Override
+    public long getShuffles() {
+        return shuffles.sum();
+    }
+
+    @Override
+    public double getAveragePenetration() {
+        long shoeCards = shoeCardsAtShuffle.sum();
+        return shoeCards == 0 ? 0 : (double) cardsDealtAtShuffle.sum() / shoeCards;
+    }
+
+    @Override
+    public double getNetPerUnitWagered() {
+        long total = wagered.sum();
+        return total == 0 ? 0 : (double) net.sum() / total;
+    }
+
+    @Override
+    public double getRoundsPerSecond() {
+        Snapshot now = snapshot();
+        return now.getRoundsPerSecond(lastRateSnapshot.getAndSet(now));
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMicros() {
+        return latencyMicros(LatencyHistogram.Snapshot::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getP50LatencyMicros() {
+        return latencyMicros(histogram -> histogram.getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return latencyMicros(histogram -> histogram.getPercentile(99));
+    }
+
+    private Map<String, Double> latencyMicros(ToDoubleFunction<LatencyHistogram.Snapshot> statistic) {
+        Map<String, Double> micros = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            micros.put(phase.name(), statistic.applyAsDouble(latencies[phase.ordinal()].snapshot()) / 1000);
+        }
+        return micros;
+    }
+
+    /**
+     * A point-in-time copy of the metrics.
+     */
+    public static final class Snapshot {
+        private final long nanoTime;
+        private final long rounds;
+        private final long hands;
+        private final long blackjacks;
+        private final long busts;
+        private final long pushes;
+        private final long shuffles;
+        private final long cardsDealtAtShuffle;
+        private final long shoeCardsAtShuffle;
+        private final long wagered;
+        private final long net;
+        private final LatencyHistogram.Snapshot[] latencies;
+
+        private Snapshot(long nanoTime, long rounds, long hands, long blackjacks, long busts, long pushes,
+                         long shuffles, long cardsDealtAtShuffle, long shoeCardsAtShuffle, long wagered,
+                         long net, LatencyHistogram.Snapshot[] latencies) {
+            this.nanoTime = nanoTime;
+            this.rounds = rounds;
+            this.hands = hands;
+            this.blackjacks = blackjacks;
+            this.busts = busts;
+            this.pushes = pushes;
+            this.shuffles = shuffles;
+            this.cardsDealtAtShuffle = cardsDealtAtShuffle;
+            this.shoeCardsAtShuffle = shoeCardsAtShuffle;
+            this.wagered = wagered;
+            this.net = net;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Gets the rate of rounds between an earlier snapshot and this one.
+         * @param earlier The earlier snapshot.
+         * @return Rounds per second, or 0 if no time passed.
+         */
+        public double getRoundsPerSecond(Snapshot earlier) {
+            long nanos = nanoTime - earlier.nanoTime;
+            return nanos <= 0 ? 0 : (rounds - earlier.rounds) * 1e9 / nanos;
+        }
+
+        /**
+         * Gets the average fraction of the shoe dealt before each reshuffle.
+         * @return The average penetration, or 0 if the shoe was never reshuffled.
+         */
+        public double getAveragePenetration() {
+            return shoeCardsAtShuffle == 0 ? 0 : (double) cardsDealtAtShuffle / shoeCardsAtShuffle;
+        }
+
+        /**
+         * Gets the players' net winnings per unit wagered, the negative of the realized house edge.
+         * @return The net win per unit wagered, or 0 if nothing was wagered.
+         */
+        public double getNetPerUnitWagered() {
+            return wagered == 0 ? 0 : (double) net / wagered;
+        }
+
+        public LatencyHistogram.Snapshot getLatency(Phase phase) {
+            return latencies[phase.ordinal()];
+        }
+
+        public long getRounds() {
+            return rounds;
+        }
+
+        public long getHands() {
+            return hands;
+        }
+
+        public long getBlackjacks() {
+            return blackjacks;
+        }
+
+        public long getBusts() {
+            return busts;
+        }
+
+        public long getPushes() {
+            return pushes;
+        }
+
+        public long getShuffles() {
+            return shuffles;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(
+                    "Rounds: %d, Hands: %d, Blackjacks: %d, Busts: %d, Pushes: %d, Shuffles: %d, "
+                            + "Penetration: %.1f%%, Net per unit: %.4f%%",
+                    rounds, hands, blackjacks, busts, pushes, shuffles, getAveragePenetration() * 100,
+                    getNetPerUnitWagered() * 100));
+            for (Phase phase : PHASES) {
+                LatencyHistogram.Snapshot latency = latencies[phase.ordinal()];
+                text.append(String.format("%n  %-12s mean %.2fus, p50 %.2fus, p99 %.2fus", phase,
+                        latency.getMean() / 1000, latency.getPercentile(50) / 1000.0,
+                        latency.getPercentile(99) / 1000.0));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.Map;
+
+/**
+ * JMX management interface of TableMetrics. Latency maps are keyed by phase name.
+ */
+public interface TableMetricsMXBean {
+    long getRounds();
+
+    long getHands();
+
+    long getBlackjacks();
+
+    long getBusts();
+
+    long getPushes();
+
+    long getShuffles();
+
+    /**
+     * @return The average fraction of the shoe dealt before each reshuffle.
+     */
+    double getAveragePenetration();
+
+    /**
+     * @return The players' net winnings per unit wagered (the negative of the realized house edge).
+     */
+    double getNetPerUnitWagered();
+
+    /**
+     * @return The rounds played per second since the previous call.
+     */
+    double getRoundsPerSecond();
+
+    Map<String, Double> getMeanLatencyMicros();
+
+    Map<String, Double> getP50LatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+}
@@ -0,0 +1,28 @@
+/**
+ * A simple play strategy that hits below a fixed total and stands otherwise, never doubling down or splitting.
+ */
+public class ThresholdPlayStrategy implements PlayStrategy {
+    private static final int DEFAULT_STAND_VALUE = 17; // Mimics the dealer
+
+    private final int standValue;
+
+    /**
+     * Constructor for ThresholdPlayStrategy that stands on 17 like the dealer.
+     */
+    public ThresholdPlayStrategy() {
+        this(DEFAULT_STAND_VALUE);
+    }
+
+    /**
+     * Constructor for ThresholdPlayStrategy.
+     * @param standValue The hand value at or above which the player stands.
+     */
+    public ThresholdPlayStrategy(int standValue) {
+        this.standValue = standValue;
+    }
+
+    @Override
+    public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+        return hand.getValue() < standValue ? Action.HIT : Action.STAND;
+    }
+}
@@ -0,0 +1,316 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates a Blackjack tournament between many entrants, each a Player with their own betting
+ * strategy, all playing the same PlayStrategy. The tournament is played in stages: every entrant
+ * still in is seated at random at tables of up to SEATS_PER_TABLE, starts the stage with the
+ * starting chips, and plays a fixed number of rounds. A fixed-round tournament is one stage; an
+ * elimination tournament advances the chip leaders of each table until the field fits one final
+ * table. The tables of a stage are played in parallel on a fork/join pool, and every round's
+ * chip counts go into a Leaderboard that can be queried from other threads while the tournament
+ * is running.
+ * Each stage's seating and each table's shoe come from SplittableRandom streams split in table
+ * order, so the same seed gives the same tournament for any number of threads.
+ */
+public class Tournament {
+    public static final int SEATS_PER_TABLE = TableActor.MAX_SEATS;
+
+    private final List<Player> entrants;
+    private final PlayStrategy playStrategy;
+    private final RuleSet rules;
+    private final int startingChips;
+    private final SplittableRandom random;
+    private final Leaderboard leaderboard;
+    private final int[] stageReached; // Per entrant: the last stage played, from 1
+    private final int[] finalChips;   // Per entrant: the chips at the end of their last stage
+    private volatile int stages;
+
+    /**
+     * Constructor for Tournament.
+     * @param entrants The entrants; their betting strategies must not be shared with each other.
+     * @param playStrategy The strategy used for every entrant's play decisions.
+     * @param rules The house rules at every table.
+     * @param startingChips The chips every entrant starts each stage with.
+     * @param seed The seed for the whole tournament.
+     */
+    public Tournament(List<Player> entrants, PlayStrategy playStrategy, RuleSet rules, int startingChips, long seed) {
+        if (entrants.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one entrant");
+        }
+        if (startingChips < rules.getMinBet()) {
+            throw new IllegalArgumentException("Starting chips must cover the minimum bet: " + startingChips);
+        }
+        this.entrants = new ArrayList<>(entrants);
+        this.playStrategy = playStrategy;
+        this.rules = rules;
+        this.startingChips = startingChips;
+        this.random = new SplittableRandom(seed);
+        // A stage rarely ends far above a hundred times the starting chips
+        this.leaderboard = new Leaderboard(entrants.size(), startingChips * 100);
+        this.stageReached = new int[entrants.size()];
+        this.finalChips = new int[entrants.size()];
+    }
+
+    /**
+     * Plays a single stage with every entrant.
+     * @param rounds The number of rounds every table plays.
+     * @param pool The pool to play the tables on.
+     */
+    public void playFixedRounds(int rounds, ForkJoinPool pool) {
+        playStage(allEntrants(), rounds, pool);
+    }
+
+    /**
+     * Plays stages until the field fits one table, advancing the chip leaders of each table, then
+     * plays the final table. Entrants who cannot cover the minimum bet never advance, and every
+     * table eliminates at least one entrant.
+     * @param roundsPerStage The number of rounds every table plays in each stage.
+     * @param advancePerTable The most entrants who advance from each table.
+     * @param pool The pool to play the tables on.
+     */
+    public void playElimination(int roundsPerStage, int advancePerTable, ForkJoinPool pool) {
+        if (advancePerTable < 1) {
+            throw new IllegalArgumentException("At least one entrant must advance per table, got " + advancePerTable);
+        }
+        int[] field = allEntrants();
+        while (true) {
+            int[][] tables = playStage(field, roundsPerStage, pool);
+            if (tables.length == 1) {
+                return;
+            }
+            int[] next = new int[field.length];
+            int advancing = 0;
+            for (int[] table : tables) {
+                int[] byChips = Arrays.stream(table).boxed()
+                        .sorted((a, b) -> Integer.compare(finalChips[b], finalChips[a]))
+                        .mapToInt(Integer::intValue).toArray();
+                int places = Math.min(advancePerTable, table.length - 1);
+                for (int i = 0; i < places && finalChips[byChips[i]] >= rules.getMinBet(); i++) {
+                    next[advancing++] = byChips[i];
+                }
+            }
+            for (int entrant : field) {
+                leaderboard.remove(entrant);
+            }
+            if (advancing == 0) {
+                return; // Everyone went broke
+            }
+            field = Arrays.copyOf(next, advancing);
+        }
+    }
+
+    private int[] allEntrants() {
+        int[] field = new int[entrants.size()];
+        for (int i = 0; i < field.length; i++) {
+            field[i] = i;
+        }
+        return field;
+    }
+
+    /**
+     * Seats the field at random and plays one stage.
+     * @return The entrants at each table.
+     */
+    private int[][] playStage(int[] field, int rounds, ForkJoinPool pool) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Each stage needs at least one round, got " + rounds);
+        }
+        stages++;
+        SplittableRandom stageRandom = random.split();
+        int[] seating = field.clone();
+        for (int i = seating.length - 1; i > 0; i--) {
+            int j = stageRandom.nextInt(i + 1);
+            int tmp = seating[i];
+            seating[i] = seating[j];
+            seating[j] = tmp;
+        }
+        int tableCount = (seating.length + SEATS_PER_TABLE - 1) / SEATS_PER_TABLE;
+        int[][] tables = new int[tableCount][];
+        for (int t = 0; t < tableCount; t++) {
+            // Deal the seats out evenly, so no table is left nearly empty
+            int[] table = new int[(seating.length - t + tableCount - 1) / tableCount];
+            for (int s = 0; s < table.length; s++) {
+                table[s] = seating[t + s * tableCount];
+            }
+            tables[t] = table;
+        }
+        for (int entrant : field) {
+            entrants.get(entrant).setMoney(startingChips);
+            leaderboard.update(entrant, startingChips);
+        }
+        pool.invoke(new TableTask(tables, rounds, 0, tableCount, stageRandom.split()));
+        return tables;
+    }
+
+    private void playTable(int[] seats, int rounds, SplittableRandom random) {
+        List<Player> players = new ArrayList<>(seats.length);
+        for (int entrant : seats) {
+            players.add(entrants.get(entrant));
+        }
+        BlackJack table = new BlackJack(players, playStrategy,
+                new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, random, true), rules);
+        SimulationResult result = new SimulationResult();
+        for (int round = 0; round < rounds; round++) {
+            table.playAutomatedRound(result);
+            for (int s = 0; s < seats.length; s++) {
+                leaderboard.update(seats[s], players.get(s).getMoney());
+            }
+        }
+        for (int s = 0; s < seats.length; s++) {
+            stageReached[seats[s]] = stages;
+            finalChips[seats[s]] = players.get(s).getMoney();
+        }
+    }
+
+    /**
+     * Plays the tables in [from, to), splitting the range and the random stream in half
+     * until a single table is left.
+     */
+    private class TableTask extends RecursiveAction {
+        private final int[][] tables;
+        private final int rounds;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        TableTask(int[][] tables, int rounds, int from, int to, SplittableRandom random) {
+            this.tables = tables;
+            this.rounds = rounds;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                playTable(tables[from], rounds, random);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            TableTask right = new TableTask(tables, rounds, mid, to, random.split());
+            TableTask left = new TableTask(tables, rounds, from, mid, random);
+            right.fork();
+            left.compute();
+            right.join();
+        }
+    }
+
+    /**
+     * Gets the final standings: entrants who reached a later stage first, then by the chips they
+     * finished their last stage with.
+     * @return The entrants, winner first.
+     */
+    public int[] getStandings() {
+        return Arrays.stream(allEntrants()).boxed()
+                .sorted((a, b) -> stageReached[a] != stageReached[b] ? Integer.compare(stageReached[b], stageReached[a])
+                        : Integer.compare(finalChips[b], finalChips[a]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the last stage an entrant played in.
+     * @param entrant The entrant.
+     * @return The stage, from 1, or 0 if the tournament has not started.
+     */
+    public int getStageReached(int entrant) {
+        return stageReached[entrant];
+    }
+
+    /**
+     * Gets the chips an entrant finished their last stage with.
+     * @param entrant The entrant.
+     * @return The chips.
+     */
+    public int getFinalChips(int entrant) {
+        return finalChips[entrant];
+    }
+
+    // Getters
+
+    public Player getEntrant(int entrant) {
+        return entrants.get(entrant);
+    }
+
+    public int getEntrantCount() {
+        return entrants.size();
+    }
+
+    /**
+     * Gets the live chip counts of the entrants in the current (or last) stage. Safe to query
+     * from any thread while the tournament is being played.
+     * @return The leaderboard, indexed by entrant.
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public int getStages() {
+        return stages;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int entrantCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int roundsPerStage = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int advancePerTable = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        RuleSet rules = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true).withLateSurrender(true);
+        int startingChips = 1_000;
+        String[] styles = {"Flat minimum", "10% of chips", "25% of chips", "Table maximum"};
+        List<Player> entrants = new ArrayList<>();
+        for (int i = 0; i < entrantCount; i++) {
+            int style = i % styles.length;
+            BettingStrategy strategy = switch (style) {
+                case 0 -> (availableMoney, minBet, maxBet) -> minBet;
+                case 1 -> new DefaultBettingStrategy();
+                case 2 -> (availableMoney, minBet, maxBet) -> Math.max(minBet, Math.min(availableMoney / 4, maxBet));
+                default -> (availableMoney, minBet, maxBet) -> Math.min(availableMoney, maxBet);
+            };
+            entrants.add(new Player(styles[style] + " #" + i, startingChips, strategy));
+        }
+        Tournament tournament = new Tournament(entrants, new BasicStrategy(), rules, startingChips, seed);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // Rank queries are cheap enough to poll while the tables are playing
+        Thread watcher = Thread.ofPlatform().daemon().start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(200);
+                    Leaderboard board = tournament.getLeaderboard();
+                    int leader = board.getTop(1).length > 0 ? board.getTop(1)[0] : -1;
+                    System.out.printf("Stage %d: %d on the board, leader %s with %d%n", tournament.getStages(),
+                            board.size(), leader < 0 ? "-" : tournament.getEntrant(leader).getName(),
+                            leader < 0 ? 0 : board.getScore(leader));
+                }
+            } catch (InterruptedException e) {
+                // Done
+            }
+        });
+        long start = System.nanoTime();
+        tournament.playElimination(roundsPerStage, advancePerTable, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        watcher.interrupt();
+        watcher.join();
+        pool.shutdown();
+
+        int[] standings = tournament.getStandings();
+        System.out.printf("%d entrants, %d stages in %.2f s%n", entrantCount, tournament.getStages(), seconds);
+        int[] finalists = new int[styles.length];
+        for (int i = 0; i < standings.length && tournament.getStageReached(standings[i]) == tournament.getStages(); i++) {
+            int entrant = standings[i];
+            finalists[entrant % styles.length]++;
+            System.out.printf("%2d. %-22s %6d%n", i + 1, tournament.getEntrant(entrant).getName(),
+                    tournament.getFinalChips(entrant));
+        }
+        for (int style = 0; style < styles.length; style++) {
+            System.out.printf("%-14s %d at the final table%n", styles[style], finalists[style]);
+        }
+    }
+}
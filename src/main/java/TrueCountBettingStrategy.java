@@ -0,0 +1,31 @@
+/**
+ * A count-based betting strategy that ramps bets by the (floored) true count, as used with
+ * balanced systems like Hi-Lo.
+ */
+public class TrueCountBettingStrategy extends CountBettingStrategy {
+    private static final int DEFAULT_FIRST_COUNT = 1;
+    private static final int[] DEFAULT_UNITS = {1, 2, 4, 8, 12}; // True count 1 or less, 2, 3, 4, 5+
+
+    /**
+     * Constructor for TrueCountBettingStrategy with a 1-12 unit ramp from true count 1 to 5.
+     * @param counter The counter to read the true count from.
+     */
+    public TrueCountBettingStrategy(CardCounter counter) {
+        this(counter, DEFAULT_FIRST_COUNT, DEFAULT_UNITS);
+    }
+
+    /**
+     * Constructor for TrueCountBettingStrategy.
+     * @param counter The counter to read the true count from.
+     * @param firstCount The true count the first ramp entry applies to.
+     * @param units The number of minimum-bet units to bet at each true count from firstCount up.
+     */
+    public TrueCountBettingStrategy(CardCounter counter, int firstCount, int... units) {
+        super(counter, firstCount, units);
+    }
+
+    @Override
+    protected int count() {
+        return (int) Math.floor(counter.getTrueCount());
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BasicStrategyTest {
+    private final BasicStrategy strategy = new BasicStrategy();
+
+    private static Hand hand(Card.Rank... ranks) {
+        Hand hand = new Hand();
+        for (Card.Rank rank : ranks) {
+            hand.addCard(new Card(rank, Card.Suit.SPADES));
+        }
+        return hand;
+    }
+
+    @Test
+    void testHardTotals() {
+        assertEquals(PlayStrategy.Action.STAND, strategy.decide(hand(Card.Rank.TEN, Card.Rank.SIX), 6, true, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(hand(Card.Rank.TEN, Card.Rank.SIX), 10, true, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(hand(Card.Rank.TEN, Card.Rank.TWO), 3, true, true));
+        assertEquals(PlayStrategy.Action.STAND, strategy.decide(hand(Card.Rank.TEN, Card.Rank.SEVEN), 11, true, true));
+    }
+
+    @Test
+    void testDoubleFallsBackWhenNotAllowed() {
+        Hand eleven = hand(Card.Rank.SIX, Card.Rank.FIVE);
+        assertEquals(PlayStrategy.Action.DOUBLE, strategy.decide(eleven, 10, true, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(eleven, 10, false, true));
+
+        Hand softEighteen = hand(Card.Rank.ACE, Card.Rank.SEVEN);
+        assertEquals(PlayStrategy.Action.DOUBLE, strategy.decide(softEighteen, 5, true, true));
+        assertEquals(PlayStrategy.Action.STAND, strategy.decide(softEighteen, 5, false, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(softEighteen, 9, true, true));
+    }
+
+    @Test
+    void testPairs() {
+        assertEquals(PlayStrategy.Action.SPLIT, strategy.decide(hand(Card.Rank.EIGHT, Card.Rank.EIGHT), 10, true, true));
+        assertEquals(PlayStrategy.Action.SPLIT, strategy.decide(hand(Card.Rank.ACE, Card.Rank.ACE), 11, true, true));
+        assertEquals(PlayStrategy.Action.STAND, strategy.decide(hand(Card.Rank.KING, Card.Rank.QUEEN), 6, true, true));
+        assertEquals(PlayStrategy.Action.DOUBLE, strategy.decide(hand(Card.Rank.FIVE, Card.Rank.FIVE), 6, true, true));
+        // Without splitting, 8-8 is played as hard 16
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(hand(Card.Rank.EIGHT, Card.Rank.EIGHT), 10, true, false));
+    }
+
+    @Test
+    void testLateSurrender() {
+        Hand sixteen = hand(Card.Rank.TEN, Card.Rank.SIX);
+        assertEquals(PlayStrategy.Action.SURRENDER, strategy.decide(sixteen, 9, true, false, true));
+        assertEquals(PlayStrategy.Action.SURRENDER, strategy.decide(sixteen, 11, true, false, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(sixteen, 9, true, false, false));
+        assertEquals(PlayStrategy.Action.STAND, strategy.decide(sixteen, 6, true, false, true));
+        assertEquals(PlayStrategy.Action.SURRENDER, strategy.decide(hand(Card.Rank.TEN, Card.Rank.FIVE), 10, true, false, true));
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(hand(Card.Rank.TEN, Card.Rank.FIVE), 11, true, false, true));
+        // 8-8 splits when it may, and is otherwise played as hard 16
+        Hand eights = hand(Card.Rank.EIGHT, Card.Rank.EIGHT);
+        assertEquals(PlayStrategy.Action.SPLIT, strategy.decide(eights, 10, true, true, true));
+        assertEquals(PlayStrategy.Action.SURRENDER, strategy.decide(eights, 10, true, false, true));
+        // Soft 16 never surrenders
+        assertEquals(PlayStrategy.Action.HIT, strategy.decide(hand(Card.Rank.ACE, Card.Rank.FIVE), 10, true, false, true));
+    }
+
+    @Test
+    void testBasicStrategyBeatsMimickingTheDealer() {
+        BettingStrategy flat = (money, min, max) -> min;
+        double basic = new SimulationEngine(1, new BasicStrategy(), flat).run(300_000).getExpectedValue();
+        double mimic = new SimulationEngine(1, new ThresholdPlayStrategy(), flat).run(300_000).getExpectedValue();
+        assertTrue(basic > mimic, "basic " + basic + " vs mimic " + mimic);
+        assertTrue(basic > -0.03 && basic < 0.01, "EV out of range: " + basic);
+    }
+}
@@ -1,5 +1,7 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BlackJackTest {
@@ -24,6 +26,14 @@ public class BlackJackTest {
         assertEquals(100, player.getCurrentBet());
     }
 
+    @Test
+    void testPlayerDoubleDown() {
+        player.placeBet(10, 500);
+        assertTrue(player.doubleDown());
+        assertEquals(200, player.getCurrentBet());
+        assertEquals(800, player.getMoney());
+    }
+
     @Test
     void testPlayerAddCard() {
         Card card = new Card(Card.Rank.ACE, Card.Suit.SPADES);
@@ -127,4 +137,128 @@ public class BlackJackTest {
         player.placeBet(10, 500);
         assertEquals(100, player.getCurrentBet()); // 10% of 1000
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDealerHitsSoft17() {
+        Dealer dealer = new Dealer(true);
+        dealer.addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        dealer.addCard(new Card(Card.Rank.SIX, Card.Suit.HEARTS));
+        assertTrue(dealer.shouldHit());
+        game.getDealer().addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        game.getDealer().addCard(new Card(Card.Rank.SIX, Card.Suit.HEARTS));
+        assertFalse(game.getDealer().shouldHit());
+    }
+
+    @Test
+    void testSplitPlaysBothHands() {
+        // Player 8-8 against a dealer 17; the split hands draw a 10 and a 9
+        BlackJack table = riggedTable(RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true),
+                (hand, up, canDouble, canSplit) -> canSplit ? PlayStrategy.Action.SPLIT : PlayStrategy.Action.STAND,
+                Card.Rank.EIGHT, Card.Rank.TEN, Card.Rank.EIGHT, Card.Rank.SEVEN, Card.Rank.TEN, Card.Rank.NINE);
+        SimulationResult result = new SimulationResult();
+        table.playAutomatedRound(result);
+
+        Player splitter = table.getPlayers().get(0);
+        assertEquals(2, splitter.getHandCount());
+        assertEquals(18, splitter.getHand(0).getValue());
+        assertEquals(17, splitter.getHand(1).getValue());
+        assertEquals(2, result.getHands());
+        assertEquals(1, result.getWins());
+        assertEquals(1, result.getPushes());
+        assertEquals(1010, splitter.getMoney());
+    }
+
+    @Test
+    void testActingPlayerDuringSplitHands() {
+        List<Player> acting = new ArrayList<>();
+        BlackJack[] table = new BlackJack[1];
+        table[0] = riggedTable(RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true),
+                (hand, up, canDouble, canSplit) -> {
+                    acting.add(table[0].getActingPlayer());
+                    return canSplit ? PlayStrategy.Action.SPLIT : PlayStrategy.Action.STAND;
+                },
+                Card.Rank.EIGHT, Card.Rank.TEN, Card.Rank.EIGHT, Card.Rank.SEVEN, Card.Rank.TEN, Card.Rank.NINE);
+        table[0].playAutomatedRound(new SimulationResult());
+        Player splitter = table[0].getPlayers().get(0);
+        assertEquals(List.of(splitter, splitter, splitter), acting);
+        assertNull(table[0].getActingPlayer());
+    }
+
+    @Test
+    void testSplitRequiresRules() {
+        BlackJack table = riggedTable(RuleSet.DEFAULT,
+                (hand, up, canDouble, canSplit) -> PlayStrategy.Action.SPLIT,
+                Card.Rank.EIGHT, Card.Rank.TEN, Card.Rank.EIGHT, Card.Rank.SEVEN);
+        assertThrows(IllegalStateException.class, () -> table.playAutomatedRound(new SimulationResult()));
+    }
+
+    @Test
+    void testDoubleRequiresTwoCards() {
+        // Player 2-3 hits to 9 and then asks to double on three cards
+        BlackJack table = riggedTable(RuleSet.DEFAULT,
+                (hand, up, canDouble, canSplit) -> hand.size() == 2 ? PlayStrategy.Action.HIT : PlayStrategy.Action.DOUBLE,
+                Card.Rank.TWO, Card.Rank.TEN, Card.Rank.THREE, Card.Rank.SEVEN, Card.Rank.FOUR);
+        assertThrows(IllegalStateException.class, () -> table.playAutomatedRound(new SimulationResult()));
+    }
+
+    @Test
+    void testLateSurrenderReturnsHalfTheBet() {
+        BlackJack table = riggedTable(RuleSet.DEFAULT.withLateSurrender(true), new BasicStrategy(),
+                Card.Rank.TEN, Card.Rank.NINE, Card.Rank.SIX, Card.Rank.TEN);
+        SimulationResult result = new SimulationResult();
+        table.playAutomatedRound(result);
+        assertEquals(-5, result.getNetWinnings());
+        assertEquals(995, table.getPlayers().get(0).getMoney());
+    }
+
+    @Test
+    void testInsurancePaysAgainstDealerBlackjack() {
+        PlayStrategy insurer = new PlayStrategy() {
+            @Override
+            public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+                return Action.STAND;
+            }
+
+            @Override
+            public boolean takeInsurance(Hand hand) {
+                return true;
+            }
+        };
+        BlackJack table = riggedTable(RuleSet.DEFAULT.withInsurance(true), insurer,
+                Card.Rank.TEN, Card.Rank.KING, Card.Rank.NINE, Card.Rank.ACE);
+        SimulationResult result = new SimulationResult();
+        table.playAutomatedRound(result);
+        assertEquals(1, result.getSideBets());
+        assertEquals(15, result.getTotalWagered());
+        assertEquals(0, result.getNetWinnings());
+        assertEquals(1000, table.getPlayers().get(0).getMoney());
+    }
+
+    /**
+     * Builds a one-seat table betting 10 whose single-deck shoe deals the given ranks first
+     * (player, dealer hole card, player, dealer up card, then draws in order).
+     */
+    private static BlackJack riggedTable(RuleSet rules, PlayStrategy strategy, Card.Rank... ranks) {
+        byte[] order = new byte[Card.DECK_SIZE];
+        boolean[] used = new boolean[Card.DECK_SIZE];
+        int n = 0;
+        for (Card.Rank rank : ranks) {
+            int ordinal = rank.ordinal() * Card.Suit.values().length;
+            while (used[ordinal]) {
+                ordinal++;
+            }
+            used[ordinal] = true;
+            order[n++] = (byte) ordinal;
+        }
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            if (!used[ordinal]) {
+                order[n++] = (byte) ordinal;
+            }
+        }
+        Shoe shoe = new Shoe(1, 0.75);
+        shoe.loadOrder(order);
+        BlackJack table = new BlackJack(1, 1000, strategy, shoe, rules);
+        table.getPlayers().get(0).setBettingStrategy((money, min, max) -> min);
+        return table;
+    }
+}
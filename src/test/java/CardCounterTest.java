@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardCounterTest {
+
+    private static int ordinal(Card.Rank rank) {
+        return new Card(rank, Card.Suit.CLUBS).ordinal();
+    }
+
+    @Test
+    void testHiLoRunningCount() {
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 6);
+        counter.cardDrawn(ordinal(Card.Rank.TWO));
+        counter.cardDrawn(ordinal(Card.Rank.FIVE));
+        counter.cardDrawn(ordinal(Card.Rank.SEVEN));
+        counter.cardDrawn(ordinal(Card.Rank.KING));
+        counter.cardDrawn(ordinal(Card.Rank.SIX));
+        assertEquals(2, counter.getRunningCount());
+    }
+
+    @Test
+    void testKoStartsUnbalanced() {
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.KO, 6);
+        assertEquals(-20, counter.getRunningCount());
+        counter.cardDrawn(ordinal(Card.Rank.SEVEN));
+        assertEquals(-19, counter.getRunningCount());
+    }
+
+    @Test
+    void testTrueCount() {
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 2);
+        for (int i = 0; i < 52; i++) {
+            counter.cardDrawn(ordinal(i % 2 == 0 ? Card.Rank.THREE : Card.Rank.FOUR));
+        }
+        assertEquals(52.0, counter.getTrueCount(), 1e-9);
+    }
+
+    @Test
+    void testFullShoeCountsBackToZero() {
+        Shoe shoe = new Shoe(2, 1.0, new SplittableRandom(3));
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 2);
+        shoe.addObserver(counter);
+        for (int i = 0; i < 104; i++) {
+            shoe.drawCard();
+        }
+        assertEquals(0, counter.getRunningCount());
+        counter.cardDrawn(ordinal(Card.Rank.TWO));
+        shoe.reset();
+        assertEquals(0, counter.getRunningCount());
+    }
+
+    @Test
+    void testBetRamp() {
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 1);
+        BettingStrategy strategy = new TrueCountBettingStrategy(counter, 1, 1, 2, 4);
+        assertEquals(10, strategy.determineBet(1000, 10, 500));
+        for (int i = 0; i < 3; i++) {
+            counter.cardDrawn(ordinal(Card.Rank.TWO));
+        }
+        assertEquals(40, strategy.determineBet(1000, 10, 500)); // True count above 3 uses the last step
+        assertEquals(30, strategy.determineBet(1000, 30, 30));
+    }
+
+    @Test
+    void testKoRunningCountRamp() {
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.KO, 1);
+        BettingStrategy strategy = new RunningCountBettingStrategy(counter, 2);
+        assertEquals(10, strategy.determineBet(1000, 10, 500));
+        for (int i = 0; i < 2; i++) {
+            counter.cardDrawn(ordinal(Card.Rank.SEVEN));
+        }
+        assertEquals(20, strategy.determineBet(1000, 10, 500));
+    }
+
+    @Test
+    void testFirstBetAfterReshuffleUsesTheNewShoe() {
+        // Low cards first, so the count is high when the cut card comes out
+        Shoe shoe = new Shoe(1, 0.75, new SplittableRandom(6));
+        byte[] order = new byte[Card.DECK_SIZE];
+        int next = 0;
+        for (int[] values : new int[][] {{2, 3, 4, 5, 6}, {7, 8, 9}, {10, 11}}) {
+            for (int o = 0; o < Card.DECK_SIZE; o++) {
+                int value = Card.valueOf(o);
+                if (value >= values[0] && value <= values[values.length - 1]) {
+                    order[next++] = (byte) o;
+                }
+            }
+        }
+        shoe.loadOrder(order);
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 1);
+        shoe.addObserver(counter);
+        while (!shoe.isCutCardReached()) {
+            shoe.drawOrdinal();
+        }
+        assertTrue(counter.getRunningCount() >= 10, "Running count " + counter.getRunningCount());
+
+        BettingStrategy ramp = new RunningCountBettingStrategy(counter, 1, 1, 8);
+        int[] bet = new int[1];
+        Player player = new Player("Counter", 10_000, (money, min, max) -> bet[0] = ramp.determineBet(money, min, max));
+        BlackJack table = new BlackJack(List.of(player), new ThresholdPlayStrategy(), shoe, RuleSet.DEFAULT);
+        table.playAutomatedRound(new SimulationResult());
+        assertEquals(RuleSet.DEFAULT.getMinBet(), bet[0]);
+    }
+}
@@ -0,0 +1,28 @@
+import org.junit.jupiter.api.Test;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardIconAtlasTest {
+
+    @Test
+    void testIconsAreCachedAndDistinct() {
+        Set<Object> images = new HashSet<>();
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            assertSame(CardIconAtlas.icon(ordinal), CardIconAtlas.icon(ordinal));
+            assertEquals(CardIconAtlas.CARD_WIDTH, CardIconAtlas.icon(ordinal).getIconWidth());
+            assertEquals(CardIconAtlas.CARD_HEIGHT, CardIconAtlas.icon(ordinal).getIconHeight());
+            images.add(CardIconAtlas.icon(ordinal).getImage());
+        }
+        images.add(CardIconAtlas.back().getImage());
+        assertEquals(Card.DECK_SIZE + 1, images.size());
+    }
+
+    @Test
+    void testIconsShareOneAtlas() {
+        BufferedImage ace = (BufferedImage) CardIconAtlas.icon(Card.DECK_SIZE - 1).getImage();
+        BufferedImage back = (BufferedImage) CardIconAtlas.back().getImage();
+        assertSame(ace.getRaster().getDataBuffer(), back.getRaster().getDataBuffer());
+    }
+}
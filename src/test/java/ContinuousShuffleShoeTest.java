@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContinuousShuffleShoeTest {
+
+    @Test
+    void testMachineDealsFullCompositionThenRunsOut() {
+        ContinuousShuffleShoe shoe = new ContinuousShuffleShoe(2, new SplittableRandom(7));
+        int[] ordinals = new int[Card.DECK_SIZE];
+        for (int i = 0; i < 104; i++) {
+            ordinals[shoe.drawOrdinal()]++;
+        }
+        assertEquals(0, shoe.remainingCards());
+        for (int count : ordinals) {
+            assertEquals(2, count);
+        }
+        assertThrows(IllegalStateException.class, shoe::drawOrdinal);
+    }
+
+    @Test
+    void testDiscardsGoBackWhenTheNextRoundStarts() {
+        ContinuousShuffleShoe shoe = new ContinuousShuffleShoe(1, new SplittableRandom(1));
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 1);
+        shoe.addObserver(counter);
+        int initialCount = counter.getRunningCount();
+        int value = 0;
+        for (int i = 0; i < 10; i++) {
+            value = Card.valueOf(shoe.drawOrdinal());
+        }
+        assertEquals(42, shoe.remainingCards());
+        assertTrue(shoe.remainingOfValue(value) < (value == 10 ? 16 : 4));
+
+        assertFalse(shoe.startRound());
+        assertEquals(52, shoe.remainingCards());
+        assertEquals(value == 10 ? 16 : 4, shoe.remainingOfValue(value));
+        assertEquals(initialCount, counter.getRunningCount());
+        assertEquals(0, counter.getTrueCount());
+    }
+
+    @Test
+    void testDrawsAreUniform() {
+        ContinuousShuffleShoe shoe = new ContinuousShuffleShoe(1, new SplittableRandom(3));
+        int rounds = 52_000;
+        int[] firstCards = new int[Card.DECK_SIZE];
+        for (int i = 0; i < rounds; i++) {
+            shoe.startRound();
+            firstCards[shoe.drawOrdinal()]++;
+            shoe.drawOrdinal();
+        }
+        for (int count : firstCards) {
+            assertEquals(1_000, count, 150);
+        }
+    }
+
+    @Test
+    void testSimulationRunsOnContinuousShuffler() {
+        SimulationEngine engine = new SimulationEngine(2, new ContinuousShuffleShoe(), new ThresholdPlayStrategy(),
+                (money, min, max) -> min);
+        assertEquals(20_000, engine.run(10_000).getHands());
+    }
+}
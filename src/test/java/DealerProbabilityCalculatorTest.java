@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DealerProbabilityCalculatorTest {
+    private static final double EPSILON = 1e-12;
+
+    private static int[] shoe(int decks, int... removedValues) {
+        int[] counts = new int[Card.VALUE_COUNT];
+        for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+            counts[value - Card.MIN_VALUE] = decks * (value == 10 ? 16 : 4);
+        }
+        for (int value : removedValues) {
+            counts[value - Card.MIN_VALUE]--;
+        }
+        return counts;
+    }
+
+    private static double sum(DealerProbabilityCalculator.Distribution d) {
+        double sum = d.getBlackjack() + d.getBust();
+        for (int total = 17; total <= 21; total++) {
+            sum += d.getFinalTotal(total);
+        }
+        return sum;
+    }
+
+    @Test
+    void testProbabilitiesSumToOne() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator();
+        for (int up = Card.MIN_VALUE; up <= Card.MAX_VALUE; up++) {
+            assertEquals(1.0, sum(calculator.compute(up, shoe(6, up))), 1e-9);
+        }
+    }
+
+    @Test
+    void testOnlyTensLeft() {
+        int[] counts = new int[Card.VALUE_COUNT];
+        counts[10 - Card.MIN_VALUE] = 20;
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator();
+        assertEquals(1.0, calculator.compute(7, counts).getFinalTotal(17), EPSILON);
+        assertEquals(1.0, calculator.compute(11, counts).getBlackjack(), EPSILON);
+        assertEquals(1.0, calculator.compute(5, counts).getBust(), EPSILON);
+    }
+
+    @Test
+    void testHitsSoft17() {
+        int[] counts = new int[Card.VALUE_COUNT];
+        counts[6 - Card.MIN_VALUE] = 20;
+        // Ace-6 stands on soft 17, or hits to hard 13 and then 19
+        assertEquals(1.0, new DealerProbabilityCalculator().compute(11, counts).getFinalTotal(17), EPSILON);
+        assertEquals(1.0, new DealerProbabilityCalculator(10, true).compute(11, counts).getFinalTotal(19), EPSILON);
+    }
+
+    @Test
+    void testKnownSixDeckValues() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator();
+        // Dealer busts about 42% of the time showing a 6 and about 21% showing a 10
+        assertEquals(0.42, calculator.compute(6, shoe(6, 6)).getBust(), 0.01);
+        assertEquals(0.21, calculator.compute(10, shoe(6, 10)).getBust(), 0.01);
+        assertEquals(4.0 * 6 / 311, calculator.compute(10, shoe(6, 10)).getBlackjack(), EPSILON);
+    }
+
+    @Test
+    void testResultsAreCached() {
+        DealerProbabilityCalculator calculator = new DealerProbabilityCalculator(2);
+        DealerProbabilityCalculator.Distribution first = calculator.compute(9, shoe(1, 9));
+        assertSame(first, calculator.compute(9, shoe(1, 9)));
+        calculator.compute(9, shoe(1, 9, 2));
+        calculator.compute(9, shoe(1, 9, 3));
+        assertEquals(2, calculator.cachedCompositions(9));
+    }
+
+    @Test
+    void testShoeTracksComposition() {
+        Shoe shoe = new Shoe(1, 0.75);
+        int value = shoe.drawCard().getValue();
+        assertEquals(value == 10 ? 15 : 3, shoe.remainingOfValue(value));
+        assertEquals(1.0, sum(new DealerProbabilityCalculator().compute(value, shoe)), 1e-9);
+    }
+}
@@ -0,0 +1,162 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tallies the events read back from a log.
+     */
+    private static class Tally implements TableListener {
+        long rounds;
+        long bets;
+        long cards;
+        long decisions;
+        long settled;
+        long insured;
+        long sideBets;
+        long wagered;
+        long net;
+
+        @Override
+        public void roundStarted() {
+            rounds++;
+        }
+
+        @Override
+        public void betPlaced(int seat, int amount) {
+            bets++;
+        }
+
+        @Override
+        public void cardDealt(int seat, int ordinal) {
+            assertTrue(ordinal >= 0 && ordinal < Card.DECK_SIZE);
+            cards++;
+        }
+
+        @Override
+        public void decisionMade(int seat, PlayStrategy.Action action) {
+            decisions++;
+        }
+
+        @Override
+        public void handSettled(int seat, int wager, int net) {
+            settled++;
+            wagered += wager;
+            this.net += net;
+        }
+
+        @Override
+        public void insurancePlaced(int seat, int amount) {
+            insured++;
+        }
+
+        @Override
+        public void insuranceSettled(int seat, int wager, int net) {
+            sideBets++;
+            wagered += wager;
+            this.net += net;
+        }
+    }
+
+    @Test
+    void testLogRoundTrip() throws IOException {
+        Path file = tempDir.resolve("session.bjev");
+        SimulationEngine engine = new SimulationEngine(3, new Shoe(6, 0.75, new SplittableRandom(9)),
+                new BasicStrategy(), (money, min, max) -> min);
+        SimulationResult result;
+        // A tiny map size forces the writer and reader across many mapped regions
+        try (EventLogWriter writer = new EventLogWriter(file, engine.getTable().getRules(), 4096)) {
+            engine.getTable().setListener(writer);
+            result = engine.run(20_000);
+        }
+
+        Tally tally = new Tally();
+        try (EventLogReader reader = new EventLogReader(file)) {
+            reader.readAll(tally);
+        }
+        assertEquals(20_000, tally.rounds);
+        assertEquals(60_000, tally.bets);
+        assertEquals(result.getHands(), tally.settled);
+        assertEquals(result.getTotalWagered(), tally.wagered);
+        assertEquals(result.getNetWinnings(), tally.net);
+        assertTrue(tally.cards >= 20_000 * 8);
+        assertTrue(tally.decisions > 0);
+    }
+
+    @Test
+    void testLogRecordsRulesAndInsurance() throws IOException {
+        Path file = tempDir.resolve("insured.bjev");
+        RuleSet rules = RuleSet.DEFAULT.withBlackjackPayout(2.2).withBetLimits(25, 1_000).withDealerHitsSoft17(true)
+                .withSplits(3, true).withLateSurrender(true).withInsurance(true);
+        PlayStrategy insureAll = new PlayStrategy() {
+            @Override
+            public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+                return hand.getValue() < 17 ? Action.HIT : Action.STAND;
+            }
+
+            @Override
+            public boolean takeInsurance(Hand hand) {
+                return true;
+            }
+        };
+        SimulationEngine engine = new SimulationEngine(2, new Shoe(6, 0.75, new SplittableRandom(11)),
+                insureAll, (money, min, max) -> min, rules);
+        SimulationResult result;
+        try (EventLogWriter writer = new EventLogWriter(file, rules)) {
+            engine.getTable().setListener(writer);
+            result = engine.run(5_000);
+        }
+
+        Tally tally = new Tally();
+        try (EventLogReader reader = new EventLogReader(file)) {
+            assertEquals(rules.toString(), reader.getRules().toString());
+            assertEquals(25, reader.getRules().getMinBet());
+            assertEquals(1_000, reader.getRules().getMaxBet());
+            reader.readAll(tally);
+        }
+        assertTrue(result.getSideBets() > 0);
+        assertEquals(result.getSideBets(), tally.insured);
+        assertEquals(result.getSideBets(), tally.sideBets);
+        assertEquals(result.getTotalWagered(), tally.wagered);
+        assertEquals(result.getNetWinnings(), tally.net);
+    }
+
+    @Test
+    void testReadsLogThatWasNeverClosed() throws IOException {
+        Path file = tempDir.resolve("crashed.bjev");
+        SimulationEngine engine = new SimulationEngine(2, new Shoe(6, 0.75, new SplittableRandom(10)),
+                new BasicStrategy(), (money, min, max) -> min);
+        EventLogWriter writer = new EventLogWriter(file, engine.getTable().getRules(), 4096);
+        try {
+            engine.getTable().setListener(writer);
+            SimulationResult result = engine.run(1_000);
+            // Without close the file still runs to the end of the last mapped region
+            assertTrue(Files.size(file) > writer.size());
+
+            Tally tally = new Tally();
+            try (EventLogReader reader = new EventLogReader(file)) {
+                reader.readAll(tally);
+                assertFalse(reader.next(tally));
+            }
+            assertEquals(1_000, tally.rounds);
+            assertEquals(2_000, tally.bets);
+            assertEquals(result.getNetWinnings(), tally.net);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("not-a-log");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> new EventLogReader(file));
+    }
+}
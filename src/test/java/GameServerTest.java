@@ -0,0 +1,184 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    private static final int TABLES = 500;
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(0, TABLES, 1000, 200, 5_000);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * A minimal bot client that always stands.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        String expect(String prefix) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return line;
+                }
+            }
+            throw new IOException("Connection closed waiting for " + prefix);
+        }
+
+        /**
+         * Plays one round, standing on every turn, and returns the RESULT line for the seat.
+         */
+        String playRound(int seat, int bet) throws IOException {
+            send("BET " + bet);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals("TURN " + seat)) {
+                    send("STAND");
+                } else if (line.startsWith("RESULT " + seat + " ")) {
+                    return line;
+                }
+            }
+            throw new IOException("Connection closed during the round");
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testPlayOneRound() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            client.send("JOIN 7");
+            assertEquals("SEATED 7 1 1000", client.expect("SEATED"));
+            String[] result = client.playRound(1, 100).split(" ");
+            int net = Integer.parseInt(result[2]);
+            assertTrue(net == -100 || net == 0 || net == 100 || net == 150, "Unexpected net " + net);
+            assertEquals(1000 + net, Integer.parseInt(result[3]));
+        }
+    }
+
+    @Test
+    void testProtocolErrors() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            client.send("BET 100");
+            assertEquals("ERROR Join a table first", client.expect("ERROR"));
+            client.send("JOIN " + TABLES);
+            assertTrue(client.expect("ERROR").startsWith("ERROR Usage: JOIN"));
+            client.send("JOIN 3");
+            client.expect("SEATED");
+            client.send("BET 5");
+            assertTrue(client.expect("ERROR").startsWith("ERROR Bets must be between"));
+            client.send("HIT");
+            assertEquals("ERROR No hand in play", client.expect("ERROR"));
+            client.send("LEAVE");
+            assertEquals("LEFT 3", client.expect("LEFT"));
+        }
+    }
+
+    @Test
+    void testDoubleRefusedAfterAHit() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            client.send("JOIN 5");
+            client.expect("SEATED");
+            // Hit on the first turn; if the hand is still live, the table asks again with three cards
+            for (int round = 0; round < 50; round++) {
+                client.send("BET 100");
+                boolean hit = false;
+                String line;
+                while (!(line = client.in.readLine()).startsWith("RESULT 1 ")) {
+                    if (!line.equals("TURN 1")) {
+                        continue;
+                    }
+                    if (!hit) {
+                        client.send("HIT");
+                        hit = true;
+                        continue;
+                    }
+                    client.send("DOUBLE");
+                    assertEquals("ERROR Cannot double", client.expect("ERROR"));
+                    client.send("STAND");
+                    assertEquals("ACTION 1 STAND", client.expect("ACTION"));
+                    return;
+                }
+            }
+            fail("No hand survived a hit");
+        }
+    }
+
+    @Test
+    void testTableFillsUp() throws IOException {
+        List<Client> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < TableActor.MAX_SEATS; i++) {
+                Client client = new Client(server.getPort());
+                clients.add(client);
+                client.send("JOIN 0");
+                assertEquals("SEATED 0 " + (i + 1) + " 1000", client.expect("SEATED"));
+            }
+            try (Client late = new Client(server.getPort())) {
+                late.send("JOIN 0");
+                assertEquals("ERROR Table 0 is full", late.expect("ERROR"));
+            }
+        } finally {
+            for (Client client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    void testManyTablesAtOnce() throws Exception {
+        // One bot per table, all on virtual threads in this JVM
+        try (ExecutorService bots = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int table = 0; table < TABLES; table++) {
+                int id = table;
+                results.add(bots.submit(() -> {
+                    try (Client client = new Client(server.getPort())) {
+                        client.send("JOIN " + id);
+                        client.expect("SEATED");
+                        return client.playRound(1, 10);
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                assertTrue(result.get().startsWith("RESULT 1 "));
+            }
+        }
+    }
+}
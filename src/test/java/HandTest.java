@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandTest {
+    private Hand hand;
+
+    @BeforeEach
+    void setUp() {
+        hand = new Hand();
+    }
+
+    @Test
+    void testSoftHand() {
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        hand.addCard(new Card(Card.Rank.SIX, Card.Suit.HEARTS));
+        assertEquals(17, hand.getValue());
+        assertTrue(hand.isSoft());
+    }
+
+    @Test
+    void testSoftHandBecomesHard() {
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        hand.addCard(new Card(Card.Rank.SIX, Card.Suit.HEARTS));
+        hand.addCard(new Card(Card.Rank.NINE, Card.Suit.CLUBS));
+        assertEquals(16, hand.getValue());
+        assertFalse(hand.isSoft());
+        assertFalse(hand.isBusted());
+    }
+
+    @Test
+    void testMultipleAces() {
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.HEARTS));
+        assertEquals(12, hand.getValue());
+        assertTrue(hand.isPair());
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.CLUBS));
+        assertEquals(13, hand.getValue());
+        assertFalse(hand.isPair());
+    }
+
+    @Test
+    void testTenValuePair() {
+        hand.addCard(new Card(Card.Rank.KING, Card.Suit.SPADES));
+        hand.addCard(new Card(Card.Rank.TEN, Card.Suit.HEARTS));
+        assertTrue(hand.isPair());
+        assertEquals(20, hand.getValue());
+    }
+
+    @Test
+    void testClearResetsValue() {
+        hand.addCard(new Card(Card.Rank.ACE, Card.Suit.SPADES));
+        hand.addCard(new Card(Card.Rank.KING, Card.Suit.HEARTS));
+        assertTrue(hand.isBlackjack());
+        hand.clear();
+        assertEquals(0, hand.getValue());
+        assertFalse(hand.isSoft());
+        assertEquals(0, hand.getCards().size());
+    }
+
+    @Test
+    void testCardsViewIsReadOnly() {
+        hand.addCard(new Card(Card.Rank.TWO, Card.Suit.SPADES));
+        assertThrows(UnsupportedOperationException.class, () -> hand.getCards().clear());
+    }
+}
@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+
+    @Test
+    void testRanksShareTiesAndFollowMoves() {
+        Leaderboard board = new Leaderboard(4, 1_000);
+        board.update(0, 500);
+        board.update(1, 700);
+        board.update(2, 500);
+        assertEquals(3, board.size());
+        assertEquals(1, board.getRank(1));
+        assertEquals(2, board.getRank(0));
+        assertEquals(2, board.getRank(2));
+        assertThrows(IllegalArgumentException.class, () -> board.getRank(3));
+
+        board.update(0, 5_000); // Above the maximum counts as the maximum
+        assertEquals(1, board.getRank(0));
+        assertEquals(3, board.getRank(2));
+        board.remove(1);
+        assertEquals(2, board.size());
+        assertEquals(2, board.getRank(2));
+        assertArrayEquals(new int[] {0, 2}, board.getTop(5));
+    }
+
+    @Test
+    void testConcurrentUpdatesLeaveAConsistentBoard() throws InterruptedException {
+        int entrants = 1_000;
+        Leaderboard board = new Leaderboard(entrants, 10_000);
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int first = w;
+            writers[w] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(first);
+                for (int i = 0; i < 200_000; i++) {
+                    // Each writer owns every fourth entrant, like a table owns its seats
+                    board.update(first + 4 * random.nextInt(entrants / 4), random.nextInt(10_001));
+                }
+            });
+            writers[w].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(entrants, board.size());
+        int[] top = board.getTop(entrants);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(board.countAbove(board.getScore(top[i])) + 1, board.getRank(top[i]));
+            if (i > 0) {
+                assertTrue(board.getScore(top[i - 1]) >= board.getScore(top[i]));
+                assertTrue(board.getRank(top[i - 1]) <= board.getRank(top[i]));
+            }
+        }
+        assertEquals(1, board.getRank(top[0]));
+    }
+}
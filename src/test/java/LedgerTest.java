@@ -0,0 +1,134 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerTest {
+
+    @Test
+    void testBlackjackOnOddBetIsExact() {
+        Player player = new Player("Player 1", 100, (money, min, max) -> 15);
+        assertTrue(player.placeBet(10, 500));
+        assertEquals(85, player.getMoney());
+        assertEquals(3750, player.winBet(2.5));
+        assertEquals(12250, player.getAccount().getBalance());
+        assertEquals(122, player.getMoney());
+    }
+
+    @Test
+    void testWagerDrawsOnEveryStripe() {
+        Ledger ledger = new Ledger();
+        Ledger.Account account = ledger.openAccount(100, 4);
+        assertTrue(account.placeWager(60));
+        assertTrue(account.placeWager(40));
+        assertFalse(account.placeWager(1));
+        assertEquals(0, account.getBalance());
+        assertEquals(100, account.getInPlay());
+        account.settleWager(100, 250);
+        assertFalse(account.withdraw(251));
+        assertEquals(250, account.getBalance());
+
+        Ledger.Snapshot snapshot = ledger.snapshot();
+        assertTrue(snapshot.isBalanced());
+        assertEquals(150, snapshot.getNet(account.getId()));
+        assertEquals(-150, snapshot.getHouseNet());
+    }
+
+    @Test
+    void testOneOfTwoCompetingWagersSucceeds() throws Exception {
+        // Each table deposits into its own stripe, so a wager larger than one stripe needs both
+        for (int trial = 0; trial < 2_000; trial++) {
+            Ledger ledger = new Ledger();
+            Ledger.Account account = ledger.openAccount(0, 2);
+            CyclicBarrier deposited = new CyclicBarrier(2);
+            AtomicInteger placed = new AtomicInteger();
+            Thread[] tables = new Thread[2];
+            for (int t = 0; t < tables.length; t++) {
+                tables[t] = Thread.ofPlatform().start(() -> {
+                    account.deposit(50);
+                    try {
+                        deposited.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (account.placeWager(60)) {
+                        placed.incrementAndGet();
+                    }
+                });
+            }
+            for (Thread table : tables) {
+                table.join();
+            }
+            assertEquals(1, placed.get(), "Trial " + trial);
+            assertEquals(40, account.getBalance());
+            assertEquals(60, account.getInPlay());
+            assertTrue(ledger.snapshot().isBalanced());
+        }
+    }
+
+    @Test
+    void testSharedAccountLosesNoUpdates() throws Exception {
+        Ledger ledger = new Ledger();
+        long deposit = 1_000_000 * Ledger.MINOR_UNITS;
+        Ledger.Account shared = ledger.openAccount(deposit, 8);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<Long>> tables = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // A reconciler keeps taking snapshots while the tables play
+            Future<Integer> reconciler = executor.submit(() -> {
+                int snapshots = 0;
+                while (!done.get()) {
+                    assertTrue(ledger.snapshot().isBalanced());
+                    snapshots++;
+                }
+                return snapshots;
+            });
+            for (int t = 0; t < 6; t++) {
+                long seed = t;
+                tables.add(executor.submit(() -> {
+                    Player player = new Player("Player", shared, (money, min, max) -> 15);
+                    SplittableRandom random = new SplittableRandom(seed);
+                    long net = 0;
+                    for (int i = 0; i < 100_000; i++) {
+                        assertTrue(player.placeBet(10, 500));
+                        switch (random.nextInt(3)) {
+                            case 0:
+                                player.loseBet();
+                                net -= 1500;
+                                break;
+                            case 1:
+                                net += player.winBet(2.5) - 1500;
+                                break;
+                            default:
+                                player.pushBet();
+                        }
+                    }
+                    return net;
+                }));
+            }
+            long expectedNet = 0;
+            for (Future<Long> table : tables) {
+                expectedNet += table.get();
+            }
+            done.set(true);
+            assertTrue(reconciler.get() > 0);
+
+            Ledger.Snapshot snapshot = ledger.snapshot();
+            assertTrue(snapshot.isBalanced());
+            assertEquals(deposit + expectedNet, snapshot.getBalance(shared.getId()));
+            assertEquals(0, snapshot.getInPlay(shared.getId()));
+            assertEquals(-expectedNet, snapshot.getHouseNet());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
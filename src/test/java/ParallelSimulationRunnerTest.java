@@ -0,0 +1,33 @@
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSimulationRunnerTest {
+
+    private static ParallelSimulationRunner runner(long seed) {
+        PlayStrategy playStrategy = new ThresholdPlayStrategy();
+        return new ParallelSimulationRunner(random -> new SimulationEngine(2,
+                new Shoe(6, 0.75, random), playStrategy, (money, min, max) -> min), seed, 5_000);
+    }
+
+    @Test
+    void testSameSeedSameTotalsForAnyThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        SimulationResult a = runner(123).run(103_000, single);
+        SimulationResult b = runner(123).run(103_000, many);
+        single.shutdown();
+        many.shutdown();
+
+        assertEquals(103_000, a.getRounds());
+        assertEquals(a.getNetWinnings(), b.getNetWinnings());
+        assertEquals(a.getWins(), b.getWins());
+        assertEquals(a.getPushes(), b.getPushes());
+        assertEquals(a.getTotalWagered(), b.getTotalWagered());
+    }
+
+    @Test
+    void testDifferentSeedsDiffer() {
+        assertNotEquals(runner(1).run(50_000).getNetWinnings(), runner(2).run(50_000).getNetWinnings());
+    }
+}
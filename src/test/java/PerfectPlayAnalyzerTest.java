@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerfectPlayAnalyzerTest {
+    private static final RuleSet RULES = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true)
+            .withLateSurrender(true);
+
+    private static Hand hand(Card.Rank... ranks) {
+        Hand hand = new Hand();
+        for (Card.Rank rank : ranks) {
+            hand.addCard(new Card(rank, Card.Suit.SPADES));
+        }
+        return hand;
+    }
+
+    // A full shoe without the player's cards and the dealer's up card
+    private static int[] unseen(int decks, Hand hand, int dealerUpValue) {
+        int[] counts = new int[Card.VALUE_COUNT];
+        for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+            counts[value - Card.MIN_VALUE] = decks * (value == 10 ? 16 : 4);
+        }
+        for (int i = 0; i < hand.size(); i++) {
+            counts[Card.valueOf(hand.getOrdinal(i)) - Card.MIN_VALUE]--;
+        }
+        counts[dealerUpValue - Card.MIN_VALUE]--;
+        return counts;
+    }
+
+    private static PerfectPlayAnalyzer.Evaluation evaluate(PerfectPlayAnalyzer analyzer, int up, Card.Rank... ranks) {
+        Hand hand = hand(ranks);
+        return analyzer.evaluate(hand, up, unseen(6, hand, up), true, hand.isPair(), true);
+    }
+
+    @Test
+    void testKnownSixDeckPlays() {
+        PerfectPlayAnalyzer analyzer = new PerfectPlayAnalyzer(RULES);
+        assertEquals(PlayStrategy.Action.DOUBLE, evaluate(analyzer, 6, Card.Rank.SIX, Card.Rank.FIVE).getBestAction());
+        assertEquals(PlayStrategy.Action.SPLIT, evaluate(analyzer, 6, Card.Rank.ACE, Card.Rank.ACE).getBestAction());
+        assertEquals(PlayStrategy.Action.SURRENDER, evaluate(analyzer, 10, Card.Rank.TEN, Card.Rank.SIX).getBestAction());
+        assertEquals(PlayStrategy.Action.STAND, evaluate(analyzer, 6, Card.Rank.TEN, Card.Rank.TWO).getBestAction());
+        assertEquals(PlayStrategy.Action.HIT, evaluate(analyzer, 7, Card.Rank.TEN, Card.Rank.SIX).getBestAction());
+        // 20 against a 10 wins a little over half a unit, given the dealer has no blackjack
+        assertEquals(0.554, evaluate(analyzer, 10, Card.Rank.TEN, Card.Rank.KING).getValue(PlayStrategy.Action.STAND), 0.01);
+    }
+
+    @Test
+    void testOnlyTensLeft() {
+        int[] counts = new int[Card.VALUE_COUNT];
+        counts[10 - Card.MIN_VALUE] = 20;
+        PerfectPlayAnalyzer analyzer = new PerfectPlayAnalyzer(RULES);
+        // The dealer makes exactly 17 with a 7 up
+        PerfectPlayAnalyzer.Evaluation twenty = analyzer.evaluate(hand(Card.Rank.TEN, Card.Rank.QUEEN), 7, counts,
+                true, false, false);
+        assertEquals(1, twenty.getValue(PlayStrategy.Action.STAND), 1e-12);
+        assertEquals(-1, twenty.getValue(PlayStrategy.Action.HIT), 1e-12);
+        assertEquals(-2, twenty.getValue(PlayStrategy.Action.DOUBLE), 1e-12);
+        assertTrue(Double.isNaN(twenty.getValue(PlayStrategy.Action.SURRENDER)));
+        PerfectPlayAnalyzer.Evaluation eleven = analyzer.evaluate(hand(Card.Rank.SIX, Card.Rank.FIVE), 7, counts,
+                true, false, false);
+        assertEquals(2, eleven.getBestValue(), 1e-12);
+    }
+
+    @Test
+    void testWarmCacheAnswersQuickly() {
+        PerfectPlayAnalyzer analyzer = new PerfectPlayAnalyzer(RULES);
+        PerfectPlayAnalyzer.Evaluation cold = evaluate(analyzer, 9, Card.Rank.TEN, Card.Rank.TWO);
+        assertTrue(analyzer.cachedCompositions(9) > 0);
+        long start = System.nanoTime();
+        int repeats = 1_000;
+        for (int i = 0; i < repeats; i++) {
+            assertEquals(cold.getBestValue(), evaluate(analyzer, 9, Card.Rank.TEN, Card.Rank.TWO).getBestValue());
+        }
+        double millisEach = (System.nanoTime() - start) / 1e6 / repeats;
+        assertTrue(millisEach < 1, "Warm evaluation took " + millisEach + " ms");
+    }
+
+    @Test
+    void testShoeAnalysisIsTheSameOnAnyPool() {
+        ShoeDecisionAnalyzer analyzer = new ShoeDecisionAnalyzer(RULES);
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            ShoeDecisionAnalyzer.Report a = analyzer.analyze(new Shoe(6, 0.75, new SplittableRandom(3)), one);
+            ShoeDecisionAnalyzer.Report b = analyzer.analyze(new Shoe(6, 0.75, new SplittableRandom(3)), four);
+            assertFalse(a.getDecisions().isEmpty());
+            assertEquals(a.getDecisions().size(), b.getDecisions().size());
+            assertEquals(a.getTotalLoss(), b.getTotalLoss(), 1e-12);
+            for (ShoeDecisionAnalyzer.Decision decision : a.getDecisions()) {
+                assertTrue(decision.getLoss() >= 0);
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankCountShoeTest {
+
+    @Test
+    void testShoeDealsFullComposition() {
+        RankCountShoe shoe = new RankCountShoe(2, 1.0, new SplittableRandom(7));
+        int[] values = new int[Card.MAX_VALUE + 1];
+        for (int i = 0; i < 104; i++) {
+            values[Card.valueOf(shoe.drawOrdinal())]++;
+        }
+        assertEquals(0, shoe.remainingCards());
+        for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+            assertEquals(value == 10 ? 32 : 8, values[value]);
+        }
+    }
+
+    @Test
+    void testRemainingOfValueTracksDraws() {
+        RankCountShoe shoe = new RankCountShoe(1, 0.75, new SplittableRandom(1));
+        int value = Card.valueOf(shoe.drawOrdinal());
+        assertEquals(value == 10 ? 15 : 3, shoe.remainingOfValue(value));
+        assertEquals(51, shoe.remainingCards());
+    }
+
+    @Test
+    void testOrdinalForValueKeepsValue() {
+        for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+            for (int salt = 0; salt < 16; salt++) {
+                assertEquals(value, Card.fromOrdinal(Card.ordinalForValue(value, salt)).getValue());
+            }
+        }
+    }
+
+    @Test
+    void testSimulationRunsOnRankCountShoe() {
+        SimulationEngine engine = new SimulationEngine(2, new RankCountShoe(), new ThresholdPlayStrategy(),
+                (money, min, max) -> min);
+        assertEquals(20_000, engine.run(10_000).getHands());
+    }
+}
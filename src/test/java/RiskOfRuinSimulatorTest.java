@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiskOfRuinSimulatorTest {
+    // Even money, won 60% of the time
+    private static final RiskOfRuinSimulator.OutcomeDistribution COIN =
+            new RiskOfRuinSimulator.OutcomeDistribution(new double[] {1, -1}, new double[] {0.6, 0.4});
+
+    @Test
+    void testFlatBetsMatchGamblersRuin() {
+        RiskOfRuinSimulator simulator = new RiskOfRuinSimulator(COIN, (money, min, max) -> min, 1, 1, 7);
+        RiskOfRuinSimulator.Result result = simulator.run(20_000, 10, 1_000, 4);
+        // Ruin from 10 units against a 60% coin is (0.4 / 0.6)^10, nearly all of it early
+        assertEquals(Math.pow(0.4 / 0.6, 10), result.getRuinProbability(), 0.006);
+        assertTrue(result.getRuinProbability(result.getCheckpointRound(0)) <= result.getRuinProbability());
+        assertTrue(result.getTimeToRuinPercentile(0.5) < 250);
+        // The median gains 0.2 units a round
+        assertEquals(210, result.getMedianBankroll(3), 15);
+    }
+
+    @Test
+    void testSameSeedSameResultsForAnyThreadCount() {
+        RiskOfRuinSimulator simulator = new RiskOfRuinSimulator(COIN, new DefaultBettingStrategy(), 1, 100, 99);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        RiskOfRuinSimulator.Result a = simulator.run(5_000, 20, 300, 3, single);
+        RiskOfRuinSimulator.Result b = simulator.run(5_000, 20, 300, 3, many);
+        single.shutdown();
+        many.shutdown();
+
+        assertEquals(a.getRuinProbability(), b.getRuinProbability());
+        for (int c = 0; c < a.getCheckpointCount(); c++) {
+            for (double p : new double[] {0.05, 0.5, 0.95}) {
+                assertEquals(a.getBankrollPercentile(c, p), b.getBankrollPercentile(c, p));
+            }
+        }
+    }
+
+    @Test
+    void testAliasSamplingFollowsTheWeights() {
+        RiskOfRuinSimulator.OutcomeDistribution outcomes = new RiskOfRuinSimulator.OutcomeDistribution(
+                new double[] {-1, 0, 1.5}, new double[] {5, 3, 2});
+        assertEquals(-0.2, outcomes.getEdge(), 1e-12);
+        assertEquals(0.5 + 0.45 - 0.04, outcomes.getVariance(), 1e-12);
+        SplittableRandom random = new SplittableRandom(1);
+        int draws = 200_000;
+        int losses = 0;
+        int wins = 0;
+        for (int i = 0; i < draws; i++) {
+            double outcome = outcomes.sample(random);
+            if (outcome == -1) {
+                losses++;
+            } else if (outcome == 1.5) {
+                wins++;
+            }
+        }
+        assertEquals(0.5, (double) losses / draws, 0.005);
+        assertEquals(0.2, (double) wins / draws, 0.005);
+    }
+
+    @Test
+    void testPlayedOutcomesLookLikeBlackjack() {
+        RiskOfRuinSimulator.OutcomeDistribution outcomes = RiskOfRuinSimulator.OutcomeDistribution.play(
+                new BasicStrategy(), RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true),
+                100_000, new SplittableRandom(5));
+        assertTrue(outcomes.getOutcomeCount() > 5, outcomes.toString());
+        assertEquals(-0.005, outcomes.getEdge(), 0.015);
+        assertEquals(1.3, outcomes.getVariance(), 0.2);
+    }
+
+    @Test
+    void testKellyBetsTheEdgeOverTheVariance() {
+        KellyBettingStrategy full = new KellyBettingStrategy(1, 0.02, 1);
+        assertEquals(20, full.determineBet(1_000, 10, 500));
+        assertEquals(500, full.determineBet(1_000_000, 10, 500));
+        assertEquals(10, new KellyBettingStrategy(0.5, 0.02, 1).determineBet(1_000, 10, 500));
+        // No edge: the table minimum
+        assertEquals(10, new KellyBettingStrategy(1, -0.005, 1.3).determineBet(1_000_000, 10, 500));
+        assertThrows(IllegalArgumentException.class, () -> new KellyBettingStrategy(0, 0.02, 1));
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundStatisticsTest {
+
+    @Test
+    void testMatchesTwoPassValues() {
+        SplittableRandom random = new SplittableRandom(1);
+        double[] net = new double[1_000];
+        RoundStatistics statistics = new RoundStatistics();
+        double sum = 0;
+        for (int i = 0; i < net.length; i++) {
+            net[i] = 1e6 + random.nextInt(-20, 21); // A large offset would ruin a naive sum of squares
+            sum += net[i];
+            statistics.add(10, net[i]);
+        }
+        double mean = sum / net.length;
+        double squares = 0;
+        for (double x : net) {
+            squares += (x - mean) * (x - mean);
+        }
+        assertEquals(mean, statistics.getMeanNet(), 1e-6);
+        assertEquals(squares / (net.length - 1), statistics.getNetVariance(), 1e-6);
+        // With flat bets the error of EV is the error of the mean net over the bet
+        assertEquals(Math.sqrt(squares / (net.length - 1) / net.length) / 10, statistics.getStandardError(), 1e-9);
+    }
+
+    @Test
+    void testMergeEqualsSequential() {
+        SplittableRandom random = new SplittableRandom(2);
+        RoundStatistics all = new RoundStatistics();
+        RoundStatistics first = new RoundStatistics();
+        RoundStatistics second = new RoundStatistics();
+        for (int i = 0; i < 5_000; i++) {
+            int wager = 10 * random.nextInt(1, 5);
+            int net = wager * random.nextInt(-2, 3);
+            all.add(wager, net);
+            (i < 1_200 ? first : second).add(wager, net);
+        }
+        first.merge(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getExpectedValue(), first.getExpectedValue(), 1e-12);
+        assertEquals(all.getNetVariance(), first.getNetVariance(), 1e-9);
+        assertEquals(all.getStandardError(), first.getStandardError(), 1e-12);
+    }
+
+    @Test
+    void testSeatStatisticsAddUp() {
+        SimulationEngine engine = new SimulationEngine(3, new Shoe(6, 0.75, new SplittableRandom(4)),
+                new BasicStrategy(), (money, min, max) -> min);
+        SimulationResult result = engine.run(5_000);
+        RoundStatistics table = result.getStatistics();
+        assertEquals(5_000, table.getCount()); // One observation per round, not per seat
+        assertEquals(result.getExpectedValue(), table.getExpectedValue(), 1e-12);
+        double seatNet = 0;
+        for (int seat = 1; seat <= 3; seat++) {
+            RoundStatistics seatStatistics = result.getSeatStatistics(seat);
+            assertEquals(5_000, seatStatistics.getCount());
+            seatNet += seatStatistics.getMeanNet() * seatStatistics.getCount();
+        }
+        assertEquals(result.getNetWinnings(), seatNet, 1e-6);
+        assertTrue(table.getLowerBound(RoundStatistics.Z_95) < table.getExpectedValue());
+    }
+
+    @Test
+    void testMultiSeatErrorMatchesSpreadOfRuns() {
+        // Seats share the dealer's hand, so their results are correlated; the reported error must
+        // still match how much the EV of independent runs actually varies
+        int runs = 60;
+        double[] ev = new double[runs];
+        double reportedError = 0;
+        for (int run = 0; run < runs; run++) {
+            SimulationEngine engine = new SimulationEngine(7, new Shoe(6, 0.75, new SplittableRandom(100 + run)),
+                    new BasicStrategy(), (money, min, max) -> min);
+            SimulationResult result = engine.run(2_000);
+            ev[run] = result.getExpectedValue();
+            reportedError += result.getStatistics().getStandardError() / runs;
+        }
+        double mean = 0;
+        for (double x : ev) {
+            mean += x / runs;
+        }
+        double squares = 0;
+        for (double x : ev) {
+            squares += (x - mean) * (x - mean);
+        }
+        double observedError = Math.sqrt(squares / (runs - 1));
+        double ratio = reportedError / observedError;
+        assertTrue(ratio > 0.75 && ratio < 1.33, "Reported " + reportedError + ", observed " + observedError);
+    }
+
+    @Test
+    void testStopsOnceConverged() {
+        SimulationEngine engine = new SimulationEngine(1, new Shoe(6, 0.75, new SplittableRandom(5)),
+                new BasicStrategy(), (money, min, max) -> min);
+        int[] checks = new int[1];
+        SimulationResult result = engine.runUntil(0.01, 10_000_000, statistics -> checks[0]++);
+        // Blackjack has a standard deviation of about 1.15 bets per hand, so 0.01 needs ~13,000 rounds
+        assertTrue(result.getRounds() < 100_000, "Played " + result.getRounds());
+        assertTrue(result.getStatistics().getStandardError() <= 0.01);
+        assertEquals(result.getRounds() / SimulationEngine.CHECK_INTERVAL, checks[0]);
+    }
+
+    @Test
+    void testParallelStopIsTheSameForAnyThreadCount() {
+        PlayStrategy playStrategy = new BasicStrategy();
+        ParallelSimulationRunner runner = new ParallelSimulationRunner(random -> new SimulationEngine(1,
+                new Shoe(6, 0.75, random), playStrategy, (money, min, max) -> min), 9, 2_000);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        SimulationResult a = runner.runUntil(0.005, 10_000_000, single);
+        SimulationResult b = runner.runUntil(0.005, 10_000_000, many);
+        single.shutdown();
+        many.shutdown();
+        assertEquals(a.getRounds(), b.getRounds());
+        assertEquals(a.getNetWinnings(), b.getNetWinnings());
+        assertTrue(a.getRounds() < 10_000_000);
+        assertTrue(a.getStatistics().getStandardError() <= 0.005);
+    }
+}
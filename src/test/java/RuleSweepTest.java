@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleSweepTest {
+
+    private static RuleSweep.Result sweep(List<RuleSet> variants, long shoes) {
+        return new RuleSweep(variants, 6, 0.75, 1, new BasicStrategy(), 11, 50).run(shoes);
+    }
+
+    @Test
+    void testIdenticalRulesPlayIdenticalShoes() {
+        RuleSweep.Result result = sweep(List.of(RuleSet.DEFAULT, RuleSet.DEFAULT), 200);
+        assertEquals(result.getResult(0).getNetWinnings(), result.getResult(1).getNetWinnings());
+        assertEquals(result.getResult(0).getHands(), result.getResult(1).getHands());
+        assertEquals(0, result.getEdgeDifference(1));
+        assertEquals(0, result.getDifferenceError(1), 1e-9);
+    }
+
+    @Test
+    void testWorseRulesRaiseTheEdge() {
+        RuleSet splits = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true);
+        RuleSweep.Result result = sweep(List.of(splits, splits.withDealerHitsSoft17(true),
+                splits.withBlackjackPayout(2.2), RuleSet.DEFAULT), 2_000);
+
+        // 6:5 costs the player about 1.4%, losing splits and DAS about 0.5%; H17 is smaller
+        assertTrue(result.getEdgeDifference(1) > 0);
+        assertEquals(0.014, result.getEdgeDifference(2), 4 * result.getDifferenceError(2) + 0.002);
+        assertTrue(result.getEdgeDifference(3) > 3 * result.getDifferenceError(3));
+        // Common shoes make the differences far more precise than either edge alone
+        assertTrue(result.getDifferenceError(2) < result.getStandardError(2) / 2);
+    }
+
+    @Test
+    void testSameSeedSameResultOnAnyPool() {
+        List<RuleSet> variants = List.of(RuleSet.DEFAULT, RuleSet.DEFAULT.withLateSurrender(true));
+        RuleSweep sweep = new RuleSweep(variants, 6, 0.75, 2, new BasicStrategy(), 5, 20);
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            RuleSweep.Result a = sweep.run(100, one);
+            RuleSweep.Result b = sweep.run(100, four);
+            assertEquals(100, a.getShoes());
+            for (int v = 0; v < variants.size(); v++) {
+                assertEquals(a.getResult(v).getNetWinnings(), b.getResult(v).getNetWinnings());
+            }
+            assertEquals(a.getDifferenceError(1), b.getDifferenceError(1), 1e-12);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testRuleSetDescription() {
+        RuleSet rules = RuleSet.DEFAULT.withBlackjackPayout(2.2).withDealerHitsSoft17(true)
+                .withSplits(4, true).withLateSurrender(true);
+        assertEquals("BJ 6:5, H17, SPL4, DAS, LS", rules.toString());
+        assertEquals("BJ 3:2, S17", RuleSet.DEFAULT.toString());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.DEFAULT.withBetLimits(50, 10));
+    }
+}
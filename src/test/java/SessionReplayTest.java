@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionReplayTest {
+    private static final long SEED = 2024;
+
+    @TempDir
+    Path tempDir;
+
+    private Path record(int rounds, SimulationResult[] resultOut) throws IOException {
+        return record(rounds, resultOut, RuleSet.DEFAULT, new BasicStrategy());
+    }
+
+    private Path record(int rounds, SimulationResult[] resultOut, RuleSet rules, PlayStrategy playStrategy)
+            throws IOException {
+        Path file = tempDir.resolve("session.bjev");
+        CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, 6);
+        Shoe shoe = new Shoe(6, 0.75, new SplittableRandom(SEED));
+        shoe.addObserver(counter);
+        SimulationEngine engine = new SimulationEngine(2, shoe, playStrategy,
+                new TrueCountBettingStrategy(counter), rules);
+        try (EventLogWriter writer = new EventLogWriter(file, rules)) {
+            engine.getTable().setListener(writer);
+            resultOut[0] = engine.run(rounds);
+        }
+        return file;
+    }
+
+    @Test
+    void testReplayReproducesSession() throws IOException {
+        SimulationResult[] original = new SimulationResult[1];
+        Path file = record(5_000, original);
+
+        SessionReplay replay = new SessionReplay(RecordedSession.load(file), SEED, 2, 6, 0.75);
+        replay.fastForward(5_000);
+        assertEquals(original[0].getNetWinnings(), replay.getResult().getNetWinnings());
+        assertEquals(original[0].getTotalWagered(), replay.getResult().getTotalWagered());
+        assertEquals(original[0].getBusts(), replay.getResult().getBusts());
+    }
+
+    @Test
+    void testReplayUsesRecordedRules() throws IOException {
+        RuleSet rules = RuleSet.DEFAULT.withSplits(RuleSet.MAX_SPLIT_HANDS, true).withLateSurrender(true)
+                .withInsurance(true);
+        BasicStrategy basic = new BasicStrategy();
+        PlayStrategy insureGoodHands = new PlayStrategy() {
+            @Override
+            public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit) {
+                return basic.decide(hand, dealerUpValue, canDouble, canSplit);
+            }
+
+            @Override
+            public Action decide(Hand hand, int dealerUpValue, boolean canDouble, boolean canSplit,
+                                 boolean canSurrender) {
+                return basic.decide(hand, dealerUpValue, canDouble, canSplit, canSurrender);
+            }
+
+            @Override
+            public boolean takeInsurance(Hand hand) {
+                return hand.getValue() >= 19;
+            }
+        };
+        SimulationResult[] original = new SimulationResult[1];
+        Path file = record(5_000, original, rules, insureGoodHands);
+
+        SessionReplay replay = new SessionReplay(RecordedSession.load(file), SEED, 2, 6, 0.75);
+        replay.fastForward(5_000);
+        assertEquals(rules.toString(), replay.getTable().getRules().toString());
+        assertTrue(original[0].getSideBets() > 0);
+        assertEquals(original[0].getSideBets(), replay.getResult().getSideBets());
+        assertEquals(original[0].getNetWinnings(), replay.getResult().getNetWinnings());
+        assertEquals(original[0].getTotalWagered(), replay.getResult().getTotalWagered());
+    }
+
+    @Test
+    void testFastForwardStopsAtRound() throws IOException {
+        Path file = record(1_000, new SimulationResult[1]);
+        SessionReplay replay = new SessionReplay(RecordedSession.load(file), SEED, 2, 6, 0.75);
+        replay.fastForward(700);
+        assertEquals(700, replay.getRound());
+        assertEquals(700, replay.getResult().getRounds());
+        replay.playNextRound();
+        assertEquals(701, replay.getRound());
+    }
+
+    @Test
+    void testWrongSeedDiverges() throws IOException {
+        Path file = record(2_000, new SimulationResult[1]);
+        SessionReplay replay = new SessionReplay(RecordedSession.load(file), SEED + 1, 2, 6, 0.75);
+        assertThrows(IllegalStateException.class, () -> replay.fastForward(2_000));
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShoePipelineTest {
+
+    @Test
+    void testShoesArePermutations() {
+        try (ShoePipeline pipeline = new ShoePipeline(6, 4, 2, new SplittableRandom(1))) {
+            for (int i = 0; i < 50; i++) {
+                byte[] shoe = pipeline.take();
+                int[] counts = new int[Card.DECK_SIZE];
+                for (byte ordinal : shoe) {
+                    counts[ordinal]++;
+                }
+                for (int count : counts) {
+                    assertEquals(6, count);
+                }
+                pipeline.recycle(shoe);
+            }
+        }
+    }
+
+    @Test
+    void testBufferBoundsTheShoesOut() {
+        try (ShoePipeline pipeline = new ShoePipeline(1, 3, 1, new SplittableRandom(2))) {
+            List<byte[]> taken = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                taken.add(pipeline.take());
+            }
+            // Every array is out, so a recycled array from elsewhere has nowhere to go
+            taken.add(new byte[Card.DECK_SIZE]);
+            for (byte[] shoe : taken.subList(0, 3)) {
+                pipeline.recycle(shoe);
+            }
+            assertThrows(IllegalArgumentException.class, () -> pipeline.recycle(taken.get(3)));
+            assertThrows(IllegalArgumentException.class, () -> pipeline.recycle(new byte[10]));
+        }
+    }
+
+    @Test
+    void testTablesShareAPipeline() throws InterruptedException {
+        try (ShoePipeline pipeline = new ShoePipeline(6, 8, 1, new SplittableRandom(3))) {
+            SimulationResult[] results = new SimulationResult[4];
+            Thread[] tables = new Thread[results.length];
+            for (int t = 0; t < tables.length; t++) {
+                int table = t;
+                SimulationEngine engine = new SimulationEngine(1,
+                        new PipelinedShoe(pipeline, 0.75, new SplittableRandom(t)),
+                        new BasicStrategy(), (money, min, max) -> min);
+                tables[t] = new Thread(() -> results[table] = engine.run(20_000));
+                tables[t].start();
+            }
+            SimulationResult total = new SimulationResult();
+            for (int t = 0; t < tables.length; t++) {
+                tables[t].join();
+                total.merge(results[t]);
+            }
+            assertEquals(80_000, total.getRounds());
+            assertEquals(-0.005, total.getExpectedValue(), 0.03);
+        }
+    }
+
+    @Test
+    void testTakeFailsOnceClosed() {
+        ShoePipeline pipeline = new ShoePipeline(1, 1, 1, new SplittableRandom(4));
+        byte[] shoe = pipeline.take();
+        pipeline.close();
+        assertThrows(IllegalStateException.class, pipeline::take);
+        pipeline.recycle(shoe);
+    }
+}
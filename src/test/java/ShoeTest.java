@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShoeTest {
+
+    @Test
+    void testShoeHoldsAllCards() {
+        Shoe shoe = new Shoe(6, 0.75);
+        int[] counts = new int[Card.DECK_SIZE];
+        while (shoe.remainingCards() > 0) {
+            counts[shoe.drawCard().ordinal()]++;
+        }
+        for (int count : counts) {
+            assertEquals(6, count);
+        }
+    }
+
+    @Test
+    void testReshufflesOnlyAfterCutCard() {
+        Shoe shoe = new Shoe(1, 0.5);
+        assertFalse(shoe.startRound());
+        for (int i = 0; i < 25; i++) {
+            shoe.drawCard();
+        }
+        assertFalse(shoe.startRound());
+        shoe.drawCard();
+        assertTrue(shoe.isCutCardReached());
+        assertTrue(shoe.startRound());
+        assertEquals(52, shoe.remainingCards());
+    }
+
+    @Test
+    void testRoundCanFinishWhenShoeRunsOut() {
+        Shoe shoe = new Shoe(1, 1.0, new SplittableRandom(42));
+        for (int i = 0; i < 40; i++) {
+            shoe.drawCard();
+        }
+        shoe.startRound();
+        int[] counts = new int[Card.DECK_SIZE];
+        // Draw the 12 cards left plus 30 more; the 40 discards get shuffled back in
+        for (int i = 0; i < 42; i++) {
+            counts[shoe.drawCard().ordinal()]++;
+        }
+        for (int count : counts) {
+            assertTrue(count <= 1, "A card was dealt twice in one round");
+        }
+    }
+
+    @Test
+    void testInvalidDeckCount() {
+        assertThrows(IllegalArgumentException.class, () -> new Shoe(9, 0.75));
+        assertThrows(IllegalArgumentException.class, () -> new Shoe(0, 0.75));
+    }
+
+    @Test
+    void testSingleDeckThrowsWhenEmpty() {
+        Deck deck = new Deck();
+        for (int i = 0; i < 52; i++) {
+            deck.drawCard();
+        }
+        assertThrows(IllegalStateException.class, deck::drawCard);
+    }
+
+    @Test
+    void testLazyShoeDealsEveryCardUniformly() {
+        Shoe shoe = new Shoe(1, 0.75, new SplittableRandom(11), true);
+        int rounds = 26_000;
+        int[] counts = new int[Card.DECK_SIZE];
+        for (int i = 0; i < rounds; i++) {
+            shoe.reset();
+            for (int j = 0; j < 30; j++) {
+                shoe.drawOrdinal();
+            }
+            counts[shoe.drawOrdinal()]++; // The 31st card
+        }
+        for (int count : counts) {
+            assertEquals(500, count, 100);
+        }
+        boolean[] seen = new boolean[Card.DECK_SIZE];
+        shoe.reset();
+        while (shoe.remainingCards() > 0) {
+            int ordinal = shoe.drawOrdinal();
+            assertFalse(seen[ordinal], "A card was dealt twice");
+            seen[ordinal] = true;
+        }
+    }
+
+    @Test
+    void testLazyShoeOrderIsFixedOnceCopied() {
+        Shoe lazy = new Shoe(2, 0.75, new SplittableRandom(5), true);
+        for (int i = 0; i < 10; i++) {
+            lazy.drawOrdinal();
+        }
+        byte[] order = new byte[lazy.size()];
+        lazy.copyOrder(order);
+        Shoe loaded = new Shoe(2, 0.75, new SplittableRandom(6), true);
+        loaded.loadOrder(order);
+        loaded.seek(10);
+        while (lazy.remainingCards() > 0) {
+            assertEquals(lazy.drawOrdinal(), loaded.drawOrdinal());
+        }
+    }
+}
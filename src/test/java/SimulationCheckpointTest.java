@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationCheckpointTest {
+    private static final PlayStrategy PLAY = new ThresholdPlayStrategy();
+
+    @TempDir
+    Path dir;
+
+    // Fails once the given number of tables have been built, like a run killed part way
+    private static ParallelSimulationRunner runner(long seed, int tablesBeforeFailure) {
+        AtomicInteger tables = new AtomicInteger();
+        return new ParallelSimulationRunner(random -> {
+            if (tables.incrementAndGet() > tablesBeforeFailure) {
+                throw new IllegalStateException("Interrupted");
+            }
+            return new SimulationEngine(2, new Shoe(6, 0.75, random), PLAY, (money, min, max) -> min);
+        }, seed, 2_000);
+    }
+
+    private static void assertIdentical(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getRounds(), actual.getRounds());
+        assertEquals(expected.getHands(), actual.getHands());
+        assertEquals(expected.getNetWinnings(), actual.getNetWinnings());
+        assertEquals(expected.getTotalWagered(), actual.getTotalWagered());
+        for (RoundStatistics[] pair : new RoundStatistics[][] {
+                {expected.getStatistics(), actual.getStatistics()},
+                {expected.getSeatStatistics(2), actual.getSeatStatistics(2)}}) {
+            assertEquals(pair[0].getCount(), pair[1].getCount());
+            assertEquals(pair[0].getMeanNet(), pair[1].getMeanNet());
+            assertEquals(pair[0].getNetVariance(), pair[1].getNetVariance());
+            assertEquals(pair[0].getStandardError(), pair[1].getStandardError());
+        }
+    }
+
+    @Test
+    void testResumedRunIsBitIdentical() throws IOException {
+        Path file = dir.resolve("run.ckpt");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationResult uninterrupted = runner(8, Integer.MAX_VALUE).run(41_000, pool);
+
+            try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+                assertThrows(RuntimeException.class, () -> runner(8, 9).run(41_000, pool, checkpoint));
+            }
+            try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+                assertTrue(checkpoint.getResumedBatches() > 0 && checkpoint.getResumedBatches() < 21,
+                        "Resumed " + checkpoint.getResumedBatches());
+                int resumed = checkpoint.getResumedBatches();
+                // Only the batches missing from the checkpoint may build tables
+                SimulationResult result = runner(8, 21 - resumed).run(41_000, pool, checkpoint);
+                assertIdentical(uninterrupted, result);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testResumedRunUntilStopsAtTheSameWave() throws IOException {
+        Path file = dir.resolve("until.ckpt");
+        SimulationResult uninterrupted = runner(3, Integer.MAX_VALUE).runUntil(0.002, 400_000, ForkJoinPool.commonPool());
+        try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file, 1)) {
+            assertThrows(RuntimeException.class,
+                    () -> runner(3, 40).runUntil(0.002, 400_000, ForkJoinPool.commonPool(), checkpoint));
+        }
+        try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file, 1)) {
+            SimulationResult result = runner(3, Integer.MAX_VALUE).runUntil(0.002, 400_000,
+                    ForkJoinPool.commonPool(), checkpoint);
+            assertIdentical(uninterrupted, result);
+            assertTrue(result.getRounds() > 40 * 2_000 && result.getRounds() < 400_000);
+        }
+    }
+
+    @Test
+    void testTornHeaderIsTreatedAsEmpty() throws IOException {
+        SimulationResult uninterrupted = runner(4, Integer.MAX_VALUE).run(10_000, ForkJoinPool.commonPool());
+        byte[][] torn = {{0x42, 0x4A, 0x43}, {0x42, 0x4A, 0x43, 0x4B, 1, 0, 0, 7}, new byte[12]};
+        for (int i = 0; i < torn.length; i++) {
+            Path file = dir.resolve("torn-header-" + i + ".ckpt");
+            Files.write(file, torn[i]);
+            try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+                assertEquals(0, checkpoint.getResumedBatches());
+                assertEquals(0, Files.size(file));
+                assertIdentical(uninterrupted, runner(4, Integer.MAX_VALUE).run(10_000, ForkJoinPool.commonPool(),
+                        checkpoint));
+            }
+            try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+                assertEquals(5, checkpoint.getResumedBatches());
+            }
+        }
+        Path other = dir.resolve("other.ckpt");
+        Files.write(other, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> new SimulationCheckpoint(other));
+    }
+
+    @Test
+    void testHeaderIsOnDiskOnceBound() throws IOException {
+        Path file = dir.resolve("bound.ckpt");
+        try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+            checkpoint.bind(5, 2_000, 10_000, 0);
+            assertEquals(4 + 1 + 8 + 8 + 8 + 8, Files.size(file));
+        }
+    }
+
+    @Test
+    void testTornRecordIsDroppedAndOtherRunsRejected() throws IOException {
+        Path file = dir.resolve("torn.ckpt");
+        try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+            runner(1, Integer.MAX_VALUE).run(10_000, ForkJoinPool.commonPool(), checkpoint);
+        }
+        long size = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+        try (SimulationCheckpoint checkpoint = new SimulationCheckpoint(file)) {
+            assertEquals(5, checkpoint.getResumedBatches());
+            assertThrows(IllegalArgumentException.class,
+                    () -> runner(2, Integer.MAX_VALUE).run(10_000, ForkJoinPool.commonPool(), checkpoint));
+        }
+        assertEquals(size, Files.size(file));
+    }
+}
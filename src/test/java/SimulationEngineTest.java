@@ -0,0 +1,28 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationEngineTest {
+
+    @Test
+    void testRunPlaysRequestedRounds() {
+        SimulationEngine engine = new SimulationEngine(3, new ThresholdPlayStrategy(), (money, min, max) -> min);
+        SimulationResult result = engine.run(10_000);
+        assertEquals(10_000, result.getRounds());
+        assertEquals(30_000, result.getHands());
+        assertEquals(result.getHands(), result.getWins() + result.getLosses() + result.getPushes());
+    }
+
+    @Test
+    void testFlatBetWageredMatchesHands() {
+        SimulationEngine engine = new SimulationEngine(1, new ThresholdPlayStrategy(), (money, min, max) -> min);
+        SimulationResult result = engine.run(1_000);
+        assertEquals(result.getHands() * engine.getTable().getRules().getMinBet(), result.getTotalWagered());
+    }
+
+    @Test
+    void testHouseEdgeIsPlausible() {
+        SimulationEngine engine = new SimulationEngine(1, new ThresholdPlayStrategy(), (money, min, max) -> min);
+        double ev = engine.run(200_000).getExpectedValue();
+        assertTrue(ev < 0 && ev > -0.15, "EV out of range: " + ev);
+    }
+}
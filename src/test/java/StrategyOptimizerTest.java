@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrategyOptimizerTest {
+
+    private static StrategyOptimizer optimizer(long seed) {
+        return new StrategyOptimizer((parameters, shoe) -> new DefaultBettingStrategy(parameters[0]),
+                new double[] {0.01}, new double[] {0.6}, new BasicStrategy(), RuleSet.DEFAULT, 1_000, 200, seed);
+    }
+
+    @Test
+    void testSearchFavoursSmallBetsAgainstTheHouse() {
+        StrategyOptimizer optimizer = optimizer(21);
+        StrategyOptimizer.Candidate best = optimizer.optimize(4, 8, 128);
+        // With the house edge, big fractions of the bankroll only add risk
+        assertTrue(best.getParameters()[0] < 0.1, best.toString());
+        assertEquals(128, best.getSessions());
+        // Racing drops the clearly worse candidates before they play every session
+        assertTrue(optimizer.getSessionsPlayed() < 4L * 8 * 128, "Sessions: " + optimizer.getSessionsPlayed());
+    }
+
+    @Test
+    void testSearchRampsBetsUpWithTheCount() {
+        // The direction scales the Hi-Lo true count the ramp reads: positive raises bets when the
+        // remaining cards favour the player, negative raises them when they favour the house.
+        // The bankroll is large enough that the log growth follows the expected value.
+        StrategyOptimizer optimizer = new StrategyOptimizer((parameters, shoe) -> {
+            CardCounter counter = new CardCounter(CardCounter.CountingSystem.HI_LO, Shoe.DEFAULT_DECKS);
+            shoe.addObserver(counter);
+            return new CountBettingStrategy(counter, 1, 1, 12) {
+                @Override
+                protected int count() {
+                    return (int) Math.round(parameters[0] * counter.getTrueCount());
+                }
+            };
+        }, new double[] {-1}, new double[] {1}, new BasicStrategy(), RuleSet.DEFAULT, 1_000_000, 1_000, 13);
+        StrategyOptimizer.Candidate best = optimizer.optimize(3, 8, 320);
+        assertTrue(best.getParameters()[0] > 0, best.toString());
+    }
+
+    @Test
+    void testSameSeedSameSearchForAnyThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        StrategyOptimizer.Candidate a = optimizer(5).optimize(2, 6, 64, single);
+        StrategyOptimizer.Candidate b = optimizer(5).optimize(2, 6, 64, many);
+        single.shutdown();
+        many.shutdown();
+        assertArrayEquals(a.getParameters(), b.getParameters());
+        assertEquals(a.getScore(), b.getScore());
+    }
+
+    @Test
+    void testInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new StrategyOptimizer(
+                (parameters, shoe) -> new DefaultBettingStrategy(), new double[] {1}, new double[] {0},
+                new BasicStrategy(), RuleSet.DEFAULT, 1_000, 100, 1));
+    }
+}
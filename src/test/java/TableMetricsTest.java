@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableMetricsTest {
+
+    private static SimulationEngine engine(TableMetrics metrics, long seed) {
+        SimulationEngine engine = new SimulationEngine(2, new Shoe(6, 0.75, new SplittableRandom(seed)),
+                new BasicStrategy(), (availableMoney, minBet, maxBet) -> minBet);
+        engine.getTable().setMetrics(metrics);
+        return engine;
+    }
+
+    @Test
+    void testCountersMatchSimulationResult() {
+        TableMetrics metrics = new TableMetrics();
+        SimulationResult result = engine(metrics, 7).run(20_000);
+        TableMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(result.getRounds(), snapshot.getRounds());
+        assertEquals(result.getHands(), snapshot.getHands());
+        assertEquals(result.getBlackjacks(), snapshot.getBlackjacks());
+        assertEquals(result.getBusts(), snapshot.getBusts());
+        assertEquals(result.getPushes(), snapshot.getPushes());
+        assertEquals(result.getExpectedValue(), snapshot.getNetPerUnitWagered(), 1e-12);
+        assertTrue(snapshot.getShuffles() > 0);
+        assertEquals(0.77, snapshot.getAveragePenetration(), 0.03);
+        assertEquals(result.getRounds(), snapshot.getLatency(TableMetrics.Phase.DEAL).getCount());
+        assertEquals(result.getRounds(), snapshot.getLatency(TableMetrics.Phase.SETTLEMENT).getCount());
+        assertTrue(snapshot.getLatency(TableMetrics.Phase.DEALER_TURN).getCount() <= result.getRounds());
+    }
+
+    @Test
+    void testTablesShareMetrics() throws InterruptedException {
+        TableMetrics metrics = new TableMetrics();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            SimulationEngine engine = engine(metrics, t);
+            threads[t] = new Thread(() -> engine.run(5_000));
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(20_000, metrics.getRounds());
+        assertTrue(metrics.getRoundsPerSecond() > 0);
+    }
+
+    @Test
+    void testRegisteredWithJmx() throws Exception {
+        TableMetrics metrics = new TableMetrics();
+        engine(metrics, 3).run(1_000);
+        ObjectName name = metrics.register("test-" + System.nanoTime());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1_000L, server.getAttribute(name, "Rounds"));
+            assertNotNull(server.getAttribute(name, "P99LatencyMicros"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(5_000, snapshot.getPercentile(50), 5_000 * 0.125);
+        assertEquals(9_900, snapshot.getPercentile(99), 9_900 * 0.125);
+        assertEquals(5_000.5, snapshot.getMean(), 1e-9);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    private static Tournament tournament(int entrantCount, long seed) {
+        List<Player> entrants = new ArrayList<>();
+        for (int i = 0; i < entrantCount; i++) {
+            BettingStrategy strategy = i % 2 == 0 ? new DefaultBettingStrategy() : (money, min, max) -> min;
+            entrants.add(new Player("Entrant " + i, 0, strategy));
+        }
+        return new Tournament(entrants, new BasicStrategy(), RuleSet.DEFAULT, 1_000, seed);
+    }
+
+    @Test
+    void testSameSeedSameTournamentForAnyThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        Tournament a = tournament(200, 17);
+        Tournament b = tournament(200, 17);
+        a.playElimination(20, 2, single);
+        b.playElimination(20, 2, many);
+        single.shutdown();
+        many.shutdown();
+
+        assertEquals(a.getStages(), b.getStages());
+        assertArrayEquals(a.getStandings(), b.getStandings());
+        for (int entrant = 0; entrant < 200; entrant++) {
+            assertEquals(a.getFinalChips(entrant), b.getFinalChips(entrant));
+        }
+    }
+
+    @Test
+    void testEliminationEndsAtOneTable() {
+        Tournament tournament = tournament(300, 3);
+        tournament.playElimination(20, 3, ForkJoinPool.commonPool());
+        int[] standings = tournament.getStandings();
+        int stages = tournament.getStages();
+        assertTrue(stages > 1);
+        int finalists = 0;
+        while (finalists < standings.length && tournament.getStageReached(standings[finalists]) == stages) {
+            finalists++;
+        }
+        assertTrue(finalists >= 1 && finalists <= Tournament.SEATS_PER_TABLE, "Finalists: " + finalists);
+        // The leaderboard ends with the final table, led by the winner
+        Leaderboard board = tournament.getLeaderboard();
+        assertEquals(finalists, board.size());
+        assertEquals(1, board.getRank(standings[0]));
+        assertEquals(tournament.getFinalChips(standings[0]), board.getScore(standings[0]));
+    }
+
+    @Test
+    void testFixedRoundsListsEveryEntrant() {
+        Tournament tournament = tournament(50, 9);
+        tournament.playFixedRounds(10, ForkJoinPool.commonPool());
+        assertEquals(1, tournament.getStages());
+        assertEquals(50, tournament.getLeaderboard().size());
+        for (int entrant = 0; entrant < 50; entrant++) {
+            assertEquals(tournament.getFinalChips(entrant), tournament.getLeaderboard().getScore(entrant));
+        }
+    }
+}